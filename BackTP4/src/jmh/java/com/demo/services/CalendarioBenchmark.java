@@ -0,0 +1,65 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Evento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busqueda del proximo evento (SimulacionPractica.buscarProximoEvento) con el modelo "hold": se extrae el proximo
+ * evento y se agenda otro mas adelante, asi el calendario mantiene "pendientes" eventos. Se compara el calendario
+ * de objetos con el primitivo de la simulacion rapida.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarioBenchmark {
+
+    @Param({"4", "16", "1024"})
+    public int pendientes;
+
+    private final SplittableRandom random = new SplittableRandom(ParametrosBenchmark.SEMILLA);
+    private CalendarioEventos calendario;
+    private CalendarioEventosPrimitivo calendarioPrimitivo;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        this.calendario = new CalendarioEventos();
+        this.calendarioPrimitivo = new CalendarioEventosPrimitivo();
+        for (int i = 0; i < this.pendientes; i++) {
+            double hora = this.random.nextDouble() * 10;
+            this.calendario.agendar(new Evento(Eventos.Llegada, hora, null));
+            this.calendarioPrimitivo.agendar(Eventos.Llegada.ordinal(), hora, -1);
+        }
+    }
+
+    @Benchmark
+    public Evento extraerYAgendar() {
+        Evento proximo = this.calendario.extraerProximo();
+        return this.calendario.agendar(new Evento(proximo.getTipoEvento(),
+                proximo.getHoraEvento() + this.random.nextDouble() * 10, null));
+    }
+
+    @Benchmark
+    public int extraerYAgendarPrimitivo() {
+        int proximo = this.calendarioPrimitivo.extraerProximo();
+        return this.calendarioPrimitivo.agendar(this.calendarioPrimitivo.tipo(proximo),
+                this.calendarioPrimitivo.hora(proximo) + this.random.nextDouble() * 10, -1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.Llegada;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partes del ciclo de un evento y de la respuesta, por separado:
+ * - fotosEquipos*: Foto de los equipos del sistema para una fila (lo que antes era clonarEquipos). Sin cambios se
+ *      reutiliza la foto anterior; con un cambio se copia el equipo que cambio.
+ * - tipoTrabajo: Sorteo del tipo de trabajo de una llegada (Llegada.calcularTipoTrabajo).
+ * - serializarResultados: JSON de la respuesta de /api/simular con una pagina de "tamanoPagina" filas. El parametro
+ *      esta en su propio estado (Respuesta) para que no multiplique las corridas de los otros benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentesBenchmark {
+
+    @State(Scope.Thread)
+    public static class Respuesta {
+
+        @Param({"200", "1000"})
+        public int tamanoPagina;
+
+        ObjectMapper objectMapper;
+        ResultadosSimulacion resultados;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            ParametrosSimulacion parametros = ParametrosBenchmark.parametros(10000, this.tamanoPagina, "Base");
+            parametros.setTamanoPagina(this.tamanoPagina);
+            this.objectMapper = new ObjectMapper();
+            this.resultados = new SimulacionPractica().cola(parametros);
+        }
+    }
+
+    private final ArrayList<Equipo> equipos = new ArrayList<>();
+    private final ArrayList<Trabajo> tiposTrabajo = new ArrayList<>(Arrays.asList(Trabajo.values()));
+    private MuestreadorTipoTrabajo muestreador;
+    private GeneradorAleatorio generador;
+    private int siguienteACambiar = 0;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // La capacidad del sistema es 10 equipos: 9 lugares en cola y el que se atiende
+        for (int i = 1; i <= 10; i++) {
+            Equipo equipo = new Equipo();
+            equipo.setId_equipo(i);
+            equipo.setEquipo_estado(EstadoEquipo.EnCola);
+            equipo.setTipo_trabajo(Trabajo.values()[i % 4]);
+            equipo.setHora_llegada(i * 1.5);
+            this.equipos.add(equipo);
+        }
+        ParametrosSimulacion parametros = ParametrosBenchmark.parametros(100, 0, "Base");
+        this.muestreador = new MuestreadorTipoTrabajo(parametros.getProbabilidadesTipoTrabajo());
+        this.generador = new GeneradorAleatorio(ParametrosBenchmark.SEMILLA);
+    }
+
+    @Benchmark
+    public void fotosEquiposSinCambios(Blackhole blackhole) {
+        for (Equipo equipo : this.equipos) {
+            blackhole.consume(equipo.instantanea());
+        }
+    }
+
+    @Benchmark
+    public void fotosEquiposConUnCambio(Blackhole blackhole) {
+        Equipo cambiado = this.equipos.get(this.siguienteACambiar);
+        this.siguienteACambiar = (this.siguienteACambiar + 1) % this.equipos.size();
+        cambiado.setHora_llegada(cambiado.getHora_llegada() + 1);
+        for (Equipo equipo : this.equipos) {
+            blackhole.consume(equipo.instantanea());
+        }
+    }
+
+    @Benchmark
+    public Trabajo tipoTrabajo() {
+        Llegada llegada = new Llegada();
+        llegada.calcularTipoTrabajo(this.tiposTrabajo, this.generador.rndTipoTrabajo(), this.muestreador);
+        return llegada.getTrabajo();
+    }
+
+    @Benchmark
+    public byte[] serializarResultados(Respuesta respuesta) throws JsonProcessingException {
+        return respuesta.objectMapper.writeValueAsBytes(respuesta.resultados);
+    }
+}
@@ -0,0 +1,75 @@
+package com.demo.services;
+
+import com.demo.entities.FilaVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de un evento (percentiles con el modo SampleTime). Se simula una corrida corta y desde su estado final se
+ * sigue simulando de a un evento, el sistema tiene capacidad acotada asi que se puede seguir sin limite:
+ * - evento: Un evento de la corrida (SimulacionPractica.simularProximoEvento), con las estadisticas y la traza de
+ *      los equipos y sin guardar la fila, que es el caso de la mayoria de los eventos de una corrida larga.
+ * - eventoRepetido: Un evento de una repetidora (ver SimulacionPractica.repetidora), sin estadisticas pero armando
+ *      la fila con la foto de los equipos, que es lo que cuesta cada fila al paginar una corrida en modo Bitacora.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventoBenchmark {
+
+    @State(Scope.Thread)
+    public static class Corrida {
+
+        @Param({"Base", "MuchosC", "SinC"})
+        public String mezcla;
+
+        SimulacionPractica simulacion;
+
+        @Setup(Level.Iteration)
+        public void preparar() {
+            this.simulacion = new SimulacionPractica();
+            this.simulacion.cola(ParametrosBenchmark.parametros(1000, 1, this.mezcla));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Repeticion {
+
+        @Param({"Base", "MuchosC", "SinC"})
+        public String mezcla;
+
+        SimulacionPractica repetidora;
+
+        @Setup(Level.Iteration)
+        public void preparar() {
+            SimulacionPractica simulacion = new SimulacionPractica();
+            simulacion.cola(ParametrosBenchmark.parametros(1000, 1, this.mezcla));
+            this.repetidora = simulacion.repetidora(simulacion.puntoControl(),
+                    new GeneradorAleatorio(ParametrosBenchmark.SEMILLA + 1));
+        }
+    }
+
+    @Benchmark
+    public void evento(Corrida corrida) {
+        corrida.simulacion.simularProximoEvento();
+    }
+
+    @Benchmark
+    public FilaVector eventoRepetido(Repeticion repeticion) {
+        return repeticion.repetidora.repetirProximoEvento();
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.ParametrosSimulacion;
+
+/**
+ * Parametros de las corridas de los benchmarks. Las mezclas de trabajos cambian cuanto pesan los trabajos C, que son
+ * los que generan los eventos de cambio y reanudacion y pasan por la cola C:
+ * - Base: La mezcla del enunciado (A 30%, B 25%, C 25%, D 20%).
+ * - MuchosC: 70% de trabajos C.
+ * - SinC: Sin trabajos C, solo llegadas y fines de trabajo.
+ */
+final class ParametrosBenchmark {
+
+    static final long SEMILLA = 12345L;
+
+    private ParametrosBenchmark() {
+    }
+
+    static ParametrosSimulacion parametros(int horizonte, int filasRetenidas, String mezcla) {
+        Dto_request request = ParametrosPrueba.request(horizonte, 0, filasRetenidas, SEMILLA);
+        switch (mezcla) {
+            case "Base" -> ParametrosPrueba.probabilidades(request, 0.3, 0.25, 0.25, 0.2);
+            case "MuchosC" -> ParametrosPrueba.probabilidades(request, 0.1, 0.1, 0.7, 0.1);
+            case "SinC" -> ParametrosPrueba.probabilidades(request, 0.5, 0.3, 0, 0.2);
+            default -> throw new IllegalArgumentException("Mezcla de trabajos desconocida: " + mezcla);
+        }
+        return ParametrosSimulacion.desde(request);
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.services;
+
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrida completa de SimulacionPractica.cola, en corridas por segundo. El contador "eventos" da los eventos por
+ * segundo y con "-prof gc" se ve cuanta memoria asigna cada corrida (gc.alloc.rate.norm).
+ * - horizonte: Horas simuladas (100 son ~230 eventos, 1000000 son ~2,3 millones).
+ * - filasRetenidas: Filas del vector de estados que se guardan.
+ * - mezcla: Mezcla de tipos de trabajo (ver ParametrosBenchmark).
+ * - almacen: Donde se guardan las filas (ver AlmacenSimulacion).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulacionBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int horizonte;
+
+    @Param({"200", "100000"})
+    public int filasRetenidas;
+
+    @Param({"Base", "MuchosC", "SinC"})
+    public String mezcla;
+
+    @Param({"Bitacora", "Columnas"})
+    public String almacen;
+
+    private ParametrosSimulacion parametros;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        this.parametros = ParametrosBenchmark.parametros(this.horizonte, this.filasRetenidas, this.mezcla);
+    }
+
+    /**
+     * Eventos procesados, JMH los informa como tasa (eventos por segundo).
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Contadores {
+        public long eventos;
+    }
+
+    @Benchmark
+    public ResultadosSimulacion cola(Contadores contadores) {
+        AlmacenFilas almacenFilas = "Bitacora".equals(this.almacen)
+                ? new AlmacenFilasBitacora(200)
+                : new AlmacenFilasColumnar();
+        ResultadosSimulacion resultados = new SimulacionPractica(almacenFilas).cola(this.parametros);
+        contadores.eventos += resultados.getCantidadEventos();
+        return resultados;
+    }
+}
@@ -0,0 +1,66 @@
+package com.demo.config;
+
+import com.demo.entities.Estados.ModoAlmacen;
+import com.demo.services.AlmacenFilas;
+import com.demo.services.AlmacenFilasBitacora;
+import com.demo.services.AlmacenFilasDesbordable;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Donde se guarda el vector de estados de cada corrida (application.properties, prefijo "simulacion.almacen").
+ * - modo: Bitacora guarda los eventos y puntos de control y calcula de nuevo las filas al paginar
+ *      (AlmacenFilasBitacora); Columnas guarda las filas por columnas y las pasa a disco si superan el presupuesto.
+ * - intervaloPuntosControl: Filas entre puntos de control en el modo Bitacora, es la cantidad maxima de eventos
+ *      que hay que simular de nuevo antes de la primera fila de una pagina.
+ * - presupuestoHeapMb: En el modo Columnas, megabytes de heap que puede ocupar el vector de estados de una
+ *      corrida, al pasarlos las filas se mueven a un archivo mapeado en memoria. Una fila ocupa unos 115 bytes,
+ *      por lo que con el limite de filas retenidas por defecto (100000, unos 11 MB) no se llega al presupuesto.
+ * - directorio: Directorio de los archivos de filas, por defecto "simulacion-filas" dentro del directorio temporal.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "simulacion.almacen")
+public class AlmacenSimulacion {
+    private ModoAlmacen modo = ModoAlmacen.Bitacora;
+    private int intervaloPuntosControl = 200;
+    private long presupuestoHeapMb = 64;
+    private String directorio = Paths.get(System.getProperty("java.io.tmpdir"), "simulacion-filas").toString();
+
+    public AlmacenFilas crear() {
+        if (this.modo == ModoAlmacen.Bitacora) {
+            return new AlmacenFilasBitacora(this.intervaloPuntosControl);
+        }
+        return new AlmacenFilasDesbordable(this.presupuestoHeapMb * 1024 * 1024, Paths.get(this.directorio));
+    }
+
+    /**
+     * Borra los archivos de filas modificados antes de "limite". Sirve para los archivos que quedaron de corridas
+     * que no se liberaron, por ejemplo si el proceso termino sin descartar sus sesiones.
+     */
+    public void borrarArchivosAnteriores(Instant limite) {
+        Path carpeta = Paths.get(this.directorio);
+        if (!Files.isDirectory(carpeta)) {
+            return;
+        }
+        try (Stream<Path> archivos = Files.list(carpeta)) {
+            for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                if (archivo.getFileName().toString().startsWith("filas-")
+                        && Files.getLastModifiedTime(archivo).toInstant().isBefore(limite)) {
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron borrar los archivos de " + carpeta, e);
+        }
+    }
+}
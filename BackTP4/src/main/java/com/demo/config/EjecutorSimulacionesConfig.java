@@ -0,0 +1,66 @@
+package com.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutor de los trabajos de simulacion asincronicos: una cantidad fija de hilos ("simulacion.trabajos.hilos",
+ * por defecto uno por procesador) y una cola acotada ("simulacion.trabajos.cola"). Cuando los hilos estan ocupados
+ * y la cola esta llena el trabajo se rechaza en lugar de acumularse.
+ *
+ * Las replicaciones usan un ForkJoinPool aparte ("simulacion.replicaciones.hilos", por defecto uno por procesador)
+ * para que una corrida con muchas replicaciones no ocupe el ejecutor de trabajos.
+ *
+ * Las transmisiones en vivo de los trabajos usan su propio ejecutor ("simulacion.transmision.hilos", por defecto 8)
+ * sin cola: cada transmision ocupa un hilo mientras dura y si no hay hilos libres se rechaza.
+ */
+@Configuration
+public class EjecutorSimulacionesConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor ejecutorSimulaciones(@Value("${simulacion.trabajos.hilos:0}") int hilos,
+                                                   @Value("${simulacion.trabajos.cola:16}") int cola) {
+        int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contadorHilos = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                cantidadHilos,
+                cantidadHilos,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(cola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "simulacion-" + contadorHilos.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor ejecutorTransmisiones(@Value("${simulacion.transmision.hilos:8}") int hilos) {
+        AtomicInteger contadorHilos = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                0,
+                Math.max(1, hilos),
+                60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "transmision-" + contadorHilos.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool ejecutorReplicaciones(@Value("${simulacion.replicaciones.hilos:0}") int hilos) {
+        return new ForkJoinPool(hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,59 @@
+package com.demo.config;
+
+import com.demo.entities.ParametrosSimulacion;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Limites que impone el servidor a cualquier corrida (application.properties, prefijo "simulacion.limites").
+ * Los valores que vienen en el request solo pueden achicarlos, si no vienen se usa el limite del servidor.
+ * - maxEventos: Cantidad maxima de eventos a procesar en una corrida.
+ * - maxTiempoEjecucionMs: Tiempo maximo de ejecucion de una corrida en milisegundos.
+ * - maxFilasRetenidas: Cantidad maxima de filas del vector de estados que se guardan para devolver.
+ * - maxReplicaciones: Cantidad maxima de replicaciones en el modo replicaciones.
+ * - tamanoPagina: Filas por pagina del vector de estados si el request no pide otro tamano.
+ * - maxTamanoPagina: Cantidad maxima de filas por pagina.
+ * - maxEquiposTrazados: Cantidad maxima de equipos de una corrida cuyas trazas se guardan (ver TrazaEquipos).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "simulacion.limites")
+public class LimitesSimulacion {
+    private long maxEventos = 50_000_000L;
+    private long maxTiempoEjecucionMs = 60_000L;
+    private int maxFilasRetenidas = 100_000;
+    private int maxReplicaciones = 1_000;
+    private int tamanoPagina = 200;
+    private int maxTamanoPagina = 1_000;
+    private int maxEquiposTrazados = 100_000;
+
+    public void aplicar(ParametrosSimulacion parametros) {
+        parametros.setMaxEventos(acotar(parametros.getMaxEventos(), this.maxEventos));
+        parametros.setMaxTiempoEjecucionMs(acotar(parametros.getMaxTiempoEjecucionMs(), this.maxTiempoEjecucionMs));
+        parametros.setCantidadItercaciones(Math.min(parametros.getCantidadItercaciones(), this.maxFilasRetenidas));
+        parametros.setReplicaciones(Math.min(parametros.getReplicaciones(), this.maxReplicaciones));
+        parametros.setTamanoPagina(tamanoPagina(parametros.getTamanoPagina()));
+        parametros.setMaxEquiposTrazados(Math.min(parametros.getMaxEquiposTrazados(), this.maxEquiposTrazados));
+    }
+
+    /**
+     * Tamano de pagina a usar para un pedido, el del servidor si no se pide uno. 400 si se pide uno menor a 1.
+     */
+    public int tamanoPagina(Integer pedido) {
+        if (pedido == null) {
+            return this.tamanoPagina;
+        }
+        if (pedido < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El tamano de pagina tiene que ser 1 o mayor, se pidio " + pedido);
+        }
+        return Math.min(pedido, this.maxTamanoPagina);
+    }
+
+    private static long acotar(long pedido, long maximo) {
+        return pedido > 0 ? Math.min(pedido, maximo) : maximo;
+    }
+}
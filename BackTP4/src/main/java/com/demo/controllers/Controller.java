@@ -1,73 +1,202 @@
 package com.demo.controllers;
 
+import com.demo.config.LimitesSimulacion;
 import com.demo.entities.*;
-import com.demo.services.SimulacionPractica;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.FormatoExportacion;
+import com.demo.services.ExportadorFilas;
+import com.demo.services.GestorReplicaciones;
+import com.demo.services.GestorSimulaciones;
+import com.demo.services.GestorTrabajos;
+import com.demo.services.SesionSimulacion;
+import com.demo.services.TrabajoSimulacion;
+import com.demo.services.TransmisorTrabajos;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class Controller {
 
-    private SimulacionPractica simulacionPractica;
+    private GestorSimulaciones gestorSimulaciones;
+    private GestorTrabajos gestorTrabajos;
+    private GestorReplicaciones gestorReplicaciones;
+    private LimitesSimulacion limitesSimulacion;
+    private ExportadorFilas exportadorFilas;
+    private TransmisorTrabajos transmisorTrabajos;
 
-    public Controller(SimulacionPractica simulacionPractica) {
-        this.simulacionPractica = simulacionPractica;
+    public Controller(GestorSimulaciones gestorSimulaciones,
+                      GestorTrabajos gestorTrabajos,
+                      GestorReplicaciones gestorReplicaciones,
+                      LimitesSimulacion limitesSimulacion,
+                      ExportadorFilas exportadorFilas,
+                      TransmisorTrabajos transmisorTrabajos) {
+        this.gestorSimulaciones = gestorSimulaciones;
+        this.gestorTrabajos = gestorTrabajos;
+        this.gestorReplicaciones = gestorReplicaciones;
+        this.limitesSimulacion = limitesSimulacion;
+        this.exportadorFilas = exportadorFilas;
+        this.transmisorTrabajos = transmisorTrabajos;
     }
 
     @PostMapping("/simular")
     public ResponseEntity<ResultadosSimulacion> simular(@RequestBody(required = false) Dto_request simulacionRequest) {
 
+        ParametrosSimulacion parametros = ParametrosSimulacion.desde(simulacionRequest);
+        limitesSimulacion.aplicar(parametros);
 
-        double probTA = simulacionRequest.getProbTA();
-        double probTB = simulacionRequest.getProbTB();
-        double probTC = simulacionRequest.getProbTC();
-        double probTD = simulacionRequest.getProbTD();
-        double timeTA = simulacionRequest.getTimeTA();
-        double timeTB = simulacionRequest.getTimeTB();
-        double timeTC = simulacionRequest.getTimeTC();
-        double timeTD = simulacionRequest.getTimeTD();
-        double timeMin = simulacionRequest.getTimeMin();
-        double timeMax = simulacionRequest.getTimeMax();
-        double timeInitTC = simulacionRequest.getTimeInitTC();
-        double timeEndTC = simulacionRequest.getTimeEndTC();
-        double cantTimeSim = simulacionRequest.getCantTimeSim();
-        double initTimeView = simulacionRequest.getInitTimeView();
-        int cantSimIterations = simulacionRequest.getCantSimIterations();
-
-        // Crea un array con las probabilidades
-        ArrayList<Double> probabilidadesOcurrencia = new ArrayList<>(Arrays.asList(probTA, probTB, probTC, probTD));
-
-
-        // Crea un array con los tiempos medio de trabajo
-        ArrayList<Double> tiemposDemora = new ArrayList<>(Arrays.asList(timeTA, timeTB, timeTC, timeTD));
-
-        ResultadosSimulacion values = simulacionPractica.cola(
-                cantTimeSim, // tiempo_simulacion
-                probabilidadesOcurrencia,
-                tiemposDemora,
-                timeMin, // limite_inferiorUniforme
-                timeMax, // limite_superiorUniforme
-                timeInitTC, // Tiempo desde que inicia el trabajo C hasta que queda solo
-                timeEndTC, // Tiempo antes de terminar el trabajo C en el que hay que retomarlo
-                initTimeView, // Tiempo desde el que empieza a guardar filas del vector para devolver
-                cantSimIterations // Cantidad de iteraciones que devuelve
-        );
+        ResultadosSimulacion values = gestorSimulaciones.simular(parametros);
         return ResponseEntity.ok(values);
     }
 
+    @PostMapping("/replicaciones")
+    public ResponseEntity<ResultadosReplicaciones> replicar(@RequestBody Dto_request simulacionRequest) {
+        ParametrosSimulacion parametros = ParametrosSimulacion.desde(simulacionRequest);
+        limitesSimulacion.aplicar(parametros);
+
+        return ResponseEntity.ok(gestorReplicaciones.replicar(parametros));
+    }
+
     @GetMapping("/datos")
     public ResponseEntity<FilasPaginadas> getDatos(
-            @RequestParam int page
+            @RequestParam String id,
+            @RequestParam int page,
+            @RequestParam(required = false) Integer tamanoPagina
     ) {
-        System.out.println("page: " + page);
-        FilasPaginadas filasPaginadas = simulacionPractica.getFilasPaginadas(page);
+        // Sin tamano se usa el de la corrida, asi las paginas coinciden con la primera que se devolvio al simular
+        FilasPaginadas filasPaginadas = tamanoPagina == null
+                ? gestorSimulaciones.getFilasPaginadas(id, page)
+                : gestorSimulaciones.getFilasPaginadas(id, page, limitesSimulacion.tamanoPagina(tamanoPagina));
         return ResponseEntity.ok(filasPaginadas);
     }
 
+    /**
+     * Filas de la corrida que cumplen los filtros indicados (rango de reloj, tipo de evento y equipo), paginadas.
+     */
+    @GetMapping("/datos/buscar")
+    public ResponseEntity<FilasEncontradas> buscarDatos(
+            @RequestParam String id,
+            @RequestParam(required = false) Double relojDesde,
+            @RequestParam(required = false) Double relojHasta,
+            @RequestParam(required = false) Eventos evento,
+            @RequestParam(required = false) Integer equipo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer tamanoPagina
+    ) {
+        FilasEncontradas filasEncontradas = gestorSimulaciones.buscarFilas(id, relojDesde, relojHasta, evento, equipo,
+                page, limitesSimulacion.tamanoPagina(tamanoPagina));
+        return ResponseEntity.ok(filasEncontradas);
+    }
+
+    /**
+     * Vector de estados completo (o las filas que cumplen los filtros, como en /datos/buscar) como NDJSON o CSV.
+     * Las filas se escriben a medida que se piden al almacen, con gzip=true la respuesta va comprimida
+     * (Content-Encoding: gzip).
+     */
+    @GetMapping("/datos/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarDatos(
+            @RequestParam String id,
+            @RequestParam(defaultValue = "Ndjson") FormatoExportacion formato,
+            @RequestParam(required = false) Double relojDesde,
+            @RequestParam(required = false) Double relojHasta,
+            @RequestParam(required = false) Eventos evento,
+            @RequestParam(required = false) Integer equipo,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        // La sesion se abre antes de empezar a escribir, asi una simulacion inexistente responde 404, y queda abierta
+        // hasta terminar la exportacion aunque se descarte mientras tanto
+        SesionSimulacion sesion = gestorSimulaciones.abrirSesion(id);
+        StreamingResponseBody cuerpo = salida -> {
+            try {
+                exportadorFilas.exportar(sesion.getSimulacion(), formato, gzip, relojDesde, relojHasta, evento, equipo,
+                        salida);
+            } finally {
+                sesion.liberar();
+            }
+        };
+
+        boolean csv = formato == FormatoExportacion.Csv;
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"filas-" + id + (csv ? ".csv" : ".ndjson") + "\"");
+        if (gzip) {
+            respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return respuesta.body(cuerpo);
+    }
+
+    /**
+     * Horas en las que el equipo cambio de estado durante la corrida.
+     */
+    @GetMapping("/equipos/{equipo}/traza")
+    public ResponseEntity<TrazaEquipo> getTrazaEquipo(@RequestParam String id, @PathVariable int equipo) {
+        return ResponseEntity.ok(gestorSimulaciones.trazaEquipo(id, equipo));
+    }
+
+    /**
+     * Trazas de todos los equipos de la corrida en un CSV.
+     */
+    @GetMapping("/equipos/trazas")
+    public ResponseEntity<StreamingResponseBody> exportarTrazasEquipos(@RequestParam String id) {
+        SesionSimulacion sesion = gestorSimulaciones.abrirSesion(id);
+        StreamingResponseBody cuerpo = salida -> {
+            try {
+                Writer csv = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+                sesion.getSimulacion().escribirTrazasCsv(csv);
+            } finally {
+                sesion.liberar();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trazas-" + id + ".csv\"")
+                .body(cuerpo);
+    }
+
+    // Trabajos asincronicos: se envia la simulacion, se consulta el estado y al terminar se piden los resultados
+
+    @PostMapping("/trabajos")
+    public ResponseEntity<Dto_EstadoTrabajo> enviarTrabajo(@RequestBody Dto_request simulacionRequest) {
+        ParametrosSimulacion parametros = ParametrosSimulacion.desde(simulacionRequest);
+        limitesSimulacion.aplicar(parametros);
+
+        TrabajoSimulacion trabajo = gestorTrabajos.enviar(parametros);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(trabajo.estadoActual());
+    }
+
+    @GetMapping("/trabajos/{id}")
+    public ResponseEntity<Dto_EstadoTrabajo> getEstadoTrabajo(@PathVariable String id) {
+        return ResponseEntity.ok(gestorTrabajos.buscarTrabajo(id).estadoActual());
+    }
+
+    @DeleteMapping("/trabajos/{id}")
+    public ResponseEntity<Dto_EstadoTrabajo> cancelarTrabajo(@PathVariable String id) {
+        return ResponseEntity.ok(gestorTrabajos.cancelar(id).estadoActual());
+    }
+
+    /**
+     * Transmision en vivo del trabajo (Server-Sent Events): filas, indicadores parciales y el estado final.
+     */
+    @GetMapping(value = "/trabajos/{id}/vivo", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirTrabajo(@PathVariable String id) {
+        return transmisorTrabajos.transmitir(id);
+    }
+
+    @GetMapping("/trabajos/{id}/resultados")
+    public ResponseEntity<ResultadosSimulacion> getResultadosTrabajo(@PathVariable String id) {
+        return ResponseEntity.ok(gestorTrabajos.getResultados(id));
+    }
+
 }
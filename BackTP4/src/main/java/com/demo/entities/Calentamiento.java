@@ -0,0 +1,33 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Periodo de calentamiento detectado en la corrida (regla MSER-5 sobre la permanencia de los equipos, ver
+ * DetectorCalentamiento) e indicadores calculados sin ese periodo. Solo se truncan el promedio de permanencia y el
+ * porcentaje de ocupacion; indicadoresColas, los percentiles de permanencia y espera y la cantidad de equipos
+ * finalizados siempre incluyen el calentamiento.
+ * - tamanoLote, cantidadLotes: Lotes de equipos que se usaron, el tamano de lote crece en las corridas largas.
+ * - lotesDescartados, equiposDescartados: Inicio de la serie que se considera transitorio.
+ * - horaTruncamiento: Hora en la que salio el ultimo equipo descartado, 0 si no se descarto nada.
+ * - promedioPermanencia: Permanencia acumulada de los equipos que salieron despues del truncamiento dividida por los
+ *      equipos que llegaron despues del truncamiento, la misma formula que el promedio de la corrida completa.
+ * - porcentajeOcupacionServidor: Ocupacion del servidor entre la hora de truncamiento y el fin de la corrida.
+ * - confiable: Falso si hubo pocos lotes o el truncamiento cayo en la mitad de la corrida, en ese caso la corrida
+ *      es demasiado corta para asegurar que llego al estado estacionario.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Calentamiento {
+    private int tamanoLote;
+    private int cantidadLotes;
+    private int lotesDescartados;
+    private long equiposDescartados;
+    private double horaTruncamiento;
+    private double promedioPermanencia;
+    private double porcentajeOcupacionServidor;
+    private boolean confiable;
+}
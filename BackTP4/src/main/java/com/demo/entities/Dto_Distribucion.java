@@ -0,0 +1,30 @@
+package com.demo.entities;
+
+import com.demo.entities.Estados.TipoDistribucion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Distribucion de un tiempo del modelo (entre llegadas o de atencion de un tipo de trabajo), en horas.
+ * - tipo: Uniforme, Exponencial, Normal o Empirica.
+ * - minimo, maximo: Limites de la uniforme, el minimo no puede ser negativo.
+ * - media: Media de la exponencial y de la normal.
+ * - desvio: Desvio estandar de la normal.
+ * - valores, probabilidades: Tabla de la empirica, cada valor (no negativo) sale con su probabilidad.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Dto_Distribucion {
+
+    public TipoDistribucion tipo;
+    public Double minimo;
+    public Double maximo;
+    public Double media;
+    public Double desvio;
+    public List<Double> valores;
+    public List<Double> probabilidades;
+}
@@ -0,0 +1,45 @@
+package com.demo.entities;
+
+import com.demo.entities.Estados.EstadoTrabajo;
+import com.demo.entities.Estados.MotivoFin;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de un trabajo de simulacion asincronico.
+ * - progreso: Fraccion del tiempo de simulacion ya simulada (reloj simulado / tiempo de simulacion).
+ * - idSimulacion: Id de la corrida para paginar el vector de estados, cuando termino y tiene vector de estados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Dto_EstadoTrabajo {
+    private String idTrabajo;
+    private EstadoTrabajo estado;
+    private double progreso;
+    private double relojSimulado;
+    private double tiempoSimulacion;
+    private long eventosProcesados;
+    private String idSimulacion;
+    private MotivoFin motivoFin;
+    private String error;
+
+    public static Dto_EstadoTrabajo desde(String idTrabajo, EstadoTrabajo estado, double progreso, double relojSimulado,
+                                          double tiempoSimulacion, long eventosProcesados,
+                                          ResultadosSimulacion resultados, String error) {
+        Dto_EstadoTrabajo dto = new Dto_EstadoTrabajo();
+        dto.setIdTrabajo(idTrabajo);
+        dto.setEstado(estado);
+        dto.setProgreso(progreso);
+        dto.setRelojSimulado(relojSimulado);
+        dto.setTiempoSimulacion(tiempoSimulacion);
+        dto.setEventosProcesados(eventosProcesados);
+        if (resultados != null) {
+            dto.setIdSimulacion(resultados.getIdSimulacion());
+            dto.setMotivoFin(resultados.getMotivoFin());
+        }
+        dto.setError(error);
+        return dto;
+    }
+}
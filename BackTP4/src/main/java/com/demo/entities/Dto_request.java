@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -25,4 +27,15 @@ public class Dto_request {
     public Integer cantTimeSim;
     public Integer initTimeView;
     public Integer cantSimIterations;
+    public Integer tamanoPagina;
+    public Integer maxEquiposTrazados;
+    public Boolean soloEstadisticas;
+    public Boolean estadoEstacionario;
+    public Long maxEventos;
+    public Long maxTiempoEjecucionMs;
+    public Integer replicaciones;
+    public Double nivelConfianza;
+    public Long semilla;
+    public Dto_Distribucion distribucionLlegadas;
+    public List<Dto_Distribucion> distribucionesTrabajo;
 }
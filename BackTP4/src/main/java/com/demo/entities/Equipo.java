@@ -2,9 +2,12 @@ package com.demo.entities;
 
 import com.demo.entities.Estados.EstadoEquipo;
 import com.demo.entities.Estados.Trabajo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 
 @Data
@@ -19,6 +22,83 @@ public class Equipo {
     private Double horaReanudacionTrabajoC;
     private Double horaFinAtencionEstimada;
     private Double hora_salida;
-    private boolean yaTermino;
+
+    /**
+     * Referencias a los eventos del equipo que estan agendados en el calendario, sirven para anularlos
+     * directamente (por ejemplo el fin de un trabajo C que tiene que esperar en la cola C).
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Evento eventoFinTrabajo;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Evento eventoCambio;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Evento eventoReanudacion;
+
+    /**
+     * Ultima foto del equipo tomada para una fila del vector de estados. Las fotos no se modifican, por lo que
+     * mientras el equipo no cambie todas las filas guardadas comparten la misma.
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Equipo instantanea;
+
+    /**
+     * Indice de la version de esta foto en el almacen de filas de la corrida, -1 si todavia no se guardo.
+     * Solo se usa en las fotos (ver instantanea).
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private int versionAlmacenada = -1;
+
+    public Equipo instantanea() {
+        if (this.instantanea == null || !this.instantanea.equals(this)) {
+            this.instantanea = copiar();
+        }
+        return this.instantanea;
+    }
+
+    /**
+     * Copia los datos del equipo, sin los eventos pendientes ni la foto.
+     */
+    public Equipo copiar() {
+        Equipo equipoClon = new Equipo();
+        equipoClon.setId_equipo(this.id_equipo);
+        equipoClon.setEquipo_estado(this.equipo_estado);
+        equipoClon.setTipo_trabajo(this.tipo_trabajo);
+        equipoClon.setHora_llegada(this.hora_llegada);
+        equipoClon.setHoraCambioTrabajoC(this.horaCambioTrabajoC);
+        equipoClon.setHoraReanudacionTrabajoC(this.horaReanudacionTrabajoC);
+        equipoClon.setHoraFinAtencionEstimada(this.horaFinAtencionEstimada);
+        equipoClon.setHora_salida(this.hora_salida);
+        return equipoClon;
+    }
+
+    public void registrarEventoPendiente(Evento evento) {
+        switch (evento.getTipoEvento()) {
+            case FinTrabajo -> this.eventoFinTrabajo = evento;
+            case Cambio -> this.eventoCambio = evento;
+            case Reanudacion -> this.eventoReanudacion = evento;
+            default -> {
+            }
+        }
+    }
+
+    public void quitarEventoPendiente(Evento evento) {
+        if (this.eventoFinTrabajo == evento) {
+            this.eventoFinTrabajo = null;
+        } else if (this.eventoCambio == evento) {
+            this.eventoCambio = null;
+        } else if (this.eventoReanudacion == evento) {
+            this.eventoReanudacion = null;
+        }
+    }
 }
 
@@ -0,0 +1,46 @@
+package com.demo.entities;
+
+import com.demo.entities.Estados.Eventos;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Datos de la ejecucion de una corrida (no del modelo), para seguir el rendimiento del motor.
+ * - duracionMs: Tiempo de ejecucion de la corrida.
+ * - eventosPorSegundo: Eventos procesados por segundo de ejecucion.
+ * - eventosPorTipo: Eventos procesados de cada tipo (Llegada, FinTrabajo, Cambio, Reanudacion).
+ * - maxEventosPendientes: Tamano maximo que alcanzo el calendario de eventos.
+ * - bytesVectorEstados: Memoria estimada que ocupa el vector de estados guardado, 0 si la corrida no lo guarda.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstadisticasCorrida {
+    private long duracionMs;
+    private double eventosPorSegundo;
+    private Map<Eventos, Long> eventosPorTipo;
+    private int maxEventosPendientes;
+    private long bytesVectorEstados;
+
+    /**
+     * - eventosPorTipo: Contadores indexados por el ordinal de Eventos.
+     */
+    public static EstadisticasCorrida desde(long duracionNanos, long eventos, long[] eventosPorTipo,
+                                            int maxEventosPendientes, long bytesVectorEstados) {
+        Map<Eventos, Long> porTipo = new EnumMap<>(Eventos.class);
+        for (Eventos tipo : new Eventos[]{Eventos.Llegada, Eventos.FinTrabajo, Eventos.Cambio, Eventos.Reanudacion}) {
+            porTipo.put(tipo, eventosPorTipo[tipo.ordinal()]);
+        }
+        double segundos = duracionNanos / 1e9;
+        return new EstadisticasCorrida(
+                duracionNanos / 1_000_000,
+                segundos > 0 ? eventos / segundos : 0,
+                porTipo,
+                maxEventosPendientes,
+                bytesVectorEstados);
+    }
+}
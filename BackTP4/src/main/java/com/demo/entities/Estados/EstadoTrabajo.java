@@ -0,0 +1,9 @@
+package com.demo.entities.Estados;
+
+public enum EstadoTrabajo {
+    EnCola,
+    Ejecutando,
+    Terminado,
+    Cancelado,
+    Fallido
+}
@@ -0,0 +1,6 @@
+package com.demo.entities.Estados;
+
+public enum ModoAlmacen {
+    Columnas,
+    Bitacora
+}
@@ -0,0 +1,8 @@
+package com.demo.entities.Estados;
+
+public enum TipoDistribucion {
+    Uniforme,
+    Exponencial,
+    Normal,
+    Empirica
+}
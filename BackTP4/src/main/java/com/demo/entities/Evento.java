@@ -3,7 +3,9 @@ package com.demo.entities;
 import com.demo.entities.Estados.Eventos;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @AllArgsConstructor
@@ -13,4 +15,24 @@ public class Evento {
     private Eventos tipoEvento;
     private double horaEvento;
     private Equipo equipo;
+
+    /**
+     * - secuencia: Orden en el que el evento fue agendado en el calendario, sirve para desempatar de forma
+     *      determinista eventos que ocurren a la misma hora y son del mismo tipo.
+     */
+    private long secuencia;
+
+    /**
+     * - posicion: Indice del evento dentro del monticulo del calendario mientras esta pendiente, -1 si ya ocurrio o
+     *      fue cancelado. Permite cancelar el evento sin buscarlo.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private int posicion = -1;
+
+    public Evento(Eventos tipoEvento, double horaEvento, Equipo equipo) {
+        this.tipoEvento = tipoEvento;
+        this.horaEvento = horaEvento;
+        this.equipo = equipo;
+    }
 }
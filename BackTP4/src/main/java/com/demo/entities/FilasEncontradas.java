@@ -0,0 +1,27 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Pagina de las filas del vector de estados que cumplen una busqueda.
+ * - pagina: Numero de pagina dentro de las coincidencias, empieza en 0.
+ * - tamanoPagina: Cantidad maxima de filas por pagina.
+ * - cantidadCoincidencias, cantidadPaginas: Totales de la busqueda.
+ * - indices: Numero de fila en el vector de estados de cada fila devuelta, sirve para pedir su pagina.
+ * - filas: Filas de la pagina.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FilasEncontradas {
+    private int pagina;
+    private int tamanoPagina;
+    private int cantidadCoincidencias;
+    private int cantidadPaginas;
+    private List<Integer> indices;
+    private List<FilaVector> filas;
+}
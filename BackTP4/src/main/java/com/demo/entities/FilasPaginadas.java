@@ -4,12 +4,24 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Pagina del vector de estados de una corrida.
+ * - pagina: Numero de pagina, empieza en 0.
+ * - tamanoPagina: Cantidad de filas por pagina, la ultima pagina puede tener menos.
+ * - cantidadFilas, cantidadPaginas: Totales de la corrida.
+ * - filas: Filas de la pagina, vacia si la pagina no existe.
+ * - ultimaFila: Ultima fila de la corrida (el estado al terminar), se devuelve aparte en todas las paginas.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class FilasPaginadas {
+    private int pagina;
+    private int tamanoPagina;
+    private int cantidadFilas;
+    private int cantidadPaginas;
     private List<FilaVector> filas;
+    private FilaVector ultimaFila;
 }
@@ -1,12 +1,10 @@
 package com.demo.entities;
 
-import com.demo.entities.Estados.Trabajo;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
 
 @Data
 @AllArgsConstructor
@@ -20,41 +18,20 @@ public class FinTrabajo {
     public Double horaFinTrabajo;
 
 
-    private Double generateRandom() {
-        Random rnd = new Random();
-        double rndCeroUno = rnd.nextDouble();
+    private Double generateRandom(double rndCeroUno) {
         return (Math.round(rndCeroUno * 100.0) / 100.0);
     }
 
-    public void calcularHoraFinTrabajo(Trabajo tipoTrabajo,
-                                       ArrayList<Double> tiemposMediosTrabajo,
+    public void calcularHoraFinTrabajo(DoubleUnaryOperator tiempoAtencionTrabajo,
+                                       double mediaTiempoAtencion,
                                        Double reloj,
-                                       Double limite_inferiorUniforme,
-                                       Double limite_superiorUniforme
+                                       double rndCeroUno
                                            ){
-        Double rnd = generateRandom();
-        Double mediaTrabajo = calcularMediaTrabajo(tipoTrabajo, tiemposMediosTrabajo);
-        Double tiempoAtencion = (mediaTrabajo - limite_inferiorUniforme) +
-                rnd * ((mediaTrabajo + limite_superiorUniforme) - (mediaTrabajo - limite_inferiorUniforme));
-        this.mediaTiempoAtencion = mediaTrabajo;
+        Double rnd = generateRandom(rndCeroUno);
+        Double tiempoAtencion = tiempoAtencionTrabajo.applyAsDouble(rnd);
+        this.mediaTiempoAtencion = mediaTiempoAtencion;
         this.rndFinTrabajo = rnd;
         this.tiempoAtencion = tiempoAtencion;
         this.horaFinTrabajo = reloj + tiempoAtencion;
     }
-
-    public Double calcularMediaTrabajo(  Trabajo tipoTrabajo,
-                                         ArrayList<Double> tiemposMediosTrabajo) {
-        switch (tipoTrabajo) {
-            case A:
-                return tiemposMediosTrabajo.get(0);
-            case B:
-                return tiemposMediosTrabajo.get(1);
-            case C:
-                return tiemposMediosTrabajo.get(2);
-            case D:
-                return tiemposMediosTrabajo.get(3);
-            default:
-                return 0.0;
-        }
-    }
 }
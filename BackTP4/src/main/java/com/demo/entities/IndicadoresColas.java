@@ -0,0 +1,34 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Indicadores del sistema ponderados por el tiempo, los motores los acumulan evento a evento durante toda la corrida
+ * (no solo en las filas guardadas).
+ * - promedioColaComun, maxColaComun: Largo promedio y maximo de la cola comun.
+ * - promedioColaTrabajosC, maxColaTrabajosC: Largo promedio y maximo de la cola de trabajos C por retomar.
+ * - promedioTrabajosCSegundoPlano: Trabajos C en segundo plano en promedio.
+ * - promedioEquiposEnSistema, maxEquiposEnSistema: Equipos en el sistema (en cola, en atencion o en segundo plano).
+ * - cantidadLlegadas: Llegadas que ocurrieron, incluidas las rechazadas.
+ * - cantidadLlegadasRechazadas: Llegadas que no entraron porque el servidor estaba ocupado y no habia lugares libres.
+ * - probabilidadBloqueo: Proporcion de llegadas rechazadas.
+ * - tasaSalida: Equipos finalizados por unidad de tiempo simulado.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IndicadoresColas {
+    private double promedioColaComun;
+    private int maxColaComun;
+    private double promedioColaTrabajosC;
+    private int maxColaTrabajosC;
+    private double promedioTrabajosCSegundoPlano;
+    private double promedioEquiposEnSistema;
+    private int maxEquiposEnSistema;
+    private long cantidadLlegadas;
+    private long cantidadLlegadasRechazadas;
+    private double probabilidadBloqueo;
+    private double tasaSalida;
+}
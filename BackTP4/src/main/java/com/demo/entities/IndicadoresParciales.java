@@ -0,0 +1,25 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Indicadores de una corrida en curso, la simulacion los publica cada tantos eventos (ver CanalFilas).
+ * - reloj, eventosProcesados: Hasta donde llego la corrida.
+ * - porcentajeOcupacion, promedioPermanencia: Valores acumulados hasta el reloj.
+ * - colaComun, colaTrabajoC, trabajoCSegundoPlano, equiposEnSistema: Estado del sistema en el reloj.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IndicadoresParciales {
+    private double reloj;
+    private long eventosProcesados;
+    private double porcentajeOcupacion;
+    private double promedioPermanencia;
+    private int colaComun;
+    private int colaTrabajoC;
+    private int trabajoCSegundoPlano;
+    private int equiposEnSistema;
+}
@@ -0,0 +1,23 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estimacion de un indicador a partir de varias replicaciones independientes.
+ * - media, varianza, desvio: Estadisticos muestrales del indicador entre replicaciones.
+ * - semiamplitud: Mitad del ancho del intervalo de confianza (t de Student con n-1 grados de libertad).
+ * - limiteInferior, limiteSuperior: Extremos del intervalo de confianza.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntervaloConfianza {
+    private double media;
+    private double varianza;
+    private double desvio;
+    private double semiamplitud;
+    private double limiteInferior;
+    private double limiteSuperior;
+}
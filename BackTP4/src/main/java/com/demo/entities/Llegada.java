@@ -7,7 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleUnaryOperator;
 
 @Data
 @AllArgsConstructor
@@ -23,17 +24,15 @@ public class Llegada {
     public Trabajo trabajo;
 
 
-    private double rndLlegada() {
-        Random random = new Random();
-        double numero_random1 = random.nextDouble();
+    private double rndLlegada(double numero_random1) {
         double numero_random = Math.round(numero_random1 * 100.0) / 100.0;
         return numero_random;
     }
 
-    public void generarProximaLlegada(double reloj) {
-        double ran = rndLlegada();
+    public void generarProximaLlegada(double reloj, double rnd, DoubleUnaryOperator distribucionLlegadas) {
+        double ran = rndLlegada(rnd);
         ran = Math.round(ran * 100.0) / 100.0;
-        double tiempo_entre_llegada = 0.5 + ran * (1.5 - 0.5);
+        double tiempo_entre_llegada = distribucionLlegadas.applyAsDouble(ran);
         tiempo_entre_llegada = Math.round(tiempo_entre_llegada * 100.0) / 100.0;
 
         this.rndLlegada = ran;
@@ -41,70 +40,18 @@ public class Llegada {
         this.horaProximaLlegada = tiempo_entre_llegada + reloj;
     }
 
-    private Double generateRandom() {
-        Random rnd = new Random();
-        double rndCeroUno = rnd.nextDouble();
+    private Double generateRandom(double rndCeroUno) {
         return (Math.round(rndCeroUno * 100.0) / 100.0);
     }
 
 
     public void calcularTipoTrabajo(ArrayList<Trabajo> tiposTrabajo,
-                                    ArrayList<Double> probabilidadesTipoTrabajo) {
+                                    double rndCeroUno,
+                                    DoubleToIntFunction muestreadorTipoTrabajo) {
 
-        Double rnd = generateRandom();
-        ArrayList<Double> liProbabilidadesTipoTrabajo =
-                calcularLimitesInferiores(probabilidadesTipoTrabajo);
+        Double rnd = generateRandom(rndCeroUno);
 
         this.rndTipoTrabajo = rnd;
-
-        for (int i = 0; i <= liProbabilidadesTipoTrabajo.size() - 1; i++) {
-            if (i == liProbabilidadesTipoTrabajo.size() - 1) {
-                if (rnd >= liProbabilidadesTipoTrabajo.get(i)) {
-                    this.trabajo = tiposTrabajo.get(i);
-                }
-            } else {
-                if (rnd >= liProbabilidadesTipoTrabajo.get(i) &&
-                        rnd < liProbabilidadesTipoTrabajo.get(i + 1)
-                ) {
-                    this.trabajo = tiposTrabajo.get(i);
-                    break;
-                }
-            }
-        }
-    }
-
-    private ArrayList<Double> calcularLimitesInferiores(ArrayList<Double> arrayProbabilidades) {
-        ArrayList<Double> limitesInferiores = new ArrayList<>();
-        for (int i = 0; i <= arrayProbabilidades.size() - 1; i++) {
-            if (i == 0) {
-                limitesInferiores.add(0.00);
-            } else {
-                Double limiteInferiorAnterior = limitesInferiores.get(i - 1);
-                Double probabilidadAnterior = arrayProbabilidades.get(i - 1);
-                Double limiteInferiorActual = limiteInferiorAnterior + probabilidadAnterior;
-                limitesInferiores.add(limiteInferiorActual);
-            }
-        }
-        return limitesInferiores;
-    }
-
-    public double[][] intervalos(double[] valores_probabilidad) {
-        int n = valores_probabilidad.length;
-        double[][] intervalo_proba = new double[n][2];
-        double primero = 0.0;
-
-        for (int i = 0; i < n; i++) {
-            if (i + 1 == n) {
-                intervalo_proba[i][0] = primero;
-                intervalo_proba[i][1] = 1.0;
-                return intervalo_proba;
-            }
-
-            double ultimo = primero + valores_probabilidad[i];
-            intervalo_proba[i][0] = primero;
-            intervalo_proba[i][1] = ultimo;
-            primero = ultimo;
-        }
-        return intervalo_proba;
+        this.trabajo = tiposTrabajo.get(muestreadorTipoTrabajo.applyAsInt(rnd));
     }
 }
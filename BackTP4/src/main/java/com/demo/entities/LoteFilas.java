@@ -0,0 +1,19 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filas consecutivas del vector de estados transmitidas juntas.
+ * - desde: Numero de fila de la primera, las demas siguen en orden.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoteFilas {
+    private int desde;
+    private List<FilaVector> filas;
+}
@@ -0,0 +1,95 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parametros de una corrida de la simulacion, ya convertidos a las unidades que usa el modelo (horas).
+ * - tiempoSimulacion: Tiempo de simulacion en horas.
+ * - probabilidadesTipoTrabajo: Probabilidades de los diferentes tipos de trabajo (A,B,C,D).
+ * - tiemposMediaTrabajo: Tiempos medios de ejecucion de los diferentes tipos de trabajo (A,B,C,D).
+ * - limite_inferiorUniforme: Limite inferior de la distribucion uniforme del tiempo de trabajo.
+ * - limite_superiorUniforme: Limite superior de la distribucion uniforme del tiempo de trabajo.
+ * - tiempoDesdeInicioEquipoC: Tiempo desde que inicia el trabajo C hasta que puede ser dejado solo.
+ * - tiempoAntesFinEquipoC: Tiempo antes de terminar el trabajo C en el que hay que retomarlo.
+ * - tiempoInicioResultado: Tiempo desde el que empieza a guardar filas del vector para devolver.
+ * - cantidadItercaciones: Cantidad de iteraciones que devuelve a partir del tiempoInicioResultado.
+ * - tamanoPagina: Filas por pagina del vector de estados, null si no se pidio un tamano (LimitesSimulacion.aplicar
+ *      pone el del servidor). Sin tamano la corrida no arma la primera pagina de los resultados.
+ * - maxEquiposTrazados: Cantidad de equipos (los primeros en llegar) cuyas trazas se guardan con el vector de
+ *      estados, 0 para no trazar ninguno (ver TrazaEquipos).
+ * - soloEstadisticas: Si es verdadero no se arma el vector de estados, solo se calculan los indicadores.
+ * - estadoEstacionario: Si es verdadero el promedio de permanencia y el porcentaje de ocupacion de los resultados se
+ *      calculan sin el periodo de calentamiento detectado (ver Calentamiento). Los demas indicadores (colas,
+ *      percentiles, equipos finalizados) incluyen el calentamiento igual.
+ * - maxEventos: Cantidad maxima de eventos a procesar, 0 si no se pidio un limite.
+ * - maxTiempoEjecucionMs: Tiempo maximo de ejecucion de la corrida en milisegundos, 0 si no se pidio un limite.
+ * - replicaciones: Cantidad de replicaciones independientes a correr en el modo replicaciones.
+ * - nivelConfianza: Nivel de confianza de los intervalos del modo replicaciones.
+ * - semilla: Semilla de los numeros aleatorios, la misma semilla con los mismos parametros repite la corrida. Si no
+ *      se pide una se elige al azar y se devuelve en los resultados.
+ * - distribucionLlegadas: Distribucion del tiempo entre llegadas, null para la uniforme entre 0.5 y 1.5 horas.
+ * - distribucionesTrabajo: Distribucion del tiempo de atencion de cada tipo de trabajo (A,B,C,D), un elemento null
+ *      o la lista null usan la uniforme alrededor de la media con los limites de la uniforme.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ParametrosSimulacion {
+    private double tiempoSimulacion;
+    private ArrayList<Double> probabilidadesTipoTrabajo;
+    private ArrayList<Double> tiemposMediaTrabajo;
+    private double limite_inferiorUniforme;
+    private double limite_superiorUniforme;
+    private double tiempoDesdeInicioEquipoC;
+    private double tiempoAntesFinEquipoC;
+    private double tiempoInicioResultado;
+    private int cantidadItercaciones;
+    private Integer tamanoPagina;
+    private int maxEquiposTrazados;
+    private boolean soloEstadisticas;
+    private boolean estadoEstacionario;
+    private long maxEventos;
+    private long maxTiempoEjecucionMs;
+    private int replicaciones;
+    private double nivelConfianza;
+    private long semilla;
+    private Dto_Distribucion distribucionLlegadas;
+    private ArrayList<Dto_Distribucion> distribucionesTrabajo;
+
+    public static ParametrosSimulacion desde(Dto_request request) {
+        ParametrosSimulacion parametros = new ParametrosSimulacion();
+        parametros.setTiempoSimulacion(request.getCantTimeSim());
+        parametros.setProbabilidadesTipoTrabajo(new ArrayList<>(Arrays.asList(
+                request.getProbTA(), request.getProbTB(), request.getProbTC(), request.getProbTD())));
+        parametros.setTiemposMediaTrabajo(new ArrayList<>(Arrays.asList(
+                (double) request.getTimeTA(), (double) request.getTimeTB(),
+                (double) request.getTimeTC(), (double) request.getTimeTD())));
+        // Los limites de la uniforme y los tiempos del trabajo C vienen en minutos
+        parametros.setLimite_inferiorUniforme(request.getTimeMin() / 60.0);
+        parametros.setLimite_superiorUniforme(request.getTimeMax() / 60.0);
+        parametros.setTiempoDesdeInicioEquipoC(request.getTimeInitTC() / 60.0);
+        parametros.setTiempoAntesFinEquipoC(request.getTimeEndTC() / 60.0);
+        parametros.setTiempoInicioResultado(request.getInitTimeView());
+        parametros.setCantidadItercaciones(request.getCantSimIterations());
+        parametros.setTamanoPagina(request.getTamanoPagina());
+        parametros.setMaxEquiposTrazados(request.getMaxEquiposTrazados() != null
+                ? request.getMaxEquiposTrazados() : Integer.MAX_VALUE);
+        parametros.setSoloEstadisticas(Boolean.TRUE.equals(request.getSoloEstadisticas()));
+        parametros.setEstadoEstacionario(Boolean.TRUE.equals(request.getEstadoEstacionario()));
+        parametros.setMaxEventos(request.getMaxEventos() != null ? request.getMaxEventos() : 0);
+        parametros.setMaxTiempoEjecucionMs(request.getMaxTiempoEjecucionMs() != null ? request.getMaxTiempoEjecucionMs() : 0);
+        parametros.setReplicaciones(request.getReplicaciones() != null ? request.getReplicaciones() : 0);
+        parametros.setNivelConfianza(request.getNivelConfianza() != null ? request.getNivelConfianza() : 0.95);
+        parametros.setDistribucionLlegadas(request.getDistribucionLlegadas());
+        parametros.setDistribucionesTrabajo(request.getDistribucionesTrabajo() != null
+                ? new ArrayList<>(request.getDistribucionesTrabajo()) : null);
+        parametros.setSemilla(request.getSemilla() != null ? request.getSemilla() : ThreadLocalRandom.current().nextLong());
+        return parametros;
+    }
+}
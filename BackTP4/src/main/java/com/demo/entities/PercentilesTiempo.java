@@ -0,0 +1,24 @@
+package com.demo.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Distribucion de un tiempo (permanencia o espera) de los equipos de un tipo de trabajo, calculada con un histograma
+ * logaritmico, por lo que los percentiles tienen un error relativo de a lo sumo 1/32.
+ * - cantidad: Equipos medidos.
+ * - promedio, maximo: Exactos.
+ * - p50, p90, p99: Percentiles 50, 90 y 99.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PercentilesTiempo {
+    private long cantidad;
+    private double promedio;
+    private double p50;
+    private double p90;
+    private double p99;
+    private double maximo;
+}
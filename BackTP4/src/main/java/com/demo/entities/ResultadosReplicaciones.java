@@ -0,0 +1,38 @@
+package com.demo.entities;
+
+import com.demo.entities.Estados.Trabajo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Resultado de correr varias replicaciones independientes del modelo.
+ * - cantidadReplicaciones: Cantidad de replicaciones que se ejecutaron, menos que las pedidas si el tiempo maximo
+ *      de ejecucion del lote se agoto antes de empezarlas todas.
+ * - nivelConfianza: Nivel de confianza de los intervalos (por ejemplo 0.95).
+ * - promedioPermanencia, porcentajeOcupacionServidor: Intervalos de confianza de cada indicador.
+ * - promedioColaComun, probabilidadBloqueo, tasaSalida: Intervalos de los indicadores de IndicadoresColas.
+ * - percentilesPermanencia, percentilesEspera: Percentiles por tipo de trabajo de los equipos de todas las
+ *      replicaciones juntas (los histogramas de cada replicacion se combinan).
+ * - replicacionesIncompletas: Cantidad de replicaciones que terminaron por un limite antes del tiempo de simulacion.
+ * - semilla: Semilla de la que se derivan los numeros aleatorios de todas las replicaciones.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadosReplicaciones {
+    private int cantidadReplicaciones;
+    private double nivelConfianza;
+    private IntervaloConfianza promedioPermanencia;
+    private IntervaloConfianza porcentajeOcupacionServidor;
+    private IntervaloConfianza promedioColaComun;
+    private IntervaloConfianza probabilidadBloqueo;
+    private IntervaloConfianza tasaSalida;
+    private Map<Trabajo, PercentilesTiempo> percentilesPermanencia;
+    private Map<Trabajo, PercentilesTiempo> percentilesEspera;
+    private int replicacionesIncompletas;
+    private long duracionMs;
+    private long semilla;
+}
@@ -1,19 +1,35 @@
 package com.demo.entities;
 
+import com.demo.entities.Estados.MotivoFin;
+import com.demo.entities.Estados.Trabajo;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ResultadosSimulacion {
+    private String idSimulacion = null;
     private Double promedioPermanencia = null;
     private Double porcentajeOcupacionServidor = null;
     private Integer cantidadFilas = null;
+    private Integer tamanoPagina = null;
+    private Integer cantidadPaginas = null;
+    private Integer cantidadEquiposFinalizados = null;
+    private Long cantidadEventos = null;
+    private MotivoFin motivoFin = null;
+    private Long semilla = null;
     private List<FilaVector> filasPaginadas = null;
+    private FilaVector ultimaFila = null;
+    private EstadisticasCorrida estadisticasCorrida = null;
+    private IndicadoresColas indicadoresColas = null;
+    private Map<Trabajo, PercentilesTiempo> percentilesPermanencia = null;
+    private Map<Trabajo, PercentilesTiempo> percentilesEspera = null;
+    private Calentamiento calentamiento = null;
 
     public void calcularPromedioPermanencia(Integer cantidadEquipos, Double tiempoPermanenciaEquipoAcum){
         this.promedioPermanencia = tiempoPermanenciaEquipoAcum / cantidadEquipos;
@@ -22,4 +38,17 @@ public class ResultadosSimulacion {
     public void calcularPorcentajeOcupacion(Double tiempoSimulacion, Double tiempoOcupacionAcum){
         this.porcentajeOcupacionServidor = (tiempoOcupacionAcum / tiempoSimulacion) * 100;
     }
+
+    /**
+     * Reemplaza el promedio de permanencia y el porcentaje de ocupacion por los calculados sin el periodo de
+     * calentamiento, si se pudieron calcular. Los demas indicadores siguen incluyendo el calentamiento.
+     */
+    public void usarEstadoEstacionario(){
+        if (!Double.isNaN(this.calentamiento.getPromedioPermanencia())) {
+            this.promedioPermanencia = this.calentamiento.getPromedioPermanencia();
+        }
+        if (!Double.isNaN(this.calentamiento.getPorcentajeOcupacionServidor())) {
+            this.porcentajeOcupacionServidor = this.calentamiento.getPorcentajeOcupacionServidor();
+        }
+    }
 }
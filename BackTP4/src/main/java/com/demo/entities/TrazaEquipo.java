@@ -0,0 +1,31 @@
+package com.demo.entities;
+
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.Trabajo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recorrido de un equipo por el sistema durante la corrida, las horas son null si el equipo no paso por ese paso.
+ * - horaInicioAtencion: Hora en la que el servidor lo empezo a atender por primera vez.
+ * - horaCambioTrabajoC, horaReanudacionTrabajoC: Horas en las que un trabajo C paso a segundo plano y en las que
+ *      hubo que retomarlo.
+ * - horaRetomaAtencion: Hora en la que el servidor retomo el trabajo C, es la de reanudacion si estaba libre o la
+ *      hora en la que lo saco de la cola C.
+ * - estado: Estado del equipo al terminar la corrida.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrazaEquipo {
+    private int id_equipo;
+    private Trabajo tipo_trabajo;
+    private Double hora_llegada;
+    private Double horaInicioAtencion;
+    private Double horaCambioTrabajoC;
+    private Double horaReanudacionTrabajoC;
+    private Double horaRetomaAtencion;
+    private Double hora_salida;
+    private EstadoEquipo estado;
+}
@@ -0,0 +1,50 @@
+package com.demo.services;
+
+/**
+ * Promedio en el tiempo de una variable de estado que cambia solo en los eventos (largo de una cola, equipos en el
+ * sistema). Se actualiza en O(1) despues de cada evento con el valor nuevo: el valor anterior se acumula por el
+ * tiempo que estuvo vigente, asi no hace falta recorrer las filas guardadas.
+ * - valor, desde: Valor vigente y hora desde la que rige.
+ * - area: Integral del valor en el tiempo hasta "desde".
+ * - maximo: Mayor valor que tomo la variable.
+ */
+public class AcumuladorTiempoPonderado {
+
+    private double valor = 0;
+    private double desde = 0;
+    private double area = 0;
+    private double maximo = 0;
+
+    /**
+     * La variable pasa a valer "valor" a la hora "hora" (no anterior a la ultima actualizacion).
+     */
+    public void actualizar(double hora, double valor) {
+        this.area += this.valor * (hora - this.desde);
+        this.desde = hora;
+        this.valor = valor;
+        if (valor > this.maximo) {
+            this.maximo = valor;
+        }
+    }
+
+    /**
+     * Promedio de la variable entre 0 y "hasta", 0 si no paso tiempo.
+     */
+    public double promedio(double hasta) {
+        if (hasta <= 0) {
+            return 0;
+        }
+        return (this.area + this.valor * (hasta - this.desde)) / hasta;
+    }
+
+    public double getMaximo() {
+        return this.maximo;
+    }
+
+    public void reiniciar() {
+        this.valor = 0;
+        this.desde = 0;
+        this.area = 0;
+        this.maximo = 0;
+    }
+}
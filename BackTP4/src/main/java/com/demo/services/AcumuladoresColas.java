@@ -0,0 +1,56 @@
+package com.demo.services;
+
+import com.demo.entities.IndicadoresColas;
+
+/**
+ * Acumuladores de IndicadoresColas que comparten los dos motores. Se actualizan despues de cada evento con el estado
+ * que queda hasta el evento siguiente.
+ */
+public class AcumuladoresColas {
+
+    private final AcumuladorTiempoPonderado colaComun = new AcumuladorTiempoPonderado();
+    private final AcumuladorTiempoPonderado colaTrabajosC = new AcumuladorTiempoPonderado();
+    private final AcumuladorTiempoPonderado trabajosCSegundoPlano = new AcumuladorTiempoPonderado();
+    private final AcumuladorTiempoPonderado equiposEnSistema = new AcumuladorTiempoPonderado();
+    private long llegadasRechazadas = 0;
+
+    public void actualizar(double reloj, int colaComun, int colaTrabajosC, int trabajosCSegundoPlano,
+                           int equiposEnSistema) {
+        this.colaComun.actualizar(reloj, colaComun);
+        this.colaTrabajosC.actualizar(reloj, colaTrabajosC);
+        this.trabajosCSegundoPlano.actualizar(reloj, trabajosCSegundoPlano);
+        this.equiposEnSistema.actualizar(reloj, equiposEnSistema);
+    }
+
+    public void rechazarLlegada() {
+        this.llegadasRechazadas++;
+    }
+
+    /**
+     * Indicadores entre 0 y "reloj".
+     * - llegadas: Llegadas que ocurrieron, incluidas las rechazadas.
+     * - equiposFinalizados: Equipos que salieron del sistema.
+     */
+    public IndicadoresColas indicadores(double reloj, long llegadas, int equiposFinalizados) {
+        return new IndicadoresColas(
+                this.colaComun.promedio(reloj),
+                (int) this.colaComun.getMaximo(),
+                this.colaTrabajosC.promedio(reloj),
+                (int) this.colaTrabajosC.getMaximo(),
+                this.trabajosCSegundoPlano.promedio(reloj),
+                this.equiposEnSistema.promedio(reloj),
+                (int) this.equiposEnSistema.getMaximo(),
+                llegadas,
+                this.llegadasRechazadas,
+                llegadas > 0 ? (double) this.llegadasRechazadas / llegadas : 0,
+                reloj > 0 ? equiposFinalizados / reloj : 0);
+    }
+
+    public void reiniciar() {
+        this.colaComun.reiniciar();
+        this.colaTrabajosC.reiniciar();
+        this.trabajosCSegundoPlano.reiniciar();
+        this.equiposEnSistema.reiniciar();
+        this.llegadasRechazadas = 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilaVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guarda las filas del vector de estados de una corrida. La simulacion agrega cada fila retenida y las filas se
+ * vuelven a armar como FilaVector solo cuando se piden (por ejemplo al paginar), asi la forma en que se guardan
+ * no depende de las clases que se devuelven.
+ */
+public interface AlmacenFilas {
+
+    /**
+     * Se llama al empezar cada corrida, despues de clear y antes de la primera fila. Un almacen que necesita el
+     * estado de la simulacion para guardar las filas (ver AlmacenFilasBitacora) se guarda la referencia.
+     */
+    default void iniciar(SimulacionPractica simulacion) {
+    }
+
+    /**
+     * Agrega una fila al final.
+     * - fila: Fila ya calculada, el almacen copia sus valores y no guarda la referencia.
+     * - tipoEvento: Evento de la fila (Inicio para la primera).
+     * - idEquipo: Equipo del evento, null si el evento no tiene equipo (una llegada rechazada o el inicio).
+     * - equipos: Equipos en el sistema en esa fila.
+     */
+    void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos);
+
+    int size();
+
+    FilaVector fila(int indice);
+
+    /**
+     * Filas desde "desde" (incluida) hasta "hasta" (excluida), armadas en una lista nueva.
+     */
+    List<FilaVector> filas(int desde, int hasta);
+
+    /**
+     * Filas de "indices", en el mismo orden. Los indices tienen que estar en orden creciente y sin repetir; por
+     * defecto los indices consecutivos se piden juntos con filas(desde, hasta).
+     */
+    default List<FilaVector> filas(int[] indices) {
+        List<FilaVector> filas = new ArrayList<>(indices.length);
+        int inicioTramo = 0;
+        for (int i = 1; i <= indices.length; i++) {
+            if (i == indices.length || indices[i] != indices[i - 1] + 1) {
+                filas.addAll(filas(indices[inicioTramo], indices[i - 1] + 1));
+                inicioTramo = i;
+            }
+        }
+        return filas;
+    }
+
+    /**
+     * Reloj de la fila "indice", sin armar la fila (ver IndiceFilas).
+     */
+    double reloj(int indice);
+
+    /**
+     * Libera el espacio reservado y sin usar, se llama cuando la corrida termino de agregar filas.
+     */
+    void compactar();
+
+    void clear();
+
+    /**
+     * Libera lo que el recolector de basura no libera solo (por ejemplo los archivos de filas), se llama cuando ya
+     * nadie va a leer el almacen. Las filas en el heap se liberan al descartar el almacen.
+     */
+    default void cerrar() {
+    }
+
+    /**
+     * Estimacion de los bytes de heap que ocupan las filas guardadas.
+     */
+    long bytesEnMemoria();
+}
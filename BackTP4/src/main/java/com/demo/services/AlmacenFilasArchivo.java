@@ -0,0 +1,336 @@
+package com.demo.services;
+
+import com.demo.entities.*;
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.EstadoServidor;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.Trabajo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Almacen de filas en disco: cada fila se escribe con un formato binario fijo en un archivo mapeado en memoria
+ * (FileChannel.map) y las paginas se leen directamente del mapeo, sin pasar las filas al heap. El heap solo guarda
+ * las referencias a los segmentos mapeados, por lo que el tamano de la corrida queda limitado por el disco.
+ *
+ * Se usan dos archivos en el directorio indicado:
+ * - Datos: las filas una detras de otra. El archivo se mapea en segmentos de TAMANO_SEGMENTO bytes y una fila
+ *      nunca queda partida entre dos segmentos (si no entra se escribe al principio del siguiente).
+ * - Indice: la posicion de cada fila en el archivo de datos, un long por fila.
+ *
+ * Formato de una fila (los Double null se escriben como NaN y los enums null como -1):
+ *      evento (byte), idEquipo del evento (int, -1 sin equipo), reloj (double),
+ *      llegada: rndLlegada, tiempoEntreLlegada, horaProximaLlegada, rndTipoTrabajo (double), trabajo (byte),
+ *      colas: colaComun, colaTrabajoC, trabajoCSegundoPlano, lugaresLibres (int),
+ *      contadorEquipo (int), promedioPermanencia, promedioOcupacion (double),
+ *      fin de trabajo: rndFinTrabajo, mediaTiempoAtencion, tiempoAtencion, horaFinTrabajo (double),
+ *      servidor: estado (byte), tiempoOcupacionAcum, tiempoPermanenciaEquipoAcum (double),
+ *      cantidad de equipos (short) y por cada equipo:
+ *          id (int), estado (byte), tipo de trabajo (byte), hora_llegada, horaCambioTrabajoC,
+ *          horaReanudacionTrabajoC, horaFinAtencionEstimada, hora_salida (double).
+ *
+ * Las lecturas usan solo accesos absolutos a los buffers, por lo que varias paginas se pueden leer a la vez.
+ */
+public class AlmacenFilasArchivo implements AlmacenFilas {
+
+    static final int TAMANO_SEGMENTO = 1 << 26;
+    private static final int FILAS_POR_SEGMENTO_INDICE = 1 << 20;
+    private static final byte NULO = -1;
+
+    private static final int BYTES_CABECERA = 1 + 4 + 8 + (4 * 8 + 1) + 4 * 4 + 4 + 8 + 8 + 4 * 8 + (1 + 2 * 8) + 2;
+    private static final int BYTES_EQUIPO = 4 + 1 + 1 + 5 * 8;
+
+    private static final Eventos[] EVENTOS = Eventos.values();
+    private static final Trabajo[] TRABAJOS = Trabajo.values();
+    private static final EstadoServidor[] ESTADOS_SERVIDOR = EstadoServidor.values();
+    private static final EstadoEquipo[] ESTADOS_EQUIPO = EstadoEquipo.values();
+
+    private final Path directorio;
+    private Path archivoDatos;
+    private Path archivoIndice;
+    private FileChannel canalDatos;
+    private FileChannel canalIndice;
+    private List<MappedByteBuffer> segmentosDatos = new ArrayList<>();
+    private List<MappedByteBuffer> segmentosIndice = new ArrayList<>();
+
+    private volatile int cantidadFilas = 0;
+    private long posicionEscritura = 0;
+
+    public AlmacenFilasArchivo(Path directorio) {
+        this.directorio = directorio;
+        abrirArchivos();
+    }
+
+    @Override
+    public void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+        int tamano = BYTES_CABECERA + equipos.size() * BYTES_EQUIPO;
+        if (tamano > TAMANO_SEGMENTO || equipos.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("La fila con " + equipos.size() + " equipos no entra en un segmento");
+        }
+        long inicio = this.posicionEscritura;
+        if (inicio % TAMANO_SEGMENTO + tamano > TAMANO_SEGMENTO) {
+            inicio = (inicio / TAMANO_SEGMENTO + 1) * TAMANO_SEGMENTO;
+        }
+        MappedByteBuffer segmento = segmento(this.segmentosDatos, this.canalDatos, (int) (inicio / TAMANO_SEGMENTO),
+                TAMANO_SEGMENTO);
+        int p = (int) (inicio % TAMANO_SEGMENTO);
+
+        segmento.put(p, (byte) tipoEvento.ordinal());
+        segmento.putInt(p + 1, idEquipo != null ? idEquipo : -1);
+        segmento.putDouble(p + 5, fila.getReloj());
+        p += 13;
+
+        Llegada llegada = fila.getLlegada();
+        p = escribir(segmento, p, llegada.getRndLlegada());
+        p = escribir(segmento, p, llegada.getTiempoEntreLlegada());
+        p = escribir(segmento, p, llegada.getHoraProximaLlegada());
+        p = escribir(segmento, p, llegada.getRndTipoTrabajo());
+        segmento.put(p++, aByte(llegada.getTrabajo()));
+
+        ColaVector colas = fila.getColaVector();
+        segmento.putInt(p, colas.getColaComun());
+        segmento.putInt(p + 4, colas.getColaTrabajoC());
+        segmento.putInt(p + 8, colas.getTrabajoCSegundoPlano());
+        segmento.putInt(p + 12, colas.getLugaresLibres());
+        segmento.putInt(p + 16, fila.getContadorEquipo());
+        segmento.putDouble(p + 20, fila.getPromedioPermanencia());
+        segmento.putDouble(p + 28, fila.getPromedioOcupacion());
+        p += 36;
+
+        FinTrabajo finTrabajo = fila.getFinTrabajo();
+        p = escribir(segmento, p, finTrabajo.getRndFinTrabajo());
+        p = escribir(segmento, p, finTrabajo.getMediaTiempoAtencion());
+        p = escribir(segmento, p, finTrabajo.getTiempoAtencion());
+        p = escribir(segmento, p, finTrabajo.getHoraFinTrabajo());
+
+        Servidor servidor = fila.getServidor();
+        segmento.put(p, aByte(servidor.getEstado()));
+        segmento.putDouble(p + 1, servidor.getTiempoOcupacionAcum());
+        segmento.putDouble(p + 9, servidor.getTiempoPermanenciaEquipoAcum());
+        segmento.putShort(p + 17, (short) equipos.size());
+        p += 19;
+
+        for (Equipo equipo : equipos) {
+            segmento.putInt(p, equipo.getId_equipo());
+            segmento.put(p + 4, aByte(equipo.getEquipo_estado()));
+            segmento.put(p + 5, aByte(equipo.getTipo_trabajo()));
+            p += 6;
+            p = escribir(segmento, p, equipo.getHora_llegada());
+            p = escribir(segmento, p, equipo.getHoraCambioTrabajoC());
+            p = escribir(segmento, p, equipo.getHoraReanudacionTrabajoC());
+            p = escribir(segmento, p, equipo.getHoraFinAtencionEstimada());
+            p = escribir(segmento, p, equipo.getHora_salida());
+        }
+
+        int i = this.cantidadFilas;
+        segmento(this.segmentosIndice, this.canalIndice, i / FILAS_POR_SEGMENTO_INDICE, FILAS_POR_SEGMENTO_INDICE * 8)
+                .putLong((i % FILAS_POR_SEGMENTO_INDICE) * 8, inicio);
+        this.posicionEscritura = inicio + tamano;
+        this.cantidadFilas = i + 1;
+    }
+
+    @Override
+    public int size() {
+        return this.cantidadFilas;
+    }
+
+    @Override
+    public FilaVector fila(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return leerFila(this.segmentosDatos, this.segmentosIndice, indice);
+    }
+
+    @Override
+    public List<FilaVector> filas(int desde, int hasta) {
+        if (desde < 0 || hasta > this.cantidadFilas || desde > hasta) {
+            throw new IndexOutOfBoundsException("Filas " + desde + " a " + hasta + " de " + this.cantidadFilas);
+        }
+        List<MappedByteBuffer> datos = this.segmentosDatos;
+        List<MappedByteBuffer> indice = this.segmentosIndice;
+        List<FilaVector> filas = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            filas.add(leerFila(datos, indice, i));
+        }
+        return filas;
+    }
+
+    @Override
+    public double reloj(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        long inicio = this.segmentosIndice.get(indice / FILAS_POR_SEGMENTO_INDICE)
+                .getLong((indice % FILAS_POR_SEGMENTO_INDICE) * 8);
+        MappedByteBuffer segmento = this.segmentosDatos.get((int) (inicio / TAMANO_SEGMENTO));
+        return segmento.getDouble((int) (inicio % TAMANO_SEGMENTO) + 5);
+    }
+
+    /**
+     * Los segmentos quedan mapeados para las lecturas, solo se cierran los canales.
+     */
+    @Override
+    public void compactar() {
+        cerrarCanales();
+    }
+
+    /**
+     * Descarta las filas y borra los archivos sin crear otros, despues de cerrar el almacen no se puede volver a usar.
+     */
+    @Override
+    public void cerrar() {
+        borrarArchivos();
+    }
+
+    /**
+     * Descarta las filas, borra los archivos y abre otros vacios para seguir agregando filas. Los segmentos se liberan
+     * cuando el recolector de basura descarta los buffers, una pagina que se estaba leyendo con los buffers anteriores
+     * termina de leerse igual.
+     */
+    @Override
+    public void clear() {
+        borrarArchivos();
+        abrirArchivos();
+    }
+
+    /**
+     * El heap solo guarda las listas de segmentos, los datos estan en el mapeo.
+     */
+    @Override
+    public long bytesEnMemoria() {
+        return 16L * (this.segmentosDatos.size() + this.segmentosIndice.size());
+    }
+
+    public Path getArchivoDatos() {
+        return this.archivoDatos;
+    }
+
+    private FilaVector leerFila(List<MappedByteBuffer> datos, List<MappedByteBuffer> indice, int i) {
+        long inicio = indice.get(i / FILAS_POR_SEGMENTO_INDICE).getLong((i % FILAS_POR_SEGMENTO_INDICE) * 8);
+        MappedByteBuffer segmento = datos.get((int) (inicio / TAMANO_SEGMENTO));
+        int p = (int) (inicio % TAMANO_SEGMENTO);
+
+        Eventos evento = EVENTOS[segmento.get(p)];
+        int idEquipoEvento = segmento.getInt(p + 1);
+        String descripcionEvento = evento == Eventos.Inicio
+                ? evento.toString()
+                : evento + " E" + (idEquipoEvento >= 0 ? idEquipoEvento : null);
+        double reloj = segmento.getDouble(p + 5);
+        p += 13;
+
+        Llegada llegada = new Llegada(leer(segmento, p), leer(segmento, p + 8), leer(segmento, p + 16),
+                leer(segmento, p + 24), enumeracion(TRABAJOS, segmento.get(p + 32)));
+        p += 33;
+
+        ColaVector colas = new ColaVector(segmento.getInt(p), segmento.getInt(p + 4), segmento.getInt(p + 8),
+                segmento.getInt(p + 12));
+        int contadorEquipo = segmento.getInt(p + 16);
+        double promedioPermanencia = segmento.getDouble(p + 20);
+        double promedioOcupacion = segmento.getDouble(p + 28);
+        p += 36;
+
+        FinTrabajo finTrabajo = new FinTrabajo(leer(segmento, p), leer(segmento, p + 8), leer(segmento, p + 16),
+                leer(segmento, p + 24));
+        p += 32;
+
+        Servidor servidor = new Servidor(enumeracion(ESTADOS_SERVIDOR, segmento.get(p)), segmento.getDouble(p + 1),
+                segmento.getDouble(p + 9));
+        int cantidadEquipos = segmento.getShort(p + 17);
+        p += 19;
+
+        ArrayList<Equipo> equipos = new ArrayList<>(cantidadEquipos);
+        for (int e = 0; e < cantidadEquipos; e++) {
+            Equipo equipo = new Equipo();
+            equipo.setId_equipo(segmento.getInt(p));
+            equipo.setEquipo_estado(enumeracion(ESTADOS_EQUIPO, segmento.get(p + 4)));
+            equipo.setTipo_trabajo(enumeracion(TRABAJOS, segmento.get(p + 5)));
+            equipo.setHora_llegada(leer(segmento, p + 6));
+            equipo.setHoraCambioTrabajoC(leer(segmento, p + 14));
+            equipo.setHoraReanudacionTrabajoC(leer(segmento, p + 22));
+            equipo.setHoraFinAtencionEstimada(leer(segmento, p + 30));
+            equipo.setHora_salida(leer(segmento, p + 38));
+            equipos.add(equipo);
+            p += BYTES_EQUIPO;
+        }
+
+        return new FilaVector(descripcionEvento, reloj, llegada, colas, contadorEquipo, promedioPermanencia,
+                promedioOcupacion, finTrabajo, servidor, equipos);
+    }
+
+    private MappedByteBuffer segmento(List<MappedByteBuffer> segmentos, FileChannel canal, int numero, int tamano) {
+        while (segmentos.size() <= numero) {
+            try {
+                segmentos.add(canal.map(FileChannel.MapMode.READ_WRITE, (long) segmentos.size() * tamano, tamano));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo mapear el archivo de filas", e);
+            }
+        }
+        return segmentos.get(numero);
+    }
+
+    private void abrirArchivos() {
+        try {
+            Files.createDirectories(this.directorio);
+            this.archivoDatos = Files.createTempFile(this.directorio, "filas-", ".dat");
+            this.archivoIndice = Files.createTempFile(this.directorio, "filas-", ".idx");
+            this.canalDatos = FileChannel.open(this.archivoDatos, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.canalIndice = FileChannel.open(this.archivoIndice, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el almacen de filas en " + this.directorio, e);
+        }
+    }
+
+    private void borrarArchivos() {
+        this.cantidadFilas = 0;
+        this.posicionEscritura = 0;
+        this.segmentosDatos = new ArrayList<>();
+        this.segmentosIndice = new ArrayList<>();
+        cerrarCanales();
+        try {
+            Files.deleteIfExists(this.archivoDatos);
+            Files.deleteIfExists(this.archivoIndice);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron borrar los archivos de " + this.archivoDatos, e);
+        }
+    }
+
+    private void cerrarCanales() {
+        try {
+            if (this.canalDatos != null) {
+                this.canalDatos.close();
+            }
+            if (this.canalIndice != null) {
+                this.canalIndice.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron cerrar los archivos de filas", e);
+        }
+    }
+
+    private static int escribir(MappedByteBuffer segmento, int posicion, Double valor) {
+        segmento.putDouble(posicion, valor != null ? valor : Double.NaN);
+        return posicion + 8;
+    }
+
+    private static Double leer(MappedByteBuffer segmento, int posicion) {
+        double valor = segmento.getDouble(posicion);
+        return Double.isNaN(valor) ? null : valor;
+    }
+
+    private static byte aByte(Enum<?> valor) {
+        return valor != null ? (byte) valor.ordinal() : NULO;
+    }
+
+    private static <E> E enumeracion(E[] valores, byte ordinal) {
+        return ordinal != NULO ? valores[ordinal] : null;
+    }
+}
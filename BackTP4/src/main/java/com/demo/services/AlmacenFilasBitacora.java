@@ -0,0 +1,273 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilaVector;
+import com.demo.entities.FinTrabajo;
+import com.demo.entities.Llegada;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Almacen de filas que no guarda las filas sino una bitacora de los eventos y, cada "intervaloPuntosControl" filas,
+ * un punto de control con el estado de la simulacion (ver PuntoControl). Las filas se vuelven a
+ * calcular al pedirlas, simulando desde el punto de control anterior con los mismos numeros aleatorios.
+ *
+ * Por cada fila la bitacora guarda el evento, el equipo, el reloj y los numeros aleatorios que uso el evento (tiempo
+ * entre llegadas, tipo de trabajo y tiempo de atencion). Los numeros aleatorios del modelo se redondean a dos
+ * decimales, asi que cada uno se guarda como su cantidad de centesimos en un byte (-1 si el evento no lo sorteo).
+ * El evento, el equipo y el reloj sirven para verificar que la fila calculada de nuevo es la misma.
+ *
+ * Ademas del intervalo se toma un punto de control en cada fila que no es del evento siguiente al de la fila
+ * anterior (la primera fila y la fila final cuando la corrida siguio despues de las filas pedidas).
+ */
+public class AlmacenFilasBitacora implements AlmacenFilas {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final byte NULO = -1;
+    private static final Eventos[] EVENTOS = Eventos.values();
+
+    private final int intervaloPuntosControl;
+    private SimulacionPractica simulacion;
+
+    /**
+     * BITACORA, una entrada por fila
+     */
+    private int cantidadFilas = 0;
+    private byte[] tipoEvento = new byte[CAPACIDAD_INICIAL];
+    private int[] idEquipoEvento = new int[CAPACIDAD_INICIAL];
+    private double[] reloj = new double[CAPACIDAD_INICIAL];
+    private byte[] rndLlegada = new byte[CAPACIDAD_INICIAL];
+    private byte[] rndTipoTrabajo = new byte[CAPACIDAD_INICIAL];
+    private byte[] rndTiempoAtencion = new byte[CAPACIDAD_INICIAL];
+    private long ultimoNumeroEvento = -1;
+
+    /**
+     * PUNTOS DE CONTROL
+     * - filaPuntoControl: Fila de cada punto de control, en orden creciente.
+     */
+    private final ArrayList<PuntoControl> puntosControl = new ArrayList<>();
+    private int[] filaPuntoControl = new int[CAPACIDAD_INICIAL];
+
+    public AlmacenFilasBitacora(int intervaloPuntosControl) {
+        if (intervaloPuntosControl < 1) {
+            throw new IllegalArgumentException("El intervalo de puntos de control tiene que ser al menos 1");
+        }
+        this.intervaloPuntosControl = intervaloPuntosControl;
+    }
+
+    @Override
+    public void iniciar(SimulacionPractica simulacion) {
+        this.simulacion = simulacion;
+    }
+
+    @Override
+    public void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+        if (this.simulacion == null) {
+            throw new IllegalStateException("La bitacora necesita la simulacion, falta llamar a iniciar");
+        }
+        if (this.cantidadFilas == this.reloj.length) {
+            crecerFilas(this.cantidadFilas * 2);
+        }
+        int i = this.cantidadFilas;
+        this.tipoEvento[i] = (byte) tipoEvento.ordinal();
+        this.idEquipoEvento[i] = idEquipo != null ? idEquipo : -1;
+        this.reloj[i] = fila.getReloj();
+        Llegada llegada = fila.getLlegada();
+        FinTrabajo finTrabajo = fila.getFinTrabajo();
+        this.rndLlegada[i] = aCentesimos(llegada.getRndLlegada());
+        this.rndTipoTrabajo[i] = aCentesimos(llegada.getRndTipoTrabajo());
+        this.rndTiempoAtencion[i] = aCentesimos(finTrabajo.getRndFinTrabajo());
+
+        long numeroEvento = this.simulacion.getNumeroEventoFilaActual();
+        int cantidadPuntos = this.puntosControl.size();
+        boolean consecutiva = i > 0 && numeroEvento == this.ultimoNumeroEvento + 1;
+        if (!consecutiva || i - this.filaPuntoControl[cantidadPuntos - 1] >= this.intervaloPuntosControl) {
+            if (cantidadPuntos == this.filaPuntoControl.length) {
+                this.filaPuntoControl = Arrays.copyOf(this.filaPuntoControl, cantidadPuntos * 2);
+            }
+            this.filaPuntoControl[cantidadPuntos] = i;
+            this.puntosControl.add(this.simulacion.puntoControl());
+        }
+        this.ultimoNumeroEvento = numeroEvento;
+        this.cantidadFilas++;
+    }
+
+    @Override
+    public int size() {
+        return this.cantidadFilas;
+    }
+
+    @Override
+    public FilaVector fila(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return filas(indice, indice + 1).get(0);
+    }
+
+    @Override
+    public List<FilaVector> filas(int desde, int hasta) {
+        if (desde < 0 || hasta > this.cantidadFilas || desde > hasta) {
+            throw new IndexOutOfBoundsException("Filas " + desde + " a " + hasta + " de " + this.cantidadFilas);
+        }
+        return filas(IntStream.range(desde, hasta).toArray());
+    }
+
+    /**
+     * Simula desde el ultimo punto de control anterior a cada indice. Los indices que caen despues del mismo punto
+     * de control se calculan en una sola pasada, asi cada punto de control se repite una vez por pedido aunque los
+     * indices no sean consecutivos. Cada pedido usa su propia copia del estado, por lo que se pueden pedir varias
+     * paginas a la vez.
+     */
+    @Override
+    public List<FilaVector> filas(int[] indices) {
+        List<FilaVector> filas = new ArrayList<>(indices.length);
+        SorteosBitacora sorteos = new SorteosBitacora();
+        SimulacionPractica repetidora = null;
+        int punto = -1;
+        int i = -1;
+        FilaVector fila = null;
+        for (int indice : indices) {
+            if (indice < 0 || indice >= this.cantidadFilas) {
+                throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+            }
+            if (indice <= i) {
+                throw new IllegalArgumentException("Los indices tienen que estar en orden creciente y sin repetir");
+            }
+            int puntoIndice = puntoControlHasta(indice);
+            if (puntoIndice != punto) {
+                punto = puntoIndice;
+                i = this.filaPuntoControl[punto];
+                fila = copiar(this.puntosControl.get(punto).getFila());
+                repetidora = null;
+            }
+            while (i < indice) {
+                i++;
+                if (repetidora == null) {
+                    repetidora = this.simulacion.repetidora(this.puntosControl.get(punto), sorteos);
+                }
+                sorteos.cargar(i);
+                fila = repetidora.repetirProximoEvento();
+                verificar(i, fila);
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    @Override
+    public double reloj(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return this.reloj[indice];
+    }
+
+    @Override
+    public void compactar() {
+        crecerFilas(this.cantidadFilas);
+        this.filaPuntoControl = Arrays.copyOf(this.filaPuntoControl, this.puntosControl.size());
+        this.puntosControl.trimToSize();
+    }
+
+    @Override
+    public void clear() {
+        this.cantidadFilas = 0;
+        this.ultimoNumeroEvento = -1;
+        this.puntosControl.clear();
+    }
+
+    /**
+     * La bitacora ocupa 16 bytes por fila, los puntos de control se estiman por sus equipos y eventos pendientes.
+     */
+    @Override
+    public long bytesEnMemoria() {
+        long bytes = this.tipoEvento.length + this.rndLlegada.length + this.rndTipoTrabajo.length
+                + this.rndTiempoAtencion.length + 4L * this.idEquipoEvento.length + 8L * this.reloj.length
+                + 4L * this.filaPuntoControl.length;
+        for (PuntoControl puntoControl : this.puntosControl) {
+            bytes += 400 + 300L * puntoControl.cantidadEquipos() + 48L * puntoControl.cantidadEventosPendientes();
+        }
+        return bytes;
+    }
+
+    public int cantidadPuntosControl() {
+        return this.puntosControl.size();
+    }
+
+    /**
+     * Indice del ultimo punto de control en una fila menor o igual a "fila".
+     */
+    private int puntoControlHasta(int fila) {
+        int indice = Arrays.binarySearch(this.filaPuntoControl, 0, this.puntosControl.size(), fila);
+        return indice >= 0 ? indice : -indice - 2;
+    }
+
+    private void verificar(int i, FilaVector fila) {
+        Eventos evento = EVENTOS[this.tipoEvento[i]];
+        String descripcionEvento = evento + " E" + (this.idEquipoEvento[i] >= 0 ? this.idEquipoEvento[i] : null);
+        if (Double.compare(fila.getReloj(), this.reloj[i]) != 0 || !descripcionEvento.equals(fila.getEvento())) {
+            throw new IllegalStateException("La fila " + i + " calculada de nuevo (" + fila.getEvento() + ", reloj "
+                    + fila.getReloj() + ") no coincide con la bitacora (" + descripcionEvento + ", reloj "
+                    + this.reloj[i] + ")");
+        }
+    }
+
+    private void crecerFilas(int capacidad) {
+        capacidad = Math.max(CAPACIDAD_INICIAL, capacidad);
+        this.tipoEvento = Arrays.copyOf(this.tipoEvento, capacidad);
+        this.idEquipoEvento = Arrays.copyOf(this.idEquipoEvento, capacidad);
+        this.reloj = Arrays.copyOf(this.reloj, capacidad);
+        this.rndLlegada = Arrays.copyOf(this.rndLlegada, capacidad);
+        this.rndTipoTrabajo = Arrays.copyOf(this.rndTipoTrabajo, capacidad);
+        this.rndTiempoAtencion = Arrays.copyOf(this.rndTiempoAtencion, capacidad);
+    }
+
+    private static FilaVector copiar(FilaVector fila) {
+        return new FilaVector(fila.getEvento(), fila.getReloj(), fila.getLlegada(), fila.getColaVector(),
+                fila.getContadorEquipo(), fila.getPromedioPermanencia(), fila.getPromedioOcupacion(),
+                fila.getFinTrabajo(), fila.getServidor(), new ArrayList<>(fila.getEquipos()));
+    }
+
+    private static byte aCentesimos(Double rnd) {
+        return rnd != null ? (byte) Math.round(rnd * 100.0) : NULO;
+    }
+
+    /**
+     * Numeros aleatorios de una fila de la bitacora. Se devuelven como los deja el modelo
+     * al redondear (centesimos / 100.0), por lo que el evento calculado de nuevo usa exactamente los mismos valores.
+     */
+    private final class SorteosBitacora implements NumerosAleatorios {
+        private int fila;
+
+        void cargar(int fila) {
+            this.fila = fila;
+        }
+
+        @Override
+        public double rndLlegada() {
+            return sorteo(rndLlegada[this.fila], "tiempo entre llegadas");
+        }
+
+        @Override
+        public double rndTipoTrabajo() {
+            return sorteo(rndTipoTrabajo[this.fila], "tipo de trabajo");
+        }
+
+        @Override
+        public double rndTiempoAtencion() {
+            return sorteo(rndTiempoAtencion[this.fila], "tiempo de atencion");
+        }
+
+        private double sorteo(byte centesimos, String uso) {
+            if (centesimos == NULO) {
+                throw new IllegalStateException("La fila " + this.fila + " no tiene numero aleatorio de " + uso);
+            }
+            return centesimos / 100.0;
+        }
+    }
+}
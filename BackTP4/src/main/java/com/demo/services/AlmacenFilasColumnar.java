@@ -0,0 +1,621 @@
+package com.demo.services;
+
+import com.demo.entities.*;
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.EstadoServidor;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.Trabajo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacen de filas por columnas: cada campo de la fila es un array primitivo indexado por numero de fila, en lugar
+ * de guardar un FilaVector con sus objetos anidados y sus Double. Los campos que pueden ser null se guardan como NaN
+ * (los numeros) o -1 (los enums).
+ *
+ * Varios campos solo cambian en algunos eventos (los datos de la llegada, del fin de trabajo, la permanencia y el
+ * contador de equipos), esos se guardan en grupos "escasos": un bit por fila indica si la fila tiene valores propios
+ * y los valores se guardan solo para esas filas; el resto de las filas repite los valores de la ultima fila marcada.
+ *
+ * Los equipos se guardan en tres partes:
+ * - Equipos: los datos de cada equipo una sola vez (id, tipo de trabajo y cada hora la primera vez que aparece).
+ * - Versiones: cada vez que un equipo cambia se agrega una version con su estado y que horas estan cargadas. Una
+ *      hora cargada con un valor distinto al guardado en el equipo va a "excepciones".
+ * - Filas: las versiones de los equipos de cada fila van seguidas en "versionesFilas", en el orden de la tabla
+ *      de equipos, y cada fila guarda donde terminan las suyas (empiezan donde terminan las de la fila anterior).
+ *      Armar una fila solo lee sus propias versiones, sin importar cuantas versiones se crearon entre medio.
+ */
+public class AlmacenFilasColumnar implements AlmacenFilas {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final byte NULO = -1;
+    // Entrada de un HashMap con la clave y el valor en objetos, aproximada
+    private static final int BYTES_ENTRADA_MAPA = 64;
+
+    private static final Eventos[] EVENTOS = Eventos.values();
+    private static final Trabajo[] TRABAJOS = Trabajo.values();
+    private static final EstadoServidor[] ESTADOS_SERVIDOR = EstadoServidor.values();
+    private static final EstadoEquipo[] ESTADOS_EQUIPO = EstadoEquipo.values();
+
+    // Campos de las versiones de los equipos, en el orden de los bits de la mascara
+    private static final int HORA_LLEGADA = 0;
+    private static final int HORA_CAMBIO = 1;
+    private static final int HORA_REANUDACION = 2;
+    private static final int HORA_FIN_ESTIMADA = 3;
+    private static final int HORA_SALIDA = 4;
+    private static final int TIPO_TRABAJO = 5;
+    private static final int CAMPOS_EQUIPO = 6;
+
+    /**
+     * COLUMNAS DE TODAS LAS FILAS
+     * - colas: Los cuatro contadores de ColaVector, uno por byte con signo. Si alguno no entra en un byte la fila
+     *      guarda sus contadores en "colasFueraDeRango".
+     */
+    private int cantidadFilas = 0;
+    private byte[] tipoEvento = new byte[CAPACIDAD_INICIAL];
+    private int[] idEquipoEvento = new int[CAPACIDAD_INICIAL];
+    private double[] reloj = new double[CAPACIDAD_INICIAL];
+    private int[] colas = new int[CAPACIDAD_INICIAL];
+    private double[] promedioOcupacion = new double[CAPACIDAD_INICIAL];
+    private byte[] estadoServidor = new byte[CAPACIDAD_INICIAL];
+    private double[] tiempoOcupacionAcum = new double[CAPACIDAD_INICIAL];
+    private int[] finVersionesFila = new int[CAPACIDAD_INICIAL];
+    private final Map<Integer, ColaVector> colasFueraDeRango = new HashMap<>();
+
+    /**
+     * GRUPO ESCASO DE LA LLEGADA
+     */
+    private final Escasa llegadas = new Escasa();
+    private double[] rndLlegada = new double[CAPACIDAD_INICIAL];
+    private double[] tiempoEntreLlegada = new double[CAPACIDAD_INICIAL];
+    private double[] horaProximaLlegada = new double[CAPACIDAD_INICIAL];
+    private double[] rndTipoTrabajo = new double[CAPACIDAD_INICIAL];
+    private byte[] trabajo = new byte[CAPACIDAD_INICIAL];
+
+    /**
+     * GRUPO ESCASO DEL FIN DE TRABAJO
+     */
+    private final Escasa finesTrabajo = new Escasa();
+    private double[] rndFinTrabajo = new double[CAPACIDAD_INICIAL];
+    private double[] mediaTiempoAtencion = new double[CAPACIDAD_INICIAL];
+    private double[] tiempoAtencion = new double[CAPACIDAD_INICIAL];
+    private double[] horaFinTrabajo = new double[CAPACIDAD_INICIAL];
+
+    /**
+     * GRUPO ESCASO DE LA PERMANENCIA
+     */
+    private final Escasa permanencias = new Escasa();
+    private double[] promedioPermanencia = new double[CAPACIDAD_INICIAL];
+    private double[] tiempoPermanenciaEquipoAcum = new double[CAPACIDAD_INICIAL];
+
+    /**
+     * GRUPO ESCASO DEL CONTADOR DE EQUIPOS
+     */
+    private final Escasa contadores = new Escasa();
+    private int[] contadorEquipo = new int[CAPACIDAD_INICIAL];
+
+    /**
+     * EQUIPOS
+     * - valoresEquipo: CAMPOS_EQUIPO valores por equipo, NaN hasta que el campo aparece cargado en una version.
+     * - indiceEquipoPorId: Indice en la tabla de equipos de los equipos de la ultima fila guardada.
+     */
+    private int cantidadEquipos = 0;
+    private int[] idEquipo = new int[CAPACIDAD_INICIAL];
+    private double[] valoresEquipo = new double[CAPACIDAD_INICIAL * CAMPOS_EQUIPO];
+    private final Map<Integer, Integer> indiceEquipoPorId = new HashMap<>();
+
+    /**
+     * VERSIONES DE LOS EQUIPOS
+     */
+    private int cantidadVersiones = 0;
+    private int[] equipoVersion = new int[CAPACIDAD_INICIAL];
+    private byte[] estadoVersion = new byte[CAPACIDAD_INICIAL];
+    private byte[] mascaraVersion = new byte[CAPACIDAD_INICIAL];
+    private final Map<Long, Double> excepciones = new HashMap<>();
+
+    /**
+     * VERSIONES DE CADA FILA
+     * - versionesFilas: Versiones de los equipos de todas las filas, una fila detras de otra (ver finVersionesFila).
+     */
+    private int cantidadVersionesFilas = 0;
+    private int[] versionesFilas = new int[CAPACIDAD_INICIAL];
+
+    @Override
+    public void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+        if (this.cantidadFilas == this.reloj.length) {
+            crecerFilas(Math.max(CAPACIDAD_INICIAL, this.reloj.length * 2));
+        }
+        int i = this.cantidadFilas;
+        this.tipoEvento[i] = (byte) tipoEvento.ordinal();
+        this.idEquipoEvento[i] = idEquipo != null ? idEquipo : -1;
+        this.reloj[i] = fila.getReloj();
+        this.colas[i] = empaquetarColas(i, fila.getColaVector());
+        this.promedioOcupacion[i] = fila.getPromedioOcupacion();
+        this.estadoServidor[i] = aByte(fila.getServidor().getEstado());
+        this.tiempoOcupacionAcum[i] = fila.getServidor().getTiempoOcupacionAcum();
+
+        agregarLlegada(i, fila.getLlegada());
+        agregarFinTrabajo(i, fila.getFinTrabajo());
+        agregarPermanencia(i, fila.getPromedioPermanencia(), fila.getServidor().getTiempoPermanenciaEquipoAcum());
+        agregarContador(i, fila.getContadorEquipo());
+        agregarEquipos(i, equipos);
+
+        this.cantidadFilas++;
+    }
+
+    @Override
+    public int size() {
+        return this.cantidadFilas;
+    }
+
+    @Override
+    public FilaVector fila(int indice) {
+        return armarFila(indice, new HashMap<>());
+    }
+
+    @Override
+    public List<FilaVector> filas(int desde, int hasta) {
+        if (desde < 0 || hasta > this.cantidadFilas || desde > hasta) {
+            throw new IndexOutOfBoundsException("Filas " + desde + " a " + hasta + " de " + this.cantidadFilas);
+        }
+        // Dentro de una pagina las filas comparten los equipos que no cambiaron, como en el vector original
+        Map<Integer, Equipo> equiposArmados = new HashMap<>();
+        List<FilaVector> filas = new ArrayList<>(hasta - desde);
+        for (int i = desde; i < hasta; i++) {
+            filas.add(armarFila(i, equiposArmados));
+        }
+        return filas;
+    }
+
+    @Override
+    public double reloj(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return this.reloj[indice];
+    }
+
+    /**
+     * Tipo del evento de la fila, tal como se paso en agregar.
+     */
+    public Eventos tipoEvento(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return EVENTOS[this.tipoEvento[indice]];
+    }
+
+    /**
+     * Id del equipo del evento de la fila, null si el evento no tiene equipo.
+     */
+    public Integer idEquipoEvento(int indice) {
+        if (indice < 0 || indice >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + indice + " de " + this.cantidadFilas);
+        }
+        return this.idEquipoEvento[indice] >= 0 ? this.idEquipoEvento[indice] : null;
+    }
+
+    @Override
+    public void compactar() {
+        crecerFilas(this.cantidadFilas);
+        this.rndLlegada = Arrays.copyOf(this.rndLlegada, this.llegadas.cantidad);
+        this.tiempoEntreLlegada = Arrays.copyOf(this.tiempoEntreLlegada, this.llegadas.cantidad);
+        this.horaProximaLlegada = Arrays.copyOf(this.horaProximaLlegada, this.llegadas.cantidad);
+        this.rndTipoTrabajo = Arrays.copyOf(this.rndTipoTrabajo, this.llegadas.cantidad);
+        this.trabajo = Arrays.copyOf(this.trabajo, this.llegadas.cantidad);
+        this.rndFinTrabajo = Arrays.copyOf(this.rndFinTrabajo, this.finesTrabajo.cantidad);
+        this.mediaTiempoAtencion = Arrays.copyOf(this.mediaTiempoAtencion, this.finesTrabajo.cantidad);
+        this.tiempoAtencion = Arrays.copyOf(this.tiempoAtencion, this.finesTrabajo.cantidad);
+        this.horaFinTrabajo = Arrays.copyOf(this.horaFinTrabajo, this.finesTrabajo.cantidad);
+        this.promedioPermanencia = Arrays.copyOf(this.promedioPermanencia, this.permanencias.cantidad);
+        this.tiempoPermanenciaEquipoAcum = Arrays.copyOf(this.tiempoPermanenciaEquipoAcum, this.permanencias.cantidad);
+        this.contadorEquipo = Arrays.copyOf(this.contadorEquipo, this.contadores.cantidad);
+        this.llegadas.compactar(this.cantidadFilas);
+        this.finesTrabajo.compactar(this.cantidadFilas);
+        this.permanencias.compactar(this.cantidadFilas);
+        this.contadores.compactar(this.cantidadFilas);
+        this.idEquipo = Arrays.copyOf(this.idEquipo, this.cantidadEquipos);
+        this.valoresEquipo = Arrays.copyOf(this.valoresEquipo, this.cantidadEquipos * CAMPOS_EQUIPO);
+        crecerVersiones(this.cantidadVersiones);
+        this.versionesFilas = Arrays.copyOf(this.versionesFilas, this.cantidadVersionesFilas);
+    }
+
+    @Override
+    public void clear() {
+        this.cantidadFilas = 0;
+        this.llegadas.clear();
+        this.finesTrabajo.clear();
+        this.permanencias.clear();
+        this.contadores.clear();
+        this.cantidadEquipos = 0;
+        this.indiceEquipoPorId.clear();
+        this.cantidadVersiones = 0;
+        this.cantidadVersionesFilas = 0;
+        this.excepciones.clear();
+        this.colasFueraDeRango.clear();
+    }
+
+    /**
+     * Cuenta la capacidad reservada de los arrays y una estimacion de las entradas de los mapas.
+     */
+    @Override
+    public long bytesEnMemoria() {
+        long bytes = this.tipoEvento.length + this.estadoServidor.length
+                + 4L * (this.idEquipoEvento.length + this.colas.length + this.finVersionesFila.length)
+                + 8L * (this.reloj.length + this.promedioOcupacion.length + this.tiempoOcupacionAcum.length);
+        bytes += 8L * (this.rndLlegada.length + this.tiempoEntreLlegada.length + this.horaProximaLlegada.length
+                + this.rndTipoTrabajo.length) + this.trabajo.length;
+        bytes += 8L * (this.rndFinTrabajo.length + this.mediaTiempoAtencion.length + this.tiempoAtencion.length
+                + this.horaFinTrabajo.length);
+        bytes += 8L * (this.promedioPermanencia.length + this.tiempoPermanenciaEquipoAcum.length)
+                + 4L * this.contadorEquipo.length;
+        bytes += this.llegadas.bytesEnMemoria() + this.finesTrabajo.bytesEnMemoria()
+                + this.permanencias.bytesEnMemoria() + this.contadores.bytesEnMemoria();
+        bytes += 4L * this.idEquipo.length + 8L * this.valoresEquipo.length;
+        bytes += 4L * (this.equipoVersion.length + this.versionesFilas.length)
+                + this.estadoVersion.length + this.mascaraVersion.length;
+        bytes += BYTES_ENTRADA_MAPA * ((long) this.excepciones.size() + this.colasFueraDeRango.size()
+                + this.indiceEquipoPorId.size());
+        return bytes;
+    }
+
+    private void agregarLlegada(int fila, Llegada llegada) {
+        int anterior = this.llegadas.cantidad - 1;
+        boolean propia = anterior < 0
+                || llegada.getRndLlegada() != null
+                || llegada.getTiempoEntreLlegada() != null
+                || llegada.getRndTipoTrabajo() != null
+                || llegada.getTrabajo() != null
+                || !mismoValor(this.horaProximaLlegada[anterior], aNumero(llegada.getHoraProximaLlegada()));
+        if (!this.llegadas.marcar(fila, propia)) {
+            return;
+        }
+        int j = this.llegadas.cantidad - 1;
+        if (j == this.rndLlegada.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, j * 2);
+            this.rndLlegada = Arrays.copyOf(this.rndLlegada, capacidad);
+            this.tiempoEntreLlegada = Arrays.copyOf(this.tiempoEntreLlegada, capacidad);
+            this.horaProximaLlegada = Arrays.copyOf(this.horaProximaLlegada, capacidad);
+            this.rndTipoTrabajo = Arrays.copyOf(this.rndTipoTrabajo, capacidad);
+            this.trabajo = Arrays.copyOf(this.trabajo, capacidad);
+        }
+        this.rndLlegada[j] = aNumero(llegada.getRndLlegada());
+        this.tiempoEntreLlegada[j] = aNumero(llegada.getTiempoEntreLlegada());
+        this.horaProximaLlegada[j] = aNumero(llegada.getHoraProximaLlegada());
+        this.rndTipoTrabajo[j] = aNumero(llegada.getRndTipoTrabajo());
+        this.trabajo[j] = aByte(llegada.getTrabajo());
+    }
+
+    private void agregarFinTrabajo(int fila, FinTrabajo finTrabajo) {
+        int anterior = this.finesTrabajo.cantidad - 1;
+        boolean propia = anterior < 0
+                || finTrabajo.getRndFinTrabajo() != null
+                || finTrabajo.getMediaTiempoAtencion() != null
+                || finTrabajo.getTiempoAtencion() != null
+                || !mismoValor(this.horaFinTrabajo[anterior], aNumero(finTrabajo.getHoraFinTrabajo()));
+        if (!this.finesTrabajo.marcar(fila, propia)) {
+            return;
+        }
+        int j = this.finesTrabajo.cantidad - 1;
+        if (j == this.rndFinTrabajo.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, j * 2);
+            this.rndFinTrabajo = Arrays.copyOf(this.rndFinTrabajo, capacidad);
+            this.mediaTiempoAtencion = Arrays.copyOf(this.mediaTiempoAtencion, capacidad);
+            this.tiempoAtencion = Arrays.copyOf(this.tiempoAtencion, capacidad);
+            this.horaFinTrabajo = Arrays.copyOf(this.horaFinTrabajo, capacidad);
+        }
+        this.rndFinTrabajo[j] = aNumero(finTrabajo.getRndFinTrabajo());
+        this.mediaTiempoAtencion[j] = aNumero(finTrabajo.getMediaTiempoAtencion());
+        this.tiempoAtencion[j] = aNumero(finTrabajo.getTiempoAtencion());
+        this.horaFinTrabajo[j] = aNumero(finTrabajo.getHoraFinTrabajo());
+    }
+
+    private void agregarPermanencia(int fila, double promedio, double acumulado) {
+        int anterior = this.permanencias.cantidad - 1;
+        boolean propia = anterior < 0
+                || !mismoValor(this.promedioPermanencia[anterior], promedio)
+                || !mismoValor(this.tiempoPermanenciaEquipoAcum[anterior], acumulado);
+        if (!this.permanencias.marcar(fila, propia)) {
+            return;
+        }
+        int j = this.permanencias.cantidad - 1;
+        if (j == this.promedioPermanencia.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, j * 2);
+            this.promedioPermanencia = Arrays.copyOf(this.promedioPermanencia, capacidad);
+            this.tiempoPermanenciaEquipoAcum = Arrays.copyOf(this.tiempoPermanenciaEquipoAcum, capacidad);
+        }
+        this.promedioPermanencia[j] = promedio;
+        this.tiempoPermanenciaEquipoAcum[j] = acumulado;
+    }
+
+    private void agregarContador(int fila, int contador) {
+        int anterior = this.contadores.cantidad - 1;
+        if (!this.contadores.marcar(fila, anterior < 0 || this.contadorEquipo[anterior] != contador)) {
+            return;
+        }
+        int j = this.contadores.cantidad - 1;
+        if (j == this.contadorEquipo.length) {
+            this.contadorEquipo = Arrays.copyOf(this.contadorEquipo, Math.max(CAPACIDAD_INICIAL, j * 2));
+        }
+        this.contadorEquipo[j] = contador;
+    }
+
+    /**
+     * Guarda los equipos de la fila. Un equipo que no cambio desde la fila anterior (ver Equipo.instantanea) sigue
+     * en la misma version y la fila solo repite el numero de version.
+     */
+    private void agregarEquipos(int fila, List<Equipo> equipos) {
+        int inicio = this.cantidadVersionesFilas;
+        if (inicio + equipos.size() > this.versionesFilas.length) {
+            this.versionesFilas = Arrays.copyOf(this.versionesFilas,
+                    Math.max(inicio + equipos.size(), this.versionesFilas.length * 2));
+        }
+        for (Equipo equipo : equipos) {
+            Equipo foto = equipo.instantanea();
+            int version = foto.getVersionAlmacenada();
+            if (version < 0) {
+                version = agregarVersion(foto);
+                foto.setVersionAlmacenada(version);
+            }
+            // En el orden de la tabla de equipos; los equipos de la simulacion ya suelen venir en ese orden
+            int j = this.cantidadVersionesFilas++;
+            while (j > inicio && this.equipoVersion[this.versionesFilas[j - 1]] > this.equipoVersion[version]) {
+                this.versionesFilas[j] = this.versionesFilas[j - 1];
+                j--;
+            }
+            this.versionesFilas[j] = version;
+        }
+        this.finVersionesFila[fila] = this.cantidadVersionesFilas;
+
+        // Los equipos que salieron del sistema ya no se buscan por id
+        if (this.indiceEquipoPorId.size() > equipos.size()) {
+            this.indiceEquipoPorId.keySet().removeIf(id -> equipos.stream().noneMatch(e -> id.equals(e.getId_equipo())));
+        }
+    }
+
+    private int agregarVersion(Equipo foto) {
+        Integer indice = this.indiceEquipoPorId.get(foto.getId_equipo());
+        if (indice == null) {
+            indice = agregarEquipo(foto.getId_equipo());
+            this.indiceEquipoPorId.put(foto.getId_equipo(), indice);
+        }
+        if (this.cantidadVersiones == this.equipoVersion.length) {
+            crecerVersiones(Math.max(CAPACIDAD_INICIAL, this.cantidadVersiones * 2));
+        }
+        int version = this.cantidadVersiones++;
+        this.equipoVersion[version] = indice;
+        this.estadoVersion[version] = aByte(foto.getEquipo_estado());
+
+        int base = indice * CAMPOS_EQUIPO;
+        double[] valoresFoto = {
+                aNumero(foto.getHora_llegada()),
+                aNumero(foto.getHoraCambioTrabajoC()),
+                aNumero(foto.getHoraReanudacionTrabajoC()),
+                aNumero(foto.getHoraFinAtencionEstimada()),
+                aNumero(foto.getHora_salida()),
+                foto.getTipo_trabajo() != null ? foto.getTipo_trabajo().ordinal() : Double.NaN};
+        int mascara = 0;
+        for (int campo = 0; campo < CAMPOS_EQUIPO; campo++) {
+            double valor = valoresFoto[campo];
+            if (Double.isNaN(valor)) {
+                continue;
+            }
+            mascara |= 1 << campo;
+            if (Double.isNaN(this.valoresEquipo[base + campo])) {
+                this.valoresEquipo[base + campo] = valor;
+            } else if (!mismoValor(this.valoresEquipo[base + campo], valor)) {
+                this.excepciones.put(claveExcepcion(version, campo), valor);
+            }
+        }
+        this.mascaraVersion[version] = (byte) mascara;
+        return version;
+    }
+
+    private int agregarEquipo(int id) {
+        if (this.cantidadEquipos == this.idEquipo.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, this.cantidadEquipos * 2);
+            this.idEquipo = Arrays.copyOf(this.idEquipo, capacidad);
+            this.valoresEquipo = Arrays.copyOf(this.valoresEquipo, capacidad * CAMPOS_EQUIPO);
+        }
+        int indice = this.cantidadEquipos++;
+        this.idEquipo[indice] = id;
+        Arrays.fill(this.valoresEquipo, indice * CAMPOS_EQUIPO, (indice + 1) * CAMPOS_EQUIPO, Double.NaN);
+        return indice;
+    }
+
+    private FilaVector armarFila(int i, Map<Integer, Equipo> equiposArmados) {
+        if (i < 0 || i >= this.cantidadFilas) {
+            throw new IndexOutOfBoundsException("Fila " + i + " de " + this.cantidadFilas);
+        }
+        Eventos evento = EVENTOS[this.tipoEvento[i]];
+        String descripcionEvento = evento == Eventos.Inicio
+                ? evento.toString()
+                : evento + " E" + (this.idEquipoEvento[i] >= 0 ? this.idEquipoEvento[i] : null);
+
+        // Las filas sin valores propios de un grupo solo repiten la hora de la fila marcada anterior
+        int l = this.llegadas.ultimaHasta(i);
+        Llegada llegada = this.llegadas.esPropia(i)
+                ? new Llegada(aDouble(this.rndLlegada[l]), aDouble(this.tiempoEntreLlegada[l]),
+                        aDouble(this.horaProximaLlegada[l]), aDouble(this.rndTipoTrabajo[l]),
+                        this.trabajo[l] != NULO ? TRABAJOS[this.trabajo[l]] : null)
+                : new Llegada(null, null, aDouble(this.horaProximaLlegada[l]), null, null);
+
+        int f = this.finesTrabajo.ultimaHasta(i);
+        FinTrabajo finTrabajo = this.finesTrabajo.esPropia(i)
+                ? new FinTrabajo(aDouble(this.rndFinTrabajo[f]), aDouble(this.mediaTiempoAtencion[f]),
+                        aDouble(this.tiempoAtencion[f]), aDouble(this.horaFinTrabajo[f]))
+                : new FinTrabajo(null, null, null, aDouble(this.horaFinTrabajo[f]));
+
+        int p = this.permanencias.ultimaHasta(i);
+        int c = this.contadores.ultimaHasta(i);
+
+        ColaVector colas = armarColas(i);
+        Servidor servidor = new Servidor(
+                this.estadoServidor[i] != NULO ? ESTADOS_SERVIDOR[this.estadoServidor[i]] : null,
+                this.tiempoOcupacionAcum[i],
+                this.tiempoPermanenciaEquipoAcum[p]);
+
+        return new FilaVector(descripcionEvento, this.reloj[i], llegada, colas, this.contadorEquipo[c],
+                this.promedioPermanencia[p], this.promedioOcupacion[i], finTrabajo, servidor,
+                armarEquipos(i, equiposArmados));
+    }
+
+    /**
+     * Equipos de la fila, en el orden en que entraron al sistema (el orden de la tabla de equipos).
+     */
+    private ArrayList<Equipo> armarEquipos(int fila, Map<Integer, Equipo> equiposArmados) {
+        int inicio = fila > 0 ? this.finVersionesFila[fila - 1] : 0;
+        int fin = this.finVersionesFila[fila];
+        ArrayList<Equipo> equipos = new ArrayList<>(fin - inicio);
+        for (int j = inicio; j < fin; j++) {
+            equipos.add(equiposArmados.computeIfAbsent(this.versionesFilas[j], this::armarEquipo));
+        }
+        return equipos;
+    }
+
+    private Equipo armarEquipo(int version) {
+        int indice = this.equipoVersion[version];
+        Equipo equipo = new Equipo();
+        equipo.setId_equipo(this.idEquipo[indice]);
+        equipo.setEquipo_estado(this.estadoVersion[version] != NULO ? ESTADOS_EQUIPO[this.estadoVersion[version]] : null);
+        equipo.setHora_llegada(aDouble(valorVersion(version, HORA_LLEGADA)));
+        equipo.setHoraCambioTrabajoC(aDouble(valorVersion(version, HORA_CAMBIO)));
+        equipo.setHoraReanudacionTrabajoC(aDouble(valorVersion(version, HORA_REANUDACION)));
+        equipo.setHoraFinAtencionEstimada(aDouble(valorVersion(version, HORA_FIN_ESTIMADA)));
+        equipo.setHora_salida(aDouble(valorVersion(version, HORA_SALIDA)));
+        double tipo = valorVersion(version, TIPO_TRABAJO);
+        equipo.setTipo_trabajo(Double.isNaN(tipo) ? null : TRABAJOS[(int) tipo]);
+        return equipo;
+    }
+
+    private double valorVersion(int version, int campo) {
+        if ((this.mascaraVersion[version] & (1 << campo)) == 0) {
+            return Double.NaN;
+        }
+        Double excepcion = this.excepciones.isEmpty() ? null : this.excepciones.get(claveExcepcion(version, campo));
+        return excepcion != null ? excepcion : this.valoresEquipo[this.equipoVersion[version] * CAMPOS_EQUIPO + campo];
+    }
+
+    private void crecerFilas(int capacidad) {
+        this.tipoEvento = Arrays.copyOf(this.tipoEvento, capacidad);
+        this.idEquipoEvento = Arrays.copyOf(this.idEquipoEvento, capacidad);
+        this.reloj = Arrays.copyOf(this.reloj, capacidad);
+        this.colas = Arrays.copyOf(this.colas, capacidad);
+        this.promedioOcupacion = Arrays.copyOf(this.promedioOcupacion, capacidad);
+        this.estadoServidor = Arrays.copyOf(this.estadoServidor, capacidad);
+        this.tiempoOcupacionAcum = Arrays.copyOf(this.tiempoOcupacionAcum, capacidad);
+        this.finVersionesFila = Arrays.copyOf(this.finVersionesFila, capacidad);
+    }
+
+    private void crecerVersiones(int capacidad) {
+        this.equipoVersion = Arrays.copyOf(this.equipoVersion, capacidad);
+        this.estadoVersion = Arrays.copyOf(this.estadoVersion, capacidad);
+        this.mascaraVersion = Arrays.copyOf(this.mascaraVersion, capacidad);
+    }
+
+    private int empaquetarColas(int fila, ColaVector colas) {
+        int colaComun = colas.getColaComun();
+        int colaTrabajoC = colas.getColaTrabajoC();
+        int trabajoCSegundoPlano = colas.getTrabajoCSegundoPlano();
+        int lugaresLibres = colas.getLugaresLibres();
+        if (colaComun != (byte) colaComun || colaTrabajoC != (byte) colaTrabajoC
+                || trabajoCSegundoPlano != (byte) trabajoCSegundoPlano || lugaresLibres != (byte) lugaresLibres) {
+            this.colasFueraDeRango.put(fila, new ColaVector(colaComun, colaTrabajoC, trabajoCSegundoPlano, lugaresLibres));
+            return 0;
+        }
+        return (colaComun & 0xFF) | (colaTrabajoC & 0xFF) << 8 | (trabajoCSegundoPlano & 0xFF) << 16 | lugaresLibres << 24;
+    }
+
+    private ColaVector armarColas(int fila) {
+        ColaVector fueraDeRango = this.colasFueraDeRango.isEmpty() ? null : this.colasFueraDeRango.get(fila);
+        if (fueraDeRango != null) {
+            return new ColaVector(fueraDeRango.getColaComun(), fueraDeRango.getColaTrabajoC(),
+                    fueraDeRango.getTrabajoCSegundoPlano(), fueraDeRango.getLugaresLibres());
+        }
+        int colas = this.colas[fila];
+        return new ColaVector((byte) colas, (byte) (colas >> 8), (byte) (colas >> 16), colas >> 24);
+    }
+
+    private static long claveExcepcion(int version, int campo) {
+        return (long) version * CAMPOS_EQUIPO + campo;
+    }
+
+    private static boolean mismoValor(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private static double aNumero(Double valor) {
+        return valor != null ? valor : Double.NaN;
+    }
+
+    private static Double aDouble(double valor) {
+        return Double.isNaN(valor) ? null : valor;
+    }
+
+    private static byte aByte(Enum<?> valor) {
+        return valor != null ? (byte) valor.ordinal() : NULO;
+    }
+
+    /**
+     * Marca de las filas que tienen valores propios en un grupo escaso: un bit por fila y, cada 64 filas, cuantas
+     * filas marcadas hay antes, para saber en tiempo constante que indice de valores le corresponde a una fila.
+     */
+    private static final class Escasa {
+        private long[] bits = new long[CAPACIDAD_INICIAL / 64];
+        private int[] marcadasAntes = new int[CAPACIDAD_INICIAL / 64];
+        private int cantidad = 0;
+
+        /**
+         * Registra la fila (las filas se registran en orden) y devuelve si quedo marcada. La primera fila siempre
+         * se marca.
+         */
+        boolean marcar(int fila, boolean propia) {
+            int bloque = fila >>> 6;
+            if (bloque == this.bits.length) {
+                this.bits = Arrays.copyOf(this.bits, this.bits.length * 2);
+                this.marcadasAntes = Arrays.copyOf(this.marcadasAntes, this.marcadasAntes.length * 2);
+            }
+            if ((fila & 63) == 0) {
+                this.marcadasAntes[bloque] = this.cantidad;
+            }
+            if (!propia && this.cantidad > 0) {
+                return false;
+            }
+            this.bits[bloque] |= 1L << fila;
+            this.cantidad++;
+            return true;
+        }
+
+        boolean esPropia(int fila) {
+            return (this.bits[fila >>> 6] & (1L << fila)) != 0;
+        }
+
+        /**
+         * Indice de valores de la ultima fila marcada hasta "fila" inclusive.
+         */
+        int ultimaHasta(int fila) {
+            int bloque = fila >>> 6;
+            long hastaFila = this.bits[bloque] & (-1L >>> (63 - (fila & 63)));
+            return this.marcadasAntes[bloque] + Long.bitCount(hastaFila) - 1;
+        }
+
+        void compactar(int filas) {
+            int bloques = (filas + 63) >>> 6;
+            this.bits = Arrays.copyOf(this.bits, Math.max(1, bloques));
+            this.marcadasAntes = Arrays.copyOf(this.marcadasAntes, Math.max(1, bloques));
+        }
+
+        long bytesEnMemoria() {
+            return 12L * this.bits.length;
+        }
+
+        void clear() {
+            Arrays.fill(this.bits, 0);
+            this.cantidad = 0;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilaVector;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Almacen de filas que empieza en memoria (AlmacenFilasColumnar) y, cuando las filas guardadas pasan el presupuesto
+ * de heap de la corrida, pasa todas las filas a un AlmacenFilasArchivo y sigue escribiendo en disco. Al pasar a disco
+ * se libera el almacen en memoria, por lo que una corrida nunca ocupa mas que el presupuesto en el heap.
+ */
+public class AlmacenFilasDesbordable implements AlmacenFilas {
+
+    // Cada cuantas filas se controla el presupuesto
+    private static final int FILAS_ENTRE_CONTROLES = 1024;
+    // Filas que se copian juntas al pasar a disco
+    private static final int FILAS_POR_COPIA = 1024;
+
+    private final long presupuestoBytes;
+    private final Path directorio;
+    private AlmacenFilasColumnar memoria = new AlmacenFilasColumnar();
+    private AlmacenFilas actual = this.memoria;
+    private boolean enDisco = false;
+
+    public AlmacenFilasDesbordable(long presupuestoBytes, Path directorio) {
+        this.presupuestoBytes = presupuestoBytes;
+        this.directorio = directorio;
+    }
+
+    @Override
+    public void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+        this.actual.agregar(fila, tipoEvento, idEquipo, equipos);
+        if (!this.enDisco
+                && this.actual.size() % FILAS_ENTRE_CONTROLES == 0
+                && this.actual.bytesEnMemoria() > this.presupuestoBytes) {
+            pasarADisco();
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.actual.size();
+    }
+
+    @Override
+    public FilaVector fila(int indice) {
+        return this.actual.fila(indice);
+    }
+
+    @Override
+    public List<FilaVector> filas(int desde, int hasta) {
+        return this.actual.filas(desde, hasta);
+    }
+
+    @Override
+    public List<FilaVector> filas(int[] indices) {
+        return this.actual.filas(indices);
+    }
+
+    @Override
+    public double reloj(int indice) {
+        return this.actual.reloj(indice);
+    }
+
+    @Override
+    public void compactar() {
+        this.actual.compactar();
+    }
+
+    /**
+     * Borra las filas (y los archivos si la corrida paso a disco) y vuelve a empezar en memoria.
+     */
+    @Override
+    public void clear() {
+        if (this.enDisco) {
+            this.actual.cerrar();
+            this.memoria = new AlmacenFilasColumnar();
+            this.actual = this.memoria;
+            this.enDisco = false;
+        } else {
+            this.actual.clear();
+        }
+    }
+
+    @Override
+    public void cerrar() {
+        this.actual.cerrar();
+    }
+
+    @Override
+    public long bytesEnMemoria() {
+        return this.actual.bytesEnMemoria();
+    }
+
+    public boolean isEnDisco() {
+        return this.enDisco;
+    }
+
+    private void pasarADisco() {
+        AlmacenFilasColumnar memoria = this.memoria;
+        AlmacenFilasArchivo archivo = new AlmacenFilasArchivo(this.directorio);
+        for (int desde = 0; desde < memoria.size(); desde += FILAS_POR_COPIA) {
+            int hasta = Math.min(memoria.size(), desde + FILAS_POR_COPIA);
+            List<FilaVector> filas = memoria.filas(desde, hasta);
+            for (int i = desde; i < hasta; i++) {
+                FilaVector fila = filas.get(i - desde);
+                archivo.agregar(fila, memoria.tipoEvento(i), memoria.idEquipoEvento(i), fila.getEquipos());
+            }
+        }
+        memoria.clear();
+        this.memoria = null;
+        this.actual = archivo;
+        this.enDisco = true;
+    }
+}
@@ -0,0 +1,162 @@
+package com.demo.services;
+
+import com.demo.entities.Evento;
+
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+/**
+ * Calendario de eventos futuros de la simulacion, implementado como un monticulo binario (min-heap) sobre un array.
+ * El proximo evento es el de menor "horaEvento"; los empates se resuelven por el tipo de evento (orden del enum
+ * Eventos) y luego por el orden en que fueron agendados, de modo que la secuencia de eventos es siempre la misma.
+ * Agendar, extraer el proximo evento y cancelar un evento agendado cuestan O(log n); cada evento guarda su
+ * posicion en el monticulo, por lo que el propio evento sirve como referencia para cancelarlo.
+ */
+public class CalendarioEventos {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Evento[] eventos = new Evento[CAPACIDAD_INICIAL];
+    private int cantidad = 0;
+    private long proximaSecuencia = 0;
+
+    public Evento agendar(Evento evento) {
+        if (this.cantidad == this.eventos.length) {
+            this.eventos = Arrays.copyOf(this.eventos, this.cantidad * 2);
+        }
+        evento.setSecuencia(this.proximaSecuencia++);
+        this.eventos[this.cantidad] = evento;
+        this.cantidad++;
+        subir(this.cantidad - 1);
+        return evento;
+    }
+
+    public Evento extraerProximo() {
+        if (this.cantidad == 0) {
+            return null;
+        }
+        Evento proximo = this.eventos[0];
+        proximo.setPosicion(-1);
+        this.cantidad--;
+        this.eventos[0] = this.eventos[this.cantidad];
+        this.eventos[this.cantidad] = null;
+        if (this.cantidad > 0) {
+            bajar(0);
+        }
+        return proximo;
+    }
+
+    /**
+     * Quita del calendario un evento agendado usando la posicion que el propio evento guarda en el monticulo,
+     * devuelve si el evento seguia pendiente.
+     */
+    public boolean cancelar(Evento evento) {
+        int indice = evento.getPosicion();
+        if (indice < 0 || indice >= this.cantidad || this.eventos[indice] != evento) {
+            return false;
+        }
+        eliminarEn(indice);
+        return true;
+    }
+
+    public Evento verProximo() {
+        return this.cantidad == 0 ? null : this.eventos[0];
+    }
+
+    public int size() {
+        return this.cantidad;
+    }
+
+    public boolean isEmpty() {
+        return this.cantidad == 0;
+    }
+
+    /**
+     * Copia el calendario con los eventos que devuelve "copiarEvento" para cada evento pendiente. Las copias quedan
+     * en las mismas posiciones y con la misma secuencia, asi el calendario copiado extrae los eventos en el mismo
+     * orden que el original.
+     */
+    public CalendarioEventos copiar(UnaryOperator<Evento> copiarEvento) {
+        CalendarioEventos copia = new CalendarioEventos();
+        copia.eventos = new Evento[this.eventos.length];
+        for (int i = 0; i < this.cantidad; i++) {
+            Evento evento = copiarEvento.apply(this.eventos[i]);
+            evento.setSecuencia(this.eventos[i].getSecuencia());
+            evento.setPosicion(i);
+            copia.eventos[i] = evento;
+        }
+        copia.cantidad = this.cantidad;
+        copia.proximaSecuencia = this.proximaSecuencia;
+        return copia;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.cantidad; i++) {
+            this.eventos[i].setPosicion(-1);
+            this.eventos[i] = null;
+        }
+        this.cantidad = 0;
+        this.proximaSecuencia = 0;
+    }
+
+    private void eliminarEn(int indice) {
+        this.eventos[indice].setPosicion(-1);
+        this.cantidad--;
+        if (indice == this.cantidad) {
+            this.eventos[indice] = null;
+            return;
+        }
+        this.eventos[indice] = this.eventos[this.cantidad];
+        this.eventos[this.cantidad] = null;
+        bajar(indice);
+        subir(indice);
+    }
+
+    private void subir(int indice) {
+        Evento evento = this.eventos[indice];
+        while (indice > 0) {
+            int padre = (indice - 1) >>> 1;
+            if (!ocurreAntes(evento, this.eventos[padre])) {
+                break;
+            }
+            colocar(indice, this.eventos[padre]);
+            indice = padre;
+        }
+        colocar(indice, evento);
+    }
+
+    private void bajar(int indice) {
+        Evento evento = this.eventos[indice];
+        int mitad = this.cantidad >>> 1;
+        while (indice < mitad) {
+            int hijo = 2 * indice + 1;
+            int derecho = hijo + 1;
+            if (derecho < this.cantidad && ocurreAntes(this.eventos[derecho], this.eventos[hijo])) {
+                hijo = derecho;
+            }
+            if (!ocurreAntes(this.eventos[hijo], evento)) {
+                break;
+            }
+            colocar(indice, this.eventos[hijo]);
+            indice = hijo;
+        }
+        colocar(indice, evento);
+    }
+
+    private void colocar(int indice, Evento evento) {
+        this.eventos[indice] = evento;
+        evento.setPosicion(indice);
+    }
+
+    private static boolean ocurreAntes(Evento a, Evento b) {
+        int porHora = Double.compare(a.getHoraEvento(), b.getHoraEvento());
+        if (porHora != 0) {
+            return porHora < 0;
+        }
+        int porTipo = Integer.compare(a.getTipoEvento().ordinal(), b.getTipoEvento().ordinal());
+        if (porTipo != 0) {
+            return porTipo < 0;
+        }
+        return a.getSecuencia() < b.getSecuencia();
+    }
+}
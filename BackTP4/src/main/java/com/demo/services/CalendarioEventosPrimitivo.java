@@ -0,0 +1,164 @@
+package com.demo.services;
+
+import java.util.Arrays;
+
+/**
+ * Version del calendario de eventos sin objetos, para la simulacion que solo calcula estadisticas.
+ * Cada evento es un indice dentro de arrays paralelos (hora, tipo, equipo, secuencia) y el monticulo binario guarda
+ * esos indices. El orden es el mismo que en CalendarioEventos: hora, tipo de evento (ordinal del enum Eventos) y
+ * orden de agenda. Los indices de los eventos que ocurren o se cancelan se reutilizan, asi que una vez que el
+ * calendario alcanza su tamaño maximo no vuelve a reservar memoria.
+ */
+public class CalendarioEventosPrimitivo {
+
+    private static final int CAPACIDAD_INICIAL = 32;
+
+    private double[] hora = new double[CAPACIDAD_INICIAL];
+    private byte[] tipo = new byte[CAPACIDAD_INICIAL];
+    private int[] equipo = new int[CAPACIDAD_INICIAL];
+    private long[] secuencia = new long[CAPACIDAD_INICIAL];
+    private int[] posicion = new int[CAPACIDAD_INICIAL];
+
+    private int[] monticulo = new int[CAPACIDAD_INICIAL];
+    private int cantidad = 0;
+
+    private int[] libres = new int[CAPACIDAD_INICIAL];
+    private int cantidadLibres = 0;
+    private int siguienteSinUsar = 0;
+    private long proximaSecuencia = 0;
+
+    /**
+     * Agenda un evento y devuelve su indice, que sirve para cancelarlo mientras este pendiente.
+     */
+    public int agendar(int tipoEvento, double horaEvento, int idEquipo) {
+        int id = reservar();
+        this.hora[id] = horaEvento;
+        this.tipo[id] = (byte) tipoEvento;
+        this.equipo[id] = idEquipo;
+        this.secuencia[id] = this.proximaSecuencia++;
+        if (this.cantidad == this.monticulo.length) {
+            this.monticulo = Arrays.copyOf(this.monticulo, this.cantidad * 2);
+        }
+        this.cantidad++;
+        subir(this.cantidad - 1, id);
+        return id;
+    }
+
+    /**
+     * Quita el proximo evento del calendario y devuelve su indice. Los datos del evento se pueden leer con
+     * hora/tipo/equipo hasta que se agende el siguiente evento, momento en el que el indice puede reutilizarse.
+     */
+    public int extraerProximo() {
+        if (this.cantidad == 0) {
+            return -1;
+        }
+        int proximo = this.monticulo[0];
+        quitarEn(0);
+        return proximo;
+    }
+
+    public boolean cancelar(int id) {
+        if (id < 0 || id >= this.siguienteSinUsar) {
+            return false;
+        }
+        int indice = this.posicion[id];
+        if (indice < 0 || indice >= this.cantidad || this.monticulo[indice] != id) {
+            return false;
+        }
+        quitarEn(indice);
+        return true;
+    }
+
+    public double hora(int id) {
+        return this.hora[id];
+    }
+
+    public int tipo(int id) {
+        return this.tipo[id];
+    }
+
+    public int equipo(int id) {
+        return this.equipo[id];
+    }
+
+    public int size() {
+        return this.cantidad;
+    }
+
+    private int reservar() {
+        if (this.cantidadLibres > 0) {
+            return this.libres[--this.cantidadLibres];
+        }
+        if (this.siguienteSinUsar == this.hora.length) {
+            int nuevaCapacidad = this.hora.length * 2;
+            this.hora = Arrays.copyOf(this.hora, nuevaCapacidad);
+            this.tipo = Arrays.copyOf(this.tipo, nuevaCapacidad);
+            this.equipo = Arrays.copyOf(this.equipo, nuevaCapacidad);
+            this.secuencia = Arrays.copyOf(this.secuencia, nuevaCapacidad);
+            this.posicion = Arrays.copyOf(this.posicion, nuevaCapacidad);
+            this.libres = Arrays.copyOf(this.libres, nuevaCapacidad);
+        }
+        return this.siguienteSinUsar++;
+    }
+
+    private void quitarEn(int indice) {
+        int id = this.monticulo[indice];
+        this.posicion[id] = -1;
+        this.libres[this.cantidadLibres++] = id;
+        this.cantidad--;
+        if (indice == this.cantidad) {
+            return;
+        }
+        int ultimo = this.monticulo[this.cantidad];
+        bajar(indice, ultimo);
+        if (this.monticulo[indice] == ultimo) {
+            subir(indice, ultimo);
+        }
+    }
+
+    private void subir(int indice, int id) {
+        while (indice > 0) {
+            int padre = (indice - 1) >>> 1;
+            int idPadre = this.monticulo[padre];
+            if (!ocurreAntes(id, idPadre)) {
+                break;
+            }
+            colocar(indice, idPadre);
+            indice = padre;
+        }
+        colocar(indice, id);
+    }
+
+    private void bajar(int indice, int id) {
+        int mitad = this.cantidad >>> 1;
+        while (indice < mitad) {
+            int hijo = 2 * indice + 1;
+            int derecho = hijo + 1;
+            if (derecho < this.cantidad && ocurreAntes(this.monticulo[derecho], this.monticulo[hijo])) {
+                hijo = derecho;
+            }
+            int idHijo = this.monticulo[hijo];
+            if (!ocurreAntes(idHijo, id)) {
+                break;
+            }
+            colocar(indice, idHijo);
+            indice = hijo;
+        }
+        colocar(indice, id);
+    }
+
+    private void colocar(int indice, int id) {
+        this.monticulo[indice] = id;
+        this.posicion[id] = indice;
+    }
+
+    private boolean ocurreAntes(int a, int b) {
+        if (this.hora[a] != this.hora[b]) {
+            return this.hora[a] < this.hora[b];
+        }
+        if (this.tipo[a] != this.tipo[b]) {
+            return this.tipo[a] < this.tipo[b];
+        }
+        return this.secuencia[a] < this.secuencia[b];
+    }
+}
@@ -0,0 +1,149 @@
+package com.demo.services;
+
+import com.demo.entities.FilaVector;
+import com.demo.entities.IndicadoresParciales;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Canal entre una corrida en ejecucion y quien la transmite en vivo (ver TransmisorTrabajos). La simulacion nunca
+ * espera al consumidor:
+ * - filas: Cola acotada con las filas guardadas y su numero de fila, en orden. Se crea recien cuando se suscribe un
+ *      consumidor y se descarta cuando se desuscribe, asi los trabajos que nadie transmite no reservan la cola.
+ *      Las filas que entran son siempre las primeras del vector de estados, sin saltos: si la cola se llena (o el
+ *      consumidor se suscribio con filas ya guardadas) la simulacion deja de publicar filas para esa suscripcion y
+ *      el consumidor lee el resto del vector de estados al terminar la corrida, asi que no se pierde ninguna.
+ * - indicadores: Solo el ultimo publicado, si el consumidor no alcanzo a leer uno el siguiente lo reemplaza.
+ * - siguienteFila: Numero de la proxima fila que puede entrar a la cola.
+ * - atrasado: La cola se lleno o falto una fila, la simulacion no publica mas filas en esta suscripcion.
+ * - terminado: La corrida termino (bien o no) y no va a publicar nada mas.
+ */
+public class CanalFilas {
+
+    /**
+     * Fila publicada en el canal.
+     * - indice: Numero de fila en el vector de estados.
+     */
+    public record FilaPublicada(int indice, FilaVector fila) {
+    }
+
+    private final int capacidadFilas;
+    private final int eventosEntreIndicadores;
+    private final AtomicReference<IndicadoresParciales> indicadores = new AtomicReference<>();
+    private final AtomicBoolean suscripto = new AtomicBoolean(false);
+    private volatile ArrayBlockingQueue<FilaPublicada> filas = null;
+    private volatile int siguienteFila = 0;
+    private volatile boolean atrasado = false;
+    private volatile boolean terminado = false;
+
+    public CanalFilas(int capacidadFilas, int eventosEntreIndicadores) {
+        this.capacidadFilas = Math.max(1, capacidadFilas);
+        this.eventosEntreIndicadores = Math.max(1, eventosEntreIndicadores);
+    }
+
+    /**
+     * Cada cuantos eventos la simulacion publica indicadores.
+     */
+    public int getEventosEntreIndicadores() {
+        return this.eventosEntreIndicadores;
+    }
+
+    /**
+     * Verdadero si hay un consumidor con lugar para la proxima fila, sin consumidor la simulacion no arma la fila.
+     */
+    public boolean aceptaFilas() {
+        return this.filas != null && !this.atrasado;
+    }
+
+    /**
+     * Publica la fila "indice" si sigue a la ultima publicada y entra en la cola. Si no, la simulacion deja de
+     * publicar filas en esta suscripcion.
+     */
+    public void publicarFila(int indice, FilaVector fila) {
+        ArrayBlockingQueue<FilaPublicada> cola = this.filas;
+        if (cola == null || this.atrasado) {
+            return;
+        }
+        if (indice != this.siguienteFila || !cola.offer(new FilaPublicada(indice, fila))) {
+            this.atrasado = true;
+            return;
+        }
+        this.siguienteFila = indice + 1;
+    }
+
+    public void publicarIndicadores(IndicadoresParciales indicadoresParciales) {
+        this.indicadores.set(indicadoresParciales);
+    }
+
+    public void terminar() {
+        this.terminado = true;
+    }
+
+    /**
+     * Reserva el canal para un consumidor y crea la cola de filas, devuelve falso si ya tenia uno. Si la corrida ya
+     * termino no se crea la cola, el consumidor lee todas las filas del vector de estados.
+     */
+    public boolean suscribir() {
+        if (!this.suscripto.compareAndSet(false, true)) {
+            return false;
+        }
+        if (!this.terminado) {
+            this.atrasado = false;
+            this.siguienteFila = 0;
+            this.filas = new ArrayBlockingQueue<>(this.capacidadFilas);
+        }
+        return true;
+    }
+
+    /**
+     * Libera el canal y descarta la cola con las filas que no se tomaron, otro consumidor puede suscribirse despues.
+     */
+    public void desuscribir() {
+        this.filas = null;
+        this.suscripto.set(false);
+    }
+
+    /**
+     * Espera hasta "esperaMs" la proxima fila y la pasa a "destino" junto con las que ya estaban en la cola.
+     * Devuelve la cantidad de filas pasadas.
+     */
+    public int tomarFilas(Collection<FilaPublicada> destino, long esperaMs) throws InterruptedException {
+        ArrayBlockingQueue<FilaPublicada> cola = this.filas;
+        if (cola == null) {
+            return 0;
+        }
+        FilaPublicada primera = cola.poll(esperaMs, TimeUnit.MILLISECONDS);
+        if (primera == null) {
+            return 0;
+        }
+        destino.add(primera);
+        return 1 + cola.drainTo(destino);
+    }
+
+    /**
+     * Ultimos indicadores publicados que todavia no se tomaron, null si no hay nuevos.
+     */
+    public IndicadoresParciales tomarIndicadores() {
+        return this.indicadores.getAndSet(null);
+    }
+
+    /**
+     * Verdadero cuando la corrida termino y ya se tomaron todas las filas de la cola.
+     */
+    public boolean isAgotado() {
+        // terminado se lee primero: despues de terminar no se agregan filas, asi que la cola vacia es definitiva
+        if (!this.terminado) {
+            return false;
+        }
+        ArrayBlockingQueue<FilaPublicada> cola = this.filas;
+        return cola == null || cola.isEmpty();
+    }
+
+    public boolean isAtrasado() {
+        return this.atrasado;
+    }
+}
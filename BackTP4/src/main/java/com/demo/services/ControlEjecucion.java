@@ -0,0 +1,134 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.MotivoFin;
+import com.demo.entities.ParametrosSimulacion;
+
+/**
+ * Controla los limites de una corrida que no dependen del modelo: cantidad maxima de eventos, tiempo maximo de
+ * ejecucion y cancelacion pedida desde afuera. Las simulaciones lo consultan en cada iteracion; el reloj del
+ * sistema, la cancelacion y el progreso publicado solo se revisan cada "ITERACIONES_ENTRE_CONTROLES" iteraciones
+ * para que el control no tenga costo en el ciclo principal.
+ * Un limite en 0 significa que no hay limite.
+ *
+ * El progreso (reloj simulado y eventos procesados) se publica en campos volatiles para que otro hilo pueda
+ * consultarlo mientras la corrida se ejecuta.
+ */
+public final class ControlEjecucion {
+
+    private static final int ITERACIONES_ENTRE_CONTROLES = 4096;
+
+    private final long maxEventos;
+    private final long maxNanos;
+    private final double tiempoSimulacion;
+    private final boolean limiteDeLote;
+    private long horaLimiteNanos;
+    private MotivoFin motivoFin = MotivoFin.TiempoSimulacion;
+
+    private volatile boolean cancelada = false;
+    private volatile double relojActual = 0;
+    private volatile long eventosProcesados = 0;
+
+    public ControlEjecucion(ParametrosSimulacion parametros) {
+        this(parametros, System.nanoTime(), false);
+    }
+
+    /**
+     * Control de una corrida de un lote (por ejemplo una replicacion): el tiempo maximo de ejecucion es del lote, se
+     * cuenta desde "inicioLoteNanos" (System.nanoTime) y no desde que empieza la corrida, asi todas las corridas del
+     * lote terminan a la misma hora.
+     */
+    public ControlEjecucion(ParametrosSimulacion parametros, long inicioLoteNanos) {
+        this(parametros, inicioLoteNanos, true);
+    }
+
+    private ControlEjecucion(ParametrosSimulacion parametros, long inicioNanos, boolean limiteDeLote) {
+        this.maxEventos = parametros.getMaxEventos() > 0 ? parametros.getMaxEventos() : Long.MAX_VALUE;
+        long maxNanos = parametros.getMaxTiempoEjecucionMs() * 1_000_000L;
+        this.maxNanos = maxNanos > 0 ? maxNanos : Long.MAX_VALUE / 2;
+        this.tiempoSimulacion = parametros.getTiempoSimulacion();
+        this.limiteDeLote = limiteDeLote;
+        this.horaLimiteNanos = inicioNanos + this.maxNanos;
+    }
+
+    /**
+     * Empieza a contar el tiempo de ejecucion, las simulaciones lo llaman al comenzar la corrida para que el tiempo
+     * que un trabajo espero en cola no cuente. En el control de una corrida de un lote no cambia la hora limite.
+     */
+    public void iniciar() {
+        if (!this.limiteDeLote) {
+            this.horaLimiteNanos = System.nanoTime() + this.maxNanos;
+        }
+    }
+
+    /**
+     * Devuelve verdadero si ya paso el tiempo maximo de ejecucion, sirve para no empezar una corrida de un lote
+     * cuyo tiempo ya se agoto.
+     */
+    public boolean tiempoAgotado() {
+        return System.nanoTime() - this.horaLimiteNanos > 0;
+    }
+
+    /**
+     * Devuelve verdadero si la corrida tiene que terminar antes de procesar el proximo evento, dejando registrado
+     * cual fue el limite alcanzado.
+     * - eventosProcesados: Cantidad de eventos que la simulacion ya proceso (sin contar el inicio).
+     * - reloj: Reloj de la simulacion despues del ultimo evento procesado.
+     */
+    public boolean debeTerminar(long eventosProcesados, double reloj) {
+        if (eventosProcesados >= this.maxEventos) {
+            this.motivoFin = MotivoFin.MaxEventos;
+            return true;
+        }
+        if (eventosProcesados % ITERACIONES_ENTRE_CONTROLES == 0) {
+            this.relojActual = reloj;
+            this.eventosProcesados = eventosProcesados;
+            if (this.cancelada) {
+                this.motivoFin = MotivoFin.Cancelada;
+                return true;
+            }
+            if (tiempoAgotado()) {
+                this.motivoFin = MotivoFin.MaxTiempoEjecucion;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra el estado final de la corrida, para que el progreso quede completo al terminar.
+     */
+    public void finalizar(long eventosProcesados, double reloj) {
+        this.relojActual = reloj;
+        this.eventosProcesados = eventosProcesados;
+    }
+
+    public void cancelar() {
+        this.cancelada = true;
+    }
+
+    public boolean isCancelada() {
+        return this.cancelada;
+    }
+
+    public MotivoFin getMotivoFin() {
+        return this.motivoFin;
+    }
+
+    public double getRelojActual() {
+        return this.relojActual;
+    }
+
+    public long getEventosProcesados() {
+        return this.eventosProcesados;
+    }
+
+    /**
+     * Fraccion del horizonte de simulacion ya simulada, entre 0 y 1.
+     */
+    public double getProgreso() {
+        if (this.tiempoSimulacion <= 0) {
+            return 1;
+        }
+        return Math.min(1, this.relojActual / this.tiempoSimulacion);
+    }
+}
@@ -0,0 +1,140 @@
+package com.demo.services;
+
+import com.demo.entities.Calentamiento;
+
+import java.util.Arrays;
+
+/**
+ * Detecta el fin del periodo de calentamiento (la corrida empieza con el sistema vacio y el servidor libre) con la
+ * regla MSER-5 sobre la permanencia de los equipos en el orden en que salen: la serie se agrupa en lotes de
+ * TAMANO_LOTE equipos y se descartan los "d" primeros lotes que minimizan el error estandar de la media de los
+ * restantes, buscando "d" en la primera mitad de los lotes.
+ * Solo se guardan las medias de los lotes y, al cerrar cada lote, el reloj, el tiempo de ocupacion acumulado y la
+ * cantidad de llegadas, para calcular los indicadores desde el punto de truncamiento. Cuando se llega a MAX_LOTES los
+ * lotes se juntan de a dos y el tamano de lote se duplica, asi la memoria no depende del largo de la corrida.
+ * El promedio de permanencia truncado usa la misma formula que el de la corrida completa (permanencia acumulada de
+ * los equipos que salieron / equipos que llegaron), contando solo lo posterior al truncamiento, asi sin lotes
+ * descartados los dos coinciden.
+ * - mediaLotes, horaFinLote, ocupacionFinLote, llegadasFinLote: Un elemento por lote cerrado.
+ * - sumaLoteActual, cantidadLoteActual: Lote que se esta llenando.
+ * - suma, cantidad: Todas las permanencias registradas, incluido el lote sin cerrar.
+ */
+public class DetectorCalentamiento {
+
+    static final int TAMANO_LOTE = 5;
+    static final int MAX_LOTES = 2048;
+    static final int MIN_LOTES = 10;
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private double[] mediaLotes = new double[CAPACIDAD_INICIAL];
+    private double[] horaFinLote = new double[CAPACIDAD_INICIAL];
+    private double[] ocupacionFinLote = new double[CAPACIDAD_INICIAL];
+    private long[] llegadasFinLote = new long[CAPACIDAD_INICIAL];
+    private int cantidadLotes = 0;
+    private int tamanoLote = TAMANO_LOTE;
+
+    private double sumaLoteActual = 0;
+    private int cantidadLoteActual = 0;
+    private double suma = 0;
+    private long cantidad = 0;
+
+    /**
+     * Registra la permanencia de un equipo que salio a la hora "reloj", con el tiempo de ocupacion del servidor
+     * acumulado hasta esa hora y la cantidad de equipos que llegaron hasta esa hora.
+     */
+    public void registrar(double permanencia, double reloj, double tiempoOcupacionAcum, long llegadas) {
+        this.suma += permanencia;
+        this.cantidad++;
+        this.sumaLoteActual += permanencia;
+        if (++this.cantidadLoteActual < this.tamanoLote) {
+            return;
+        }
+        if (this.cantidadLotes == this.mediaLotes.length) {
+            int capacidad = Math.min(this.cantidadLotes * 2, MAX_LOTES);
+            this.mediaLotes = Arrays.copyOf(this.mediaLotes, capacidad);
+            this.horaFinLote = Arrays.copyOf(this.horaFinLote, capacidad);
+            this.ocupacionFinLote = Arrays.copyOf(this.ocupacionFinLote, capacidad);
+            this.llegadasFinLote = Arrays.copyOf(this.llegadasFinLote, capacidad);
+        }
+        this.mediaLotes[this.cantidadLotes] = this.sumaLoteActual / this.tamanoLote;
+        this.horaFinLote[this.cantidadLotes] = reloj;
+        this.ocupacionFinLote[this.cantidadLotes] = tiempoOcupacionAcum;
+        this.llegadasFinLote[this.cantidadLotes] = llegadas;
+        this.cantidadLotes++;
+        this.sumaLoteActual = 0;
+        this.cantidadLoteActual = 0;
+        if (this.cantidadLotes == MAX_LOTES) {
+            juntarLotes();
+        }
+    }
+
+    /**
+     * Punto de truncamiento de la corrida e indicadores calculados desde ahi hasta "reloj", con el tiempo de ocupacion
+     * y las llegadas acumulados hasta "reloj". Con menos de MIN_LOTES
+     * lotes no se descarta nada y el resultado no es confiable; tampoco lo es si el minimo cae en el ultimo lote que
+     * se puede descartar, porque la corrida puede no haber llegado al estado estacionario.
+     */
+    public Calentamiento resultado(double reloj, double tiempoOcupacionAcum, long llegadas) {
+        int descartados = this.cantidadLotes >= MIN_LOTES ? lotesADescartar() : 0;
+        double horaTruncamiento = descartados > 0 ? this.horaFinLote[descartados - 1] : 0;
+        double ocupacionTruncamiento = descartados > 0 ? this.ocupacionFinLote[descartados - 1] : 0;
+        long llegadasTruncamiento = descartados > 0 ? this.llegadasFinLote[descartados - 1] : 0;
+
+        long equiposDescartados = (long) descartados * this.tamanoLote;
+        double sumaDescartada = 0;
+        for (int i = 0; i < descartados; i++) {
+            sumaDescartada += this.mediaLotes[i] * this.tamanoLote;
+        }
+        long llegadasRestantes = llegadas - llegadasTruncamiento;
+        double tiempoRestante = reloj - horaTruncamiento;
+
+        return new Calentamiento(
+                this.tamanoLote,
+                this.cantidadLotes,
+                descartados,
+                equiposDescartados,
+                horaTruncamiento,
+                llegadasRestantes > 0 ? (this.suma - sumaDescartada) / llegadasRestantes : Double.NaN,
+                tiempoRestante > 0 ? (tiempoOcupacionAcum - ocupacionTruncamiento) / tiempoRestante * 100 : Double.NaN,
+                this.cantidadLotes >= MIN_LOTES && descartados < this.cantidadLotes / 2);
+    }
+
+    /**
+     * Cantidad de lotes del principio que minimiza MSER(d) = suma de (media - media desde d)^2 / (lotes desde d)^2,
+     * con sumas desde el final para calcularlo en un solo recorrido.
+     */
+    private int lotesADescartar() {
+        int maximoDescartable = this.cantidadLotes / 2;
+        double sumaDesde = 0;
+        double sumaCuadradosDesde = 0;
+        for (int i = this.cantidadLotes - 1; i > maximoDescartable; i--) {
+            sumaDesde += this.mediaLotes[i];
+            sumaCuadradosDesde += this.mediaLotes[i] * this.mediaLotes[i];
+        }
+        int mejor = maximoDescartable;
+        double mejorMser = Double.POSITIVE_INFINITY;
+        for (int d = maximoDescartable; d >= 0; d--) {
+            sumaDesde += this.mediaLotes[d];
+            sumaCuadradosDesde += this.mediaLotes[d] * this.mediaLotes[d];
+            int restantes = this.cantidadLotes - d;
+            double sumaErrores = Math.max(0, sumaCuadradosDesde - sumaDesde * sumaDesde / restantes);
+            double mser = sumaErrores / ((double) restantes * restantes);
+            if (mser <= mejorMser) {
+                mejorMser = mser;
+                mejor = d;
+            }
+        }
+        return mejor;
+    }
+
+    private void juntarLotes() {
+        for (int i = 0; i < this.cantidadLotes / 2; i++) {
+            this.mediaLotes[i] = (this.mediaLotes[2 * i] + this.mediaLotes[2 * i + 1]) / 2;
+            this.horaFinLote[i] = this.horaFinLote[2 * i + 1];
+            this.ocupacionFinLote[i] = this.ocupacionFinLote[2 * i + 1];
+            this.llegadasFinLote[i] = this.llegadasFinLote[2 * i + 1];
+        }
+        this.cantidadLotes /= 2;
+        this.tamanoLote *= 2;
+    }
+}
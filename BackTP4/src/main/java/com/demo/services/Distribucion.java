@@ -0,0 +1,26 @@
+package com.demo.services;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Distribucion de un tiempo del modelo, muestreada por el metodo de la transformada inversa: a cada numero aleatorio
+ * entre 0 y 1 le corresponde un valor de la variable. Como DoubleUnaryOperator se pasa a Llegada y FinTrabajo, que
+ * no conocen las clases del servicio.
+ */
+public interface Distribucion extends DoubleUnaryOperator {
+
+    /**
+     * Valor de la variable que corresponde al numero aleatorio "rnd".
+     */
+    double muestra(double rnd);
+
+    /**
+     * Media de la distribucion, se muestra en el vector de estados.
+     */
+    double media();
+
+    @Override
+    default double applyAsDouble(double rnd) {
+        return muestra(rnd);
+    }
+}
@@ -0,0 +1,280 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_Distribucion;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.ParametrosSimulacion;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Arma las distribuciones de los tiempos de una corrida a partir de los parametros, una sola vez al empezar.
+ * Si no se pide una distribucion se usan las del enunciado: uniforme entre 0.5 y 1.5 horas entre llegadas, y
+ * uniforme entre media - limite inferior y media + limite superior para la atencion de cada tipo de trabajo.
+ *
+ * Como los numeros aleatorios del modelo se redondean a 2 decimales solo hay 101 valores posibles, asi que cada
+ * distribucion se tabula en esos 101 puntos y en el ciclo de la simulacion muestrear es leer un array, sin importar
+ * lo costosa que sea la inversa (la normal, por ejemplo).
+ */
+public final class Distribuciones {
+
+    private static final double LLEGADA_MINIMO = 0.5;
+    private static final double LLEGADA_MAXIMO = 1.5;
+
+    /**
+     * Los numeros aleatorios 0 y 1 representan intervalos de ancho 0.005 (por el redondeo), en las distribuciones no
+     * acotadas se evaluan en el centro de esos intervalos para no devolver infinito.
+     */
+    private static final double RND_MINIMO = 0.005;
+    private static final double TOLERANCIA = 1e-6;
+
+    private Distribuciones() {
+    }
+
+    public static Distribucion llegadas(ParametrosSimulacion parametros) {
+        Dto_Distribucion pedida = parametros.getDistribucionLlegadas();
+        if (pedida == null) {
+            return tabular(new Uniforme(LLEGADA_MINIMO, LLEGADA_MAXIMO, (LLEGADA_MINIMO + LLEGADA_MAXIMO) / 2));
+        }
+        return tabular(crear(pedida, "entre llegadas"));
+    }
+
+    /**
+     * Distribuciones del tiempo de atencion, una por tipo de trabajo en el orden del enum Trabajo.
+     */
+    public static Distribucion[] tiemposAtencion(ParametrosSimulacion parametros) {
+        List<Dto_Distribucion> pedidas = parametros.getDistribucionesTrabajo();
+        Trabajo[] tipos = Trabajo.values();
+        Distribucion[] distribuciones = new Distribucion[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            Dto_Distribucion pedida = pedidas != null && i < pedidas.size() ? pedidas.get(i) : null;
+            if (pedida == null) {
+                double media = parametros.getTiemposMediaTrabajo().get(i);
+                if (media - parametros.getLimite_inferiorUniforme() < 0
+                        || parametros.getLimite_inferiorUniforme() < 0 || parametros.getLimite_superiorUniforme() < 0) {
+                    throw invalida("de atencion del trabajo " + tipos[i],
+                            "los limites de la uniforme no pueden ser negativos ni dar tiempos negativos");
+                }
+                distribuciones[i] = tabular(new Uniforme(
+                        media - parametros.getLimite_inferiorUniforme(),
+                        media + parametros.getLimite_superiorUniforme(),
+                        media));
+            } else {
+                distribuciones[i] = tabular(crear(pedida, "de atencion del trabajo " + tipos[i]));
+            }
+        }
+        return distribuciones;
+    }
+
+    /**
+     * Verifica las distribuciones pedidas antes de encolar una corrida, si alguna es invalida responde 400.
+     */
+    public static void validar(ParametrosSimulacion parametros) {
+        llegadas(parametros);
+        tiemposAtencion(parametros);
+    }
+
+    private static Distribucion crear(Dto_Distribucion pedida, String tiempo) {
+        if (pedida.getTipo() == null) {
+            throw invalida(tiempo, "falta el tipo");
+        }
+        switch (pedida.getTipo()) {
+            case Uniforme:
+                if (pedida.getMinimo() == null || pedida.getMaximo() == null || pedida.getMinimo() > pedida.getMaximo()) {
+                    throw invalida(tiempo, "la uniforme necesita minimo <= maximo");
+                }
+                if (pedida.getMinimo() < 0) {
+                    throw invalida(tiempo, "la uniforme necesita un minimo no negativo, un tiempo no puede ser negativo");
+                }
+                return new Uniforme(pedida.getMinimo(), pedida.getMaximo(), (pedida.getMinimo() + pedida.getMaximo()) / 2);
+            case Exponencial:
+                if (pedida.getMedia() == null || !(pedida.getMedia() > 0)) {
+                    throw invalida(tiempo, "la exponencial necesita una media mayor a 0");
+                }
+                return new Exponencial(pedida.getMedia());
+            case Normal:
+                if (pedida.getMedia() == null || pedida.getDesvio() == null || !(pedida.getDesvio() >= 0)) {
+                    throw invalida(tiempo, "la normal necesita media y un desvio no negativo");
+                }
+                return new Normal(pedida.getMedia(), pedida.getDesvio());
+            case Empirica:
+                return empirica(pedida, tiempo);
+            default:
+                throw invalida(tiempo, "tipo desconocido");
+        }
+    }
+
+    private static Distribucion empirica(Dto_Distribucion pedida, String tiempo) {
+        List<Double> valores = pedida.getValores();
+        List<Double> probabilidades = pedida.getProbabilidades();
+        if (valores == null || probabilidades == null || valores.isEmpty() || valores.size() != probabilidades.size()) {
+            throw invalida(tiempo, "la empirica necesita la misma cantidad de valores y probabilidades");
+        }
+        double[] valoresTabla = new double[valores.size()];
+        double[] limitesInferiores = new double[valores.size()];
+        double suma = 0;
+        double media = 0;
+        for (int i = 0; i < valoresTabla.length; i++) {
+            Double valor = valores.get(i);
+            Double probabilidad = probabilidades.get(i);
+            if (valor == null || probabilidad == null || probabilidad < 0) {
+                throw invalida(tiempo, "la empirica tiene valores o probabilidades invalidos");
+            }
+            if (valor < 0) {
+                throw invalida(tiempo, "la empirica tiene un valor negativo, un tiempo no puede ser negativo");
+            }
+            valoresTabla[i] = valor;
+            limitesInferiores[i] = suma;
+            suma += probabilidad;
+            media += valor * probabilidad;
+        }
+        if (Math.abs(suma - 1) > TOLERANCIA) {
+            throw invalida(tiempo, "las probabilidades de la empirica deben sumar 1");
+        }
+        return new Empirica(valoresTabla, limitesInferiores, media);
+    }
+
+    private static ResponseStatusException invalida(String tiempo, String motivo) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Distribucion del tiempo " + tiempo + " invalida: " + motivo);
+    }
+
+    private static double acotarRnd(double rnd) {
+        return Math.min(Math.max(rnd, RND_MINIMO), 1 - RND_MINIMO);
+    }
+
+    private static Distribucion tabular(Distribucion distribucion) {
+        return new Tabulada(distribucion);
+    }
+
+    private static final class Uniforme implements Distribucion {
+        private final double minimo;
+        private final double maximo;
+        private final double media;
+
+        Uniforme(double minimo, double maximo, double media) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.media = media;
+        }
+
+        @Override
+        public double muestra(double rnd) {
+            return this.minimo + rnd * (this.maximo - this.minimo);
+        }
+
+        @Override
+        public double media() {
+            return this.media;
+        }
+    }
+
+    private static final class Exponencial implements Distribucion {
+        private final double media;
+
+        Exponencial(double media) {
+            this.media = media;
+        }
+
+        @Override
+        public double muestra(double rnd) {
+            return -this.media * Math.log(1 - acotarRnd(rnd));
+        }
+
+        @Override
+        public double media() {
+            return this.media;
+        }
+    }
+
+    /**
+     * Normal truncada en 0, un tiempo no puede ser negativo.
+     */
+    private static final class Normal implements Distribucion {
+        private final double media;
+        private final double desvio;
+
+        Normal(double media, double desvio) {
+            this.media = media;
+            this.desvio = desvio;
+        }
+
+        @Override
+        public double muestra(double rnd) {
+            return Math.max(0, this.media + this.desvio * FuncionesEstadisticas.cuantilNormal(acotarRnd(rnd)));
+        }
+
+        @Override
+        public double media() {
+            return this.media;
+        }
+    }
+
+    /**
+     * Tabla de valores discretos: sale el ultimo valor cuyo limite inferior acumulado es menor o igual al rnd.
+     */
+    private static final class Empirica implements Distribucion {
+        private final double[] valores;
+        private final double[] limitesInferiores;
+        private final double media;
+
+        Empirica(double[] valores, double[] limitesInferiores, double media) {
+            this.valores = valores;
+            this.limitesInferiores = limitesInferiores;
+            this.media = media;
+        }
+
+        @Override
+        public double muestra(double rnd) {
+            int desde = 0;
+            int hasta = this.limitesInferiores.length;
+            while (desde < hasta) {
+                int medio = (desde + hasta) >>> 1;
+                if (this.limitesInferiores[medio] <= rnd) {
+                    desde = medio + 1;
+                } else {
+                    hasta = medio;
+                }
+            }
+            return this.valores[Math.max(0, desde - 1)];
+        }
+
+        @Override
+        public double media() {
+            return this.media;
+        }
+    }
+
+    /**
+     * Valores de la distribucion precalculados en los 101 numeros aleatorios de 2 decimales. Un rnd que no es de
+     * 2 decimales se calcula con la distribucion original.
+     */
+    private static final class Tabulada implements Distribucion {
+        private static final int PASOS = 100;
+
+        private final Distribucion distribucion;
+        private final double[] tabla = new double[PASOS + 1];
+
+        Tabulada(Distribucion distribucion) {
+            this.distribucion = distribucion;
+            for (int k = 0; k <= PASOS; k++) {
+                this.tabla[k] = distribucion.muestra(k / 100.0);
+            }
+        }
+
+        @Override
+        public double muestra(double rnd) {
+            long k = Math.round(rnd * PASOS);
+            if (k >= 0 && k <= PASOS && k / 100.0 == rnd) {
+                return this.tabla[(int) k];
+            }
+            return this.distribucion.muestra(rnd);
+        }
+
+        @Override
+        public double media() {
+            return this.distribucion.media();
+        }
+    }
+}
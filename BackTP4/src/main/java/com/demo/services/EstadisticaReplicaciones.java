@@ -0,0 +1,38 @@
+package com.demo.services;
+
+import com.demo.entities.IntervaloConfianza;
+
+/**
+ * Acumula un indicador replicacion a replicacion (algoritmo de Welford, sin guardar las observaciones) y calcula
+ * su intervalo de confianza.
+ */
+public class EstadisticaReplicaciones {
+
+    private long cantidad = 0;
+    private double media = 0;
+    private double sumaCuadrados = 0;
+
+    public void agregar(double valor) {
+        this.cantidad++;
+        double delta = valor - this.media;
+        this.media += delta / this.cantidad;
+        this.sumaCuadrados += delta * (valor - this.media);
+    }
+
+    public IntervaloConfianza intervalo(double nivelConfianza) {
+        IntervaloConfianza intervalo = new IntervaloConfianza();
+        double varianza = this.cantidad > 1 ? this.sumaCuadrados / (this.cantidad - 1) : 0;
+        double desvio = Math.sqrt(varianza);
+        double semiamplitud = this.cantidad > 1
+                ? FuncionesEstadisticas.cuantilTStudent(1 - (1 - nivelConfianza) / 2, (int) (this.cantidad - 1))
+                        * desvio / Math.sqrt(this.cantidad)
+                : Double.NaN;
+        intervalo.setMedia(this.media);
+        intervalo.setVarianza(varianza);
+        intervalo.setDesvio(desvio);
+        intervalo.setSemiamplitud(semiamplitud);
+        intervalo.setLimiteInferior(this.media - semiamplitud);
+        intervalo.setLimiteSuperior(this.media + semiamplitud);
+        return intervalo;
+    }
+}
@@ -0,0 +1,136 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.FormatoExportacion;
+import com.demo.entities.FilaVector;
+import com.demo.entities.FinTrabajo;
+import com.demo.entities.Llegada;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escribe el vector de estados de una corrida (o las filas que cumplen los filtros, ver IndiceFilas.buscar) en un
+ * stream, fila por fila, sin armar la respuesta completa en memoria. Las filas se piden al almacen por lotes
+ * (ver SimulacionPractica.recorrerFilas), asi que la memoria usada no depende de la cantidad de filas.
+ * - Ndjson: Una fila por linea, con el mismo JSON que devuelve /api/datos.
+ * - Csv: Una fila por linea con las columnas de CSV_COLUMNAS. Los equipos no se incluyen, solo cuantos hay en el
+ *      sistema; su recorrido esta en la exportacion de trazas.
+ */
+@Service
+public class ExportadorFilas {
+
+    public static final String CSV_COLUMNAS = "fila,evento,reloj,rndLlegada,tiempoEntreLlegada,horaProximaLlegada,"
+            + "rndTipoTrabajo,trabajo,colaComun,colaTrabajoC,trabajoCSegundoPlano,lugaresLibres,contadorEquipo,"
+            + "promedioPermanencia,promedioOcupacion,rndFinTrabajo,mediaTiempoAtencion,tiempoAtencion,horaFinTrabajo,"
+            + "estadoServidor,tiempoOcupacionAcum,tiempoPermanenciaEquipoAcum,equiposEnSistema";
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter escritorFilas;
+
+    public ExportadorFilas(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Sin flush por fila, el buffer se vacia cuando se llena
+        this.escritorFilas = objectMapper.writerFor(FilaVector.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void exportar(SimulacionPractica simulacion, FormatoExportacion formato, boolean gzip,
+                         Double relojDesde, Double relojHasta, Eventos tipoEvento, Integer idEquipo,
+                         OutputStream salida) throws IOException {
+        GZIPOutputStream comprimida = gzip ? new GZIPOutputStream(salida, TAMANO_BUFFER) : null;
+        Writer escritor = new BufferedWriter(
+                new OutputStreamWriter(comprimida != null ? comprimida : salida, StandardCharsets.UTF_8),
+                TAMANO_BUFFER);
+        try {
+            if (formato == FormatoExportacion.Csv) {
+                escribirCsv(simulacion, relojDesde, relojHasta, tipoEvento, idEquipo, escritor);
+            } else {
+                escribirNdjson(simulacion, relojDesde, relojHasta, tipoEvento, idEquipo, escritor);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.flush();
+        if (comprimida != null) {
+            comprimida.finish();
+        }
+        salida.flush();
+    }
+
+    private void escribirNdjson(SimulacionPractica simulacion, Double relojDesde, Double relojHasta,
+                                Eventos tipoEvento, Integer idEquipo, Writer escritor) throws IOException {
+        try (JsonGenerator generador = this.objectMapper.getFactory().createGenerator(escritor)) {
+            // El generador no cierra el stream de la respuesta y separa las filas con un salto de linea
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generador.setRootValueSeparator(null);
+            simulacion.recorrerFilas(relojDesde, relojHasta, tipoEvento, idEquipo, (fila, indice) -> {
+                try {
+                    this.escritorFilas.writeValue(generador, fila);
+                    generador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void escribirCsv(SimulacionPractica simulacion, Double relojDesde, Double relojHasta,
+                             Eventos tipoEvento, Integer idEquipo, Writer escritor) throws IOException {
+        escritor.write(CSV_COLUMNAS);
+        escritor.write('\n');
+        StringBuilder linea = new StringBuilder(256);
+        simulacion.recorrerFilas(relojDesde, relojHasta, tipoEvento, idEquipo, (fila, indice) -> {
+            linea.setLength(0);
+            Llegada llegada = fila.getLlegada();
+            FinTrabajo finTrabajo = fila.getFinTrabajo();
+            linea.append(indice).append(',').append(fila.getEvento()).append(',').append(fila.getReloj());
+            agregar(linea, llegada.getRndLlegada());
+            agregar(linea, llegada.getTiempoEntreLlegada());
+            agregar(linea, llegada.getHoraProximaLlegada());
+            agregar(linea, llegada.getRndTipoTrabajo());
+            agregar(linea, llegada.getTrabajo());
+            agregar(linea, fila.getColaVector().getColaComun());
+            agregar(linea, fila.getColaVector().getColaTrabajoC());
+            agregar(linea, fila.getColaVector().getTrabajoCSegundoPlano());
+            agregar(linea, fila.getColaVector().getLugaresLibres());
+            agregar(linea, fila.getContadorEquipo());
+            agregar(linea, fila.getPromedioPermanencia());
+            agregar(linea, fila.getPromedioOcupacion());
+            agregar(linea, finTrabajo.getRndFinTrabajo());
+            agregar(linea, finTrabajo.getMediaTiempoAtencion());
+            agregar(linea, finTrabajo.getTiempoAtencion());
+            agregar(linea, finTrabajo.getHoraFinTrabajo());
+            agregar(linea, fila.getServidor().getEstado());
+            agregar(linea, fila.getServidor().getTiempoOcupacionAcum());
+            agregar(linea, fila.getServidor().getTiempoPermanenciaEquipoAcum());
+            agregar(linea, fila.getEquipos() != null ? fila.getEquipos().size() : 0);
+            linea.append('\n');
+            try {
+                escritor.append(linea);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void agregar(StringBuilder linea, Object valor) {
+        linea.append(',');
+        if (valor != null) {
+            linea.append(valor);
+        }
+    }
+}
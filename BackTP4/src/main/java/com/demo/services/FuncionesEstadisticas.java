@@ -0,0 +1,141 @@
+package com.demo.services;
+
+/**
+ * Funciones de distribucion que se necesitan para los intervalos de confianza y las distribuciones de los tiempos.
+ */
+public final class FuncionesEstadisticas {
+
+    private FuncionesEstadisticas() {
+    }
+
+    // Coeficientes de la aproximacion racional de Acklam para la inversa de la normal estandar
+    private static final double[] A = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] B = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] C = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] D = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+    private static final double P_BAJO = 0.02425;
+
+    /**
+     * Inversa de la funcion de distribucion normal estandar (error relativo menor a 1.2e-9).
+     */
+    public static double cuantilNormal(double p) {
+        if (p <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (p < P_BAJO) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) /
+                    ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        if (p > 1 - P_BAJO) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5]) /
+                    ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q /
+                (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+    }
+
+    // Desde esta cantidad de grados de libertad el cuantil de la t se aproxima con Cornish-Fisher
+    private static final int GRADOS_LIBERTAD_APROXIMACION = 30;
+    private static final int MAX_ITERACIONES_NEWTON = 50;
+
+    /**
+     * Inversa de la funcion de distribucion t de Student con "gradosLibertad" grados de libertad. Para 1 y 2 grados
+     * de libertad usa la formula exacta; hasta 29 parte de la expansion de Cornish-Fisher y la corrige con el metodo
+     * de Newton sobre la distribucion exacta (ver distribucionTStudent), y desde 30 usa solo la expansion, cuyo error
+     * ahi es menor a 1e-4 para p entre 0.0005 y 0.9995.
+     */
+    public static double cuantilTStudent(double p, int gradosLibertad) {
+        if (gradosLibertad < 1) {
+            throw new IllegalArgumentException("La t de Student necesita al menos un grado de libertad");
+        }
+        if (gradosLibertad == 1) {
+            return Math.tan(Math.PI * (p - 0.5));
+        }
+        if (gradosLibertad == 2) {
+            return (2 * p - 1) / Math.sqrt(2 * p * (1 - p));
+        }
+        double t = cornishFisher(p, gradosLibertad);
+        if (gradosLibertad >= GRADOS_LIBERTAD_APROXIMACION || p <= 0 || p >= 1) {
+            return t;
+        }
+        for (int i = 0; i < MAX_ITERACIONES_NEWTON; i++) {
+            double paso = (distribucionTStudent(t, gradosLibertad) - p) / densidadTStudent(t, gradosLibertad);
+            t -= paso;
+            if (Math.abs(paso) <= 1e-12 * Math.max(1, Math.abs(t))) {
+                break;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Funcion de distribucion de la t de Student con "gradosLibertad" grados de libertad enteros, con la suma finita
+     * en potencias de cos(theta), theta = atan(t / raiz(gradosLibertad)) (Abramowitz y Stegun 26.7.3 y 26.7.4).
+     */
+    static double distribucionTStudent(double t, int gradosLibertad) {
+        double theta = Math.atan(t / Math.sqrt(gradosLibertad));
+        double seno = Math.sin(theta);
+        double coseno2 = Math.cos(theta) * Math.cos(theta);
+        double probabilidadCentral;
+        if (gradosLibertad % 2 == 1) {
+            double suma = 0;
+            double termino = Math.cos(theta);
+            for (int k = 3; k <= gradosLibertad; k += 2) {
+                suma += termino;
+                termino *= coseno2 * (k - 1) / k;
+            }
+            probabilidadCentral = 2 / Math.PI * (theta + seno * suma);
+        } else {
+            double suma = 0;
+            double termino = 1;
+            for (int k = 2; k <= gradosLibertad; k += 2) {
+                suma += termino;
+                termino *= coseno2 * (k - 1) / k;
+            }
+            probabilidadCentral = seno * suma;
+        }
+        return 0.5 + probabilidadCentral / 2;
+    }
+
+    /**
+     * Densidad de la t de Student. La constante Gamma((n + 1) / 2) / Gamma(n / 2) se arma con la recurrencia
+     * r(n + 2) = r(n) * (n + 1) / n desde r(1) = 1 / raiz(pi) y r(2) = raiz(pi) / 2.
+     */
+    private static double densidadTStudent(double t, int gradosLibertad) {
+        double razonGamma = gradosLibertad % 2 == 1 ? 1 / Math.sqrt(Math.PI) : Math.sqrt(Math.PI) / 2;
+        for (int n = 2 - gradosLibertad % 2; n + 2 <= gradosLibertad; n += 2) {
+            razonGamma *= (n + 1.0) / n;
+        }
+        return razonGamma / Math.sqrt(gradosLibertad * Math.PI)
+                * Math.pow(1 + t * t / gradosLibertad, -(gradosLibertad + 1) / 2.0);
+    }
+
+    /**
+     * Expansion de Cornish-Fisher del cuantil de la t alrededor del de la normal.
+     */
+    private static double cornishFisher(double p, int gradosLibertad) {
+        double z = cuantilNormal(p);
+        double n = gradosLibertad;
+        double z2 = z * z;
+        double z3 = z2 * z;
+        double z5 = z3 * z2;
+        double z7 = z5 * z2;
+        double z9 = z7 * z2;
+        return z
+                + (z3 + z) / (4 * n)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * n * n)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * n * n * n)
+                + (79 * z9 + 776 * z7 + 1482 * z5 - 1920 * z3 - 945 * z) / (92160 * n * n * n * n);
+    }
+}
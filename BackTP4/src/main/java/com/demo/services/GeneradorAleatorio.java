@@ -0,0 +1,52 @@
+package com.demo.services;
+
+import java.util.SplittableRandom;
+
+/**
+ * Numeros aleatorios de una corrida. A partir de la semilla se crea un flujo independiente para cada uso del modelo
+ * (tiempo entre llegadas, tipo de trabajo y tiempo de atencion), asi agregar o quitar sorteos de un tipo no cambia
+ * los numeros de los otros, y con la misma semilla la corrida es siempre la misma.
+ * Los sorteos no crean objetos. Para replicaciones en paralelo, "dividir()" devuelve un generador con flujos
+ * independientes de este, que puede usarse en otro hilo.
+ */
+public class GeneradorAleatorio implements NumerosAleatorios {
+
+    private final SplittableRandom raiz;
+    private final SplittableRandom llegadas;
+    private final SplittableRandom tiposTrabajo;
+    private final SplittableRandom tiemposAtencion;
+
+    public GeneradorAleatorio(long semilla) {
+        this(new SplittableRandom(semilla));
+    }
+
+    private GeneradorAleatorio(SplittableRandom raiz) {
+        this.raiz = raiz;
+        this.llegadas = raiz.split();
+        this.tiposTrabajo = raiz.split();
+        this.tiemposAtencion = raiz.split();
+    }
+
+    /**
+     * Devuelve un generador independiente de este. Las divisiones sucesivas de un mismo generador son siempre las
+     * mismas para una semilla dada, por lo que la replicacion i recibe siempre los mismos numeros.
+     */
+    public GeneradorAleatorio dividir() {
+        return new GeneradorAleatorio(this.raiz.split());
+    }
+
+    @Override
+    public double rndLlegada() {
+        return this.llegadas.nextDouble();
+    }
+
+    @Override
+    public double rndTipoTrabajo() {
+        return this.tiposTrabajo.nextDouble();
+    }
+
+    @Override
+    public double rndTiempoAtencion() {
+        return this.tiemposAtencion.nextDouble();
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.MotivoFin;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosReplicaciones;
+import com.demo.entities.ResultadosSimulacion;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Ejecuta replicaciones independientes del modelo en paralelo, una por tarea del ForkJoinPool de replicaciones, y
+ * las resume en intervalos de confianza y en percentiles de los histogramas de tiempos combinados. Cada replicacion
+ * usa la simulacion sin vector de estados y su propio generador de numeros aleatorios, obtenido dividiendo un
+ * generador raiz creado con la semilla antes de lanzar las tareas, asi las replicaciones no comparten estado entre
+ * hilos y la misma semilla repite las mismas replicaciones.
+ *
+ * El tiempo maximo de ejecucion de los parametros es del lote entero y no de cada replicacion: todas las
+ * replicaciones terminan a la misma hora y las que no empezaron antes de esa hora no se ejecutan, asi el pedido
+ * espera como mucho ese tiempo aunque haya mas replicaciones que hilos.
+ */
+@Service
+public class GestorReplicaciones {
+
+    private final ForkJoinPool ejecutorReplicaciones;
+    private final MetricasSimulacion metricasSimulacion;
+
+    public GestorReplicaciones(ForkJoinPool ejecutorReplicaciones, MetricasSimulacion metricasSimulacion) {
+        this.ejecutorReplicaciones = ejecutorReplicaciones;
+        this.metricasSimulacion = metricasSimulacion;
+    }
+
+    public ResultadosReplicaciones replicar(ParametrosSimulacion parametros) {
+        int replicaciones = parametros.getReplicaciones();
+        double nivelConfianza = parametros.getNivelConfianza();
+        if (replicaciones < 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se necesitan al menos 2 replicaciones");
+        }
+        if (nivelConfianza <= 0 || nivelConfianza >= 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El nivel de confianza debe estar entre 0 y 1");
+        }
+
+        MuestreadorTipoTrabajo.validar(parametros.getProbabilidadesTipoTrabajo());
+        Distribuciones.validar(parametros);
+
+        long inicio = System.nanoTime();
+        GeneradorAleatorio raiz = new GeneradorAleatorio(parametros.getSemilla());
+        GeneradorAleatorio[] generadores = new GeneradorAleatorio[replicaciones];
+        for (int i = 0; i < replicaciones; i++) {
+            generadores[i] = raiz.dividir();
+        }
+
+        List<SimulacionRapida> simulaciones = IntStream.range(0, replicaciones)
+                .mapToObj(i -> new SimulacionRapida(parametros, generadores[i], new ControlEjecucion(parametros, inicio)))
+                .toList();
+        // Con el tiempo del lote agotado las replicaciones que faltan no empiezan, su resultado queda en null
+        ControlEjecucion controlLote = new ControlEjecucion(parametros, inicio);
+        List<ResultadosSimulacion> resultados = this.ejecutorReplicaciones.submit(() ->
+                IntStream.range(0, replicaciones).parallel()
+                        .mapToObj(i -> controlLote.tiempoAgotado() ? null : simulaciones.get(i).ejecutar())
+                        .toList()
+        ).join();
+        int ejecutadas = (int) resultados.stream().filter(Objects::nonNull).count();
+        if (ejecutadas < 2) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El tiempo maximo de ejecucion ("
+                    + parametros.getMaxTiempoEjecucionMs() + " ms) no alcanzo para empezar 2 replicaciones");
+        }
+
+        EstadisticaReplicaciones permanencia = new EstadisticaReplicaciones();
+        EstadisticaReplicaciones ocupacion = new EstadisticaReplicaciones();
+        EstadisticaReplicaciones colaComun = new EstadisticaReplicaciones();
+        EstadisticaReplicaciones bloqueo = new EstadisticaReplicaciones();
+        EstadisticaReplicaciones tasaSalida = new EstadisticaReplicaciones();
+        HistogramasTiempos histogramas = new HistogramasTiempos();
+        int incompletas = 0;
+        for (int i = 0; i < replicaciones; i++) {
+            ResultadosSimulacion resultado = resultados.get(i);
+            if (resultado == null) {
+                continue;
+            }
+            histogramas.combinar(simulaciones.get(i).getHistogramasTiempos());
+            this.metricasSimulacion.registrar(resultado, "Rapida");
+            permanencia.agregar(resultado.getPromedioPermanencia());
+            ocupacion.agregar(resultado.getPorcentajeOcupacionServidor());
+            colaComun.agregar(resultado.getIndicadoresColas().getPromedioColaComun());
+            bloqueo.agregar(resultado.getIndicadoresColas().getProbabilidadBloqueo());
+            tasaSalida.agregar(resultado.getIndicadoresColas().getTasaSalida());
+            if (resultado.getMotivoFin() != MotivoFin.TiempoSimulacion) {
+                incompletas++;
+            }
+        }
+
+        ResultadosReplicaciones resumen = new ResultadosReplicaciones();
+        resumen.setCantidadReplicaciones(ejecutadas);
+        resumen.setNivelConfianza(nivelConfianza);
+        resumen.setPromedioPermanencia(permanencia.intervalo(nivelConfianza));
+        resumen.setPorcentajeOcupacionServidor(ocupacion.intervalo(nivelConfianza));
+        resumen.setPromedioColaComun(colaComun.intervalo(nivelConfianza));
+        resumen.setProbabilidadBloqueo(bloqueo.intervalo(nivelConfianza));
+        resumen.setTasaSalida(tasaSalida.intervalo(nivelConfianza));
+        resumen.setPercentilesPermanencia(histogramas.percentilesPermanencia());
+        resumen.setPercentilesEspera(histogramas.percentilesEspera());
+        resumen.setReplicacionesIncompletas(incompletas);
+        resumen.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+        resumen.setSemilla(parametros.getSemilla());
+        return resumen;
+    }
+}
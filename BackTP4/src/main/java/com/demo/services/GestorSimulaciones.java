@@ -0,0 +1,191 @@
+package com.demo.services;
+
+import com.demo.config.AlmacenSimulacion;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilasEncontradas;
+import com.demo.entities.FilasPaginadas;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import com.demo.entities.TrazaEquipo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Crea una simulacion nueva por cada corrida y guarda las corridas con vector de estados en sesiones identificadas
+ * por un id, para poder paginar sus filas despues. Cada corrida tiene su propio estado, por lo que varias
+ * corridas pueden ejecutarse al mismo tiempo sin pisarse.
+ * Solo se guardan las ultimas "maxSesiones" corridas, las mas viejas se descartan, y una sesion se descarta
+ * tambien cuando pasa "ttl" desde que se creo. Los pedidos leen las sesiones con leer o abrirSesion, asi una sesion
+ * descartada mientras se lee se cierra (borrando los archivos si la corrida se guardaba en disco, ver
+ * AlmacenSimulacion) recien cuando termina el ultimo pedido.
+ */
+@Service
+public class GestorSimulaciones {
+
+    private final ConcurrentHashMap<String, SesionSimulacion> sesiones = new ConcurrentHashMap<>();
+    // Orden en que se guardaron las sesiones, solo se usa dentro de los bloques sincronizados
+    private final ArrayDeque<String> ordenSesiones = new ArrayDeque<>();
+    private final int maxSesiones;
+    private final Duration ttl;
+    private final AlmacenSimulacion almacenSimulacion;
+    private final MetricasSimulacion metricasSimulacion;
+
+    public GestorSimulaciones(@Value("${simulacion.sesiones.max-retenidas:20}") int maxSesiones,
+                              @Value("${simulacion.sesiones.ttl-minutos:30}") long ttlMinutos,
+                              AlmacenSimulacion almacenSimulacion,
+                              MetricasSimulacion metricasSimulacion) {
+        this.maxSesiones = maxSesiones;
+        this.ttl = Duration.ofMinutes(ttlMinutos);
+        this.almacenSimulacion = almacenSimulacion;
+        this.metricasSimulacion = metricasSimulacion;
+        metricasSimulacion.registrarSesiones(this.sesiones::size, this::bytesVectoresEstados);
+    }
+
+    public ResultadosSimulacion simular(ParametrosSimulacion parametros) {
+        return simular(parametros, new ControlEjecucion(parametros));
+    }
+
+    public ResultadosSimulacion simular(ParametrosSimulacion parametros, ControlEjecucion controlEjecucion) {
+        return simular(parametros, controlEjecucion, null);
+    }
+
+    /**
+     * Corrida que ademas publica sus filas e indicadores en "canalFilas" mientras se ejecuta (null para no
+     * transmitirla). La simulacion primitiva no tiene filas y no publica nada.
+     */
+    public ResultadosSimulacion simular(ParametrosSimulacion parametros, ControlEjecucion controlEjecucion,
+                                        CanalFilas canalFilas) {
+        // Sin vector de estados se usa la simulacion primitiva, que solo calcula los indicadores
+        if (parametros.isSoloEstadisticas()) {
+            ResultadosSimulacion resultados =
+                    new SimulacionRapida(parametros, new GeneradorAleatorio(parametros.getSemilla()), controlEjecucion).ejecutar();
+            this.metricasSimulacion.registrar(resultados, "Rapida");
+            return resultados;
+        }
+
+        SimulacionPractica simulacion = new SimulacionPractica(this.almacenSimulacion.crear());
+        simulacion.setCanalFilas(canalFilas);
+        ResultadosSimulacion resultados;
+        try {
+            resultados = simulacion.cola(parametros, controlEjecucion);
+        } catch (RuntimeException e) {
+            simulacion.liberarFilas();
+            throw e;
+        }
+
+        this.metricasSimulacion.registrar(resultados, "Practica");
+
+        String id = UUID.randomUUID().toString();
+        resultados.setIdSimulacion(id);
+        guardarSesion(new SesionSimulacion(id, Instant.now(), simulacion, resultados));
+        return resultados;
+    }
+
+    public FilasPaginadas getFilasPaginadas(String idSimulacion, Integer page) {
+        return leer(idSimulacion, simulacion -> simulacion.getFilasPaginadas(page));
+    }
+
+    public FilasPaginadas getFilasPaginadas(String idSimulacion, int page, int tamanoPagina) {
+        return leer(idSimulacion, simulacion -> simulacion.getFilasPaginadas(page, tamanoPagina));
+    }
+
+    public FilasEncontradas buscarFilas(String idSimulacion, Double relojDesde, Double relojHasta, Eventos tipoEvento,
+                                        Integer idEquipo, int page, int tamanoPagina) {
+        return leer(idSimulacion,
+                simulacion -> simulacion.buscarFilas(relojDesde, relojHasta, tipoEvento, idEquipo, page, tamanoPagina));
+    }
+
+    public TrazaEquipo trazaEquipo(String idSimulacion, int idEquipo) {
+        return leer(idSimulacion, simulacion -> simulacion.trazaEquipo(idEquipo));
+    }
+
+    /**
+     * Ejecuta "lectura" con la simulacion de la sesion, que no se cierra mientras se lee aunque se descarte.
+     */
+    public <T> T leer(String idSimulacion, Function<SimulacionPractica, T> lectura) {
+        SesionSimulacion sesion = abrirSesion(idSimulacion);
+        try {
+            return lectura.apply(sesion.getSimulacion());
+        } finally {
+            sesion.liberar();
+        }
+    }
+
+    /**
+     * Sesion para una lectura que termina despues del pedido (por ejemplo una exportacion), quien la abre tiene
+     * que llamar a SesionSimulacion.liberar al terminar. 404 si no existe o ya se descarto.
+     */
+    public SesionSimulacion abrirSesion(String idSimulacion) {
+        SesionSimulacion sesion = this.sesiones.get(idSimulacion);
+        if (sesion == null || !sesion.adquirir()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe la simulacion " + idSimulacion);
+        }
+        return sesion;
+    }
+
+    /**
+     * Memoria estimada de los vectores de estados de las sesiones guardadas.
+     */
+    private long bytesVectoresEstados() {
+        long bytes = 0;
+        for (SesionSimulacion sesion : this.sesiones.values()) {
+            bytes += sesion.getSimulacion().bytesVectorEstados();
+        }
+        return bytes;
+    }
+
+    /**
+     * Guarda la sesion y descarta las mas viejas que sobran. Esta sincronizado para que dos corridas que terminan a
+     * la vez no pasen juntas el limite ni descarten de mas.
+     */
+    private synchronized void guardarSesion(SesionSimulacion sesion) {
+        this.sesiones.put(sesion.getId(), sesion);
+        this.ordenSesiones.add(sesion.getId());
+        while (this.sesiones.size() > this.maxSesiones) {
+            String masVieja = this.ordenSesiones.poll();
+            if (masVieja == null) {
+                break;
+            }
+            descartarSesion(masVieja);
+        }
+    }
+
+    /**
+     * Descarta las sesiones vencidas y los archivos de filas que quedaron sin sesion. Un archivo de una sesion viva
+     * se modifico hace menos de "ttl", por eso para los archivos se usa el doble de margen.
+     */
+    @Scheduled(fixedDelayString = "${simulacion.sesiones.limpieza-ms:60000}")
+    public void limpiarSesionesVencidas() {
+        Instant ahora = Instant.now();
+        synchronized (this) {
+            for (SesionSimulacion sesion : this.sesiones.values()) {
+                if (sesion.getCreada().plus(this.ttl).isBefore(ahora)) {
+                    this.ordenSesiones.remove(sesion.getId());
+                    descartarSesion(sesion.getId());
+                }
+            }
+        }
+        this.almacenSimulacion.borrarArchivosAnteriores(ahora.minus(this.ttl.multipliedBy(2)));
+    }
+
+    /**
+     * Saca la sesion de las guardadas. Las filas en el heap las libera el recolector de basura cuando termina el
+     * ultimo pedido que las leia, y los archivos se borran en ese momento (ver SesionSimulacion.liberar).
+     */
+    private void descartarSesion(String idSimulacion) {
+        SesionSimulacion sesion = this.sesiones.remove(idSimulacion);
+        if (sesion != null) {
+            sesion.descartar();
+        }
+    }
+}
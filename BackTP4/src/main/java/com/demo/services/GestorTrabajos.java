@@ -0,0 +1,140 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.EstadoTrabajo;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Trabajos de simulacion asincronicos: el pedido recibe un id y la corrida se ejecuta en el ejecutor de
+ * simulaciones, sin ocupar el hilo del pedido HTTP. Si el ejecutor esta saturado el trabajo se rechaza.
+ * Se guardan los ultimos "maxTrabajos" trabajos, los terminados mas viejos se descartan.
+ */
+@Service
+public class GestorTrabajos {
+
+    private final GestorSimulaciones gestorSimulaciones;
+    private final ThreadPoolExecutor ejecutorSimulaciones;
+    private final ConcurrentHashMap<String, TrabajoSimulacion> trabajos = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> ordenTrabajos = new ConcurrentLinkedQueue<>();
+    private final int maxTrabajos;
+    private final int capacidadFilasEnVivo;
+    private final int eventosEntreIndicadores;
+
+    public GestorTrabajos(GestorSimulaciones gestorSimulaciones,
+                          @Qualifier("ejecutorSimulaciones") ThreadPoolExecutor ejecutorSimulaciones,
+                          @Value("${simulacion.trabajos.max-retenidos:100}") int maxTrabajos,
+                          @Value("${simulacion.transmision.capacidad-filas:1024}") int capacidadFilasEnVivo,
+                          @Value("${simulacion.transmision.eventos-entre-indicadores:2000}") int eventosEntreIndicadores) {
+        this.gestorSimulaciones = gestorSimulaciones;
+        this.ejecutorSimulaciones = ejecutorSimulaciones;
+        this.maxTrabajos = maxTrabajos;
+        this.capacidadFilasEnVivo = capacidadFilasEnVivo;
+        this.eventosEntreIndicadores = eventosEntreIndicadores;
+    }
+
+    public TrabajoSimulacion enviar(ParametrosSimulacion parametros) {
+        // Se valida antes de encolar para que un pedido invalido responda 400 y no quede como trabajo fallido
+        MuestreadorTipoTrabajo.validar(parametros.getProbabilidadesTipoTrabajo());
+        Distribuciones.validar(parametros);
+        TrabajoSimulacion trabajo = new TrabajoSimulacion(
+                UUID.randomUUID().toString(),
+                Instant.now(),
+                parametros,
+                new ControlEjecucion(parametros),
+                new CanalFilas(this.capacidadFilasEnVivo, this.eventosEntreIndicadores));
+        try {
+            trabajo.setFuturo(this.ejecutorSimulaciones.submit(() -> ejecutar(trabajo)));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "El servidor esta ejecutando demasiadas simulaciones, reintente mas tarde");
+        }
+        guardarTrabajo(trabajo);
+        return trabajo;
+    }
+
+    public TrabajoSimulacion buscarTrabajo(String idTrabajo) {
+        TrabajoSimulacion trabajo = this.trabajos.get(idTrabajo);
+        if (trabajo == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No existe el trabajo " + idTrabajo);
+        }
+        return trabajo;
+    }
+
+    /**
+     * Cancela el trabajo: si todavia esta en cola no se ejecuta, si se esta ejecutando la simulacion se detiene en
+     * el proximo control y devuelve los resultados parciales.
+     */
+    public TrabajoSimulacion cancelar(String idTrabajo) {
+        TrabajoSimulacion trabajo = buscarTrabajo(idTrabajo);
+        trabajo.getControlEjecucion().cancelar();
+        if (trabajo.getEstado() == EstadoTrabajo.EnCola && trabajo.getFuturo().cancel(false)) {
+            trabajo.setEstado(EstadoTrabajo.Cancelado);
+            trabajo.getCanalFilas().terminar();
+            this.ejecutorSimulaciones.purge();
+        }
+        return trabajo;
+    }
+
+    public ResultadosSimulacion getResultados(String idTrabajo) {
+        TrabajoSimulacion trabajo = buscarTrabajo(idTrabajo);
+        if (trabajo.getResultados() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "El trabajo " + idTrabajo + " no tiene resultados, estado: " + trabajo.getEstado());
+        }
+        return trabajo.getResultados();
+    }
+
+    private void ejecutar(TrabajoSimulacion trabajo) {
+        if (trabajo.getControlEjecucion().isCancelada()) {
+            trabajo.setEstado(EstadoTrabajo.Cancelado);
+            trabajo.getCanalFilas().terminar();
+            return;
+        }
+        trabajo.setEstado(EstadoTrabajo.Ejecutando);
+        try {
+            ResultadosSimulacion resultados = this.gestorSimulaciones.simular(
+                    trabajo.getParametros(), trabajo.getControlEjecucion(), trabajo.getCanalFilas());
+            trabajo.setResultados(resultados);
+            trabajo.setEstado(trabajo.getControlEjecucion().isCancelada()
+                    ? EstadoTrabajo.Cancelado
+                    : EstadoTrabajo.Terminado);
+        } catch (RuntimeException e) {
+            trabajo.setError(e.getMessage());
+            trabajo.setEstado(EstadoTrabajo.Fallido);
+        } finally {
+            // Despues del estado final, asi quien transmite el trabajo ya ve los resultados al terminar el canal
+            trabajo.getCanalFilas().terminar();
+        }
+    }
+
+    private void guardarTrabajo(TrabajoSimulacion trabajo) {
+        this.trabajos.put(trabajo.getId(), trabajo);
+        this.ordenTrabajos.add(trabajo.getId());
+        int aRevisar = this.ordenTrabajos.size();
+        while (this.trabajos.size() > this.maxTrabajos && aRevisar-- > 0) {
+            String masViejo = this.ordenTrabajos.poll();
+            if (masViejo == null) {
+                break;
+            }
+            TrabajoSimulacion candidato = this.trabajos.get(masViejo);
+            if (candidato != null && !candidato.isTerminado()) {
+                // Los trabajos pendientes no se descartan, vuelven al final
+                this.ordenTrabajos.add(masViejo);
+            } else {
+                this.trabajos.remove(masViejo);
+            }
+        }
+    }
+}
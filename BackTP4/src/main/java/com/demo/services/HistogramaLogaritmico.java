@@ -0,0 +1,125 @@
+package com.demo.services;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de tiempos con cubetas de ancho logaritmico (como HdrHistogram): los valores se cuentan en unidades de
+ * UNIDAD, los menores a 2 * SUBCUBETAS unidades tienen una cubeta cada uno y de ahi en adelante cada potencia de 2 se
+ * divide en SUBCUBETAS cubetas, por lo que el error relativo de un percentil es a lo sumo 1 / SUBCUBETAS. La memoria
+ * no depende de la cantidad de valores: el arreglo crece hasta la cubeta mas alta usada, como mucho MAX_CUBETAS.
+ * Dos histogramas se combinan sumando las cubetas, asi se juntan los de varias replicaciones.
+ * - cantidad, suma, minimo, maximo: Exactos, no dependen de las cubetas.
+ */
+public class HistogramaLogaritmico {
+
+    public static final double UNIDAD = 0.01;
+    private static final int BITS_SUBCUBETAS = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETAS;
+    private static final int BITS_MAXIMOS = 40;
+    static final int MAX_CUBETAS = cubeta((1L << BITS_MAXIMOS) - 1) + 1;
+
+    private long[] cubetas = new long[2 * SUBCUBETAS];
+    private long cantidad = 0;
+    private double suma = 0;
+    private double minimo = Double.NaN;
+    private double maximo = Double.NaN;
+
+    public void registrar(double valor) {
+        long unidades = Math.min(Math.max(Math.round(valor / UNIDAD), 0), (1L << BITS_MAXIMOS) - 1);
+        int cubeta = cubeta(unidades);
+        if (cubeta >= this.cubetas.length) {
+            this.cubetas = Arrays.copyOf(this.cubetas, Math.min(Math.max(cubeta + 1, this.cubetas.length * 2), MAX_CUBETAS));
+        }
+        this.cubetas[cubeta]++;
+        this.cantidad++;
+        this.suma += valor;
+        if (this.cantidad == 1 || valor < this.minimo) {
+            this.minimo = valor;
+        }
+        if (this.cantidad == 1 || valor > this.maximo) {
+            this.maximo = valor;
+        }
+    }
+
+    /**
+     * Suma a este histograma los valores de "otro".
+     */
+    public void combinar(HistogramaLogaritmico otro) {
+        if (otro.cantidad == 0) {
+            return;
+        }
+        if (otro.cubetas.length > this.cubetas.length) {
+            this.cubetas = Arrays.copyOf(this.cubetas, otro.cubetas.length);
+        }
+        for (int i = 0; i < otro.cubetas.length; i++) {
+            this.cubetas[i] += otro.cubetas[i];
+        }
+        this.minimo = this.cantidad == 0 ? otro.minimo : Math.min(this.minimo, otro.minimo);
+        this.maximo = this.cantidad == 0 ? otro.maximo : Math.max(this.maximo, otro.maximo);
+        this.cantidad += otro.cantidad;
+        this.suma += otro.suma;
+    }
+
+    /**
+     * Valor por debajo del cual queda el "porcentaje" % de los valores (el punto medio de la cubeta donde cae),
+     * NaN si el histograma esta vacio.
+     */
+    public double percentil(double porcentaje) {
+        if (this.cantidad == 0) {
+            return Double.NaN;
+        }
+        long posicion = Math.max(1, (long) Math.ceil(porcentaje / 100 * this.cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < this.cubetas.length; i++) {
+            acumulado += this.cubetas[i];
+            if (acumulado >= posicion) {
+                double medio = (desde(i) + hasta(i)) / 2.0 * UNIDAD;
+                return Math.min(Math.max(medio, this.minimo), this.maximo);
+            }
+        }
+        return this.maximo;
+    }
+
+    public long getCantidad() {
+        return this.cantidad;
+    }
+
+    public double getMaximo() {
+        return this.maximo;
+    }
+
+    public double promedio() {
+        return this.cantidad > 0 ? this.suma / this.cantidad : Double.NaN;
+    }
+
+    static int cubeta(long unidades) {
+        if (unidades < 2 * SUBCUBETAS) {
+            return (int) unidades;
+        }
+        int corrimiento = 63 - Long.numberOfLeadingZeros(unidades) - BITS_SUBCUBETAS;
+        return SUBCUBETAS * corrimiento + (int) (unidades >>> corrimiento);
+    }
+
+    /**
+     * Primera unidad de la cubeta.
+     */
+    private static long desde(int cubeta) {
+        if (cubeta < 2 * SUBCUBETAS) {
+            return cubeta;
+        }
+        int corrimiento = cubeta / SUBCUBETAS - 1;
+        long mantisa = cubeta % SUBCUBETAS + SUBCUBETAS;
+        return mantisa << corrimiento;
+    }
+
+    /**
+     * Ultima unidad de la cubeta.
+     */
+    private static long hasta(int cubeta) {
+        if (cubeta < 2 * SUBCUBETAS) {
+            return cubeta;
+        }
+        int corrimiento = cubeta / SUBCUBETAS - 1;
+        return desde(cubeta) + (1L << corrimiento) - 1;
+    }
+}
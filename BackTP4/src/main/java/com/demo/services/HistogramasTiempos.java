@@ -0,0 +1,72 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.PercentilesTiempo;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Histogramas de los tiempos de los equipos por tipo de trabajo (indexados por ordinal de Trabajo), los motores los
+ * alimentan a medida que pasan los equipos sin guardar los equipos terminados.
+ * - permanencia: Desde la llegada hasta la salida, se registra al finalizar el trabajo.
+ * - espera: Desde la llegada hasta que el equipo empieza a ser atendido por primera vez (0 si el servidor estaba
+ *      libre), no incluye la espera en la cola de trabajos C.
+ */
+public class HistogramasTiempos {
+
+    private static final Trabajo[] TRABAJOS = Trabajo.values();
+
+    private final HistogramaLogaritmico[] permanencia = new HistogramaLogaritmico[TRABAJOS.length];
+    private final HistogramaLogaritmico[] espera = new HistogramaLogaritmico[TRABAJOS.length];
+
+    public HistogramasTiempos() {
+        for (int i = 0; i < TRABAJOS.length; i++) {
+            this.permanencia[i] = new HistogramaLogaritmico();
+            this.espera[i] = new HistogramaLogaritmico();
+        }
+    }
+
+    public void registrarPermanencia(int tipoTrabajo, double tiempo) {
+        this.permanencia[tipoTrabajo].registrar(tiempo);
+    }
+
+    public void registrarEspera(int tipoTrabajo, double tiempo) {
+        this.espera[tipoTrabajo].registrar(tiempo);
+    }
+
+    public void combinar(HistogramasTiempos otros) {
+        for (int i = 0; i < TRABAJOS.length; i++) {
+            this.permanencia[i].combinar(otros.permanencia[i]);
+            this.espera[i].combinar(otros.espera[i]);
+        }
+    }
+
+    public Map<Trabajo, PercentilesTiempo> percentilesPermanencia() {
+        return percentiles(this.permanencia);
+    }
+
+    public Map<Trabajo, PercentilesTiempo> percentilesEspera() {
+        return percentiles(this.espera);
+    }
+
+    /**
+     * Percentiles de los tipos de trabajo que tuvieron al menos un equipo medido.
+     */
+    private static Map<Trabajo, PercentilesTiempo> percentiles(HistogramaLogaritmico[] histogramas) {
+        Map<Trabajo, PercentilesTiempo> porTrabajo = new EnumMap<>(Trabajo.class);
+        for (Trabajo trabajo : TRABAJOS) {
+            HistogramaLogaritmico histograma = histogramas[trabajo.ordinal()];
+            if (histograma.getCantidad() > 0) {
+                porTrabajo.put(trabajo, new PercentilesTiempo(
+                        histograma.getCantidad(),
+                        histograma.promedio(),
+                        histograma.percentil(50),
+                        histograma.percentil(90),
+                        histograma.percentil(99),
+                        histograma.getMaximo()));
+            }
+        }
+        return porTrabajo;
+    }
+}
@@ -0,0 +1,196 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Indice del vector de estados de una corrida, se arma mientras se guardan las filas para buscarlas sin recorrer
+ * el vector:
+ * - almacen: Almacen de las filas indexadas, el reloj de cada fila se lee de ahi. El reloj nunca disminuye, asi
+ *      que las filas de un rango de horas se encuentran con busqueda binaria.
+ * - filasPorEvento: Un bit por fila para cada tipo de evento.
+ * - idEquipo, primeraFilaEquipo, ultimaFilaEquipo: Filas en las que esta cada equipo (en la lista de equipos o
+ *      como equipo del evento), solo para los equipos de las filas guardadas y ordenados por id para buscarlos con
+ *      busqueda binaria. Un equipo entra al sistema una vez y sale una vez, y las filas guardadas son de eventos
+ *      consecutivos (salvo la fila final, que es posterior a todas), por lo que las filas de un equipo siempre son
+ *      un rango. El espacio depende de los equipos guardados y no del rango de ids: los equipos de la fila final
+ *      tienen ids cercanos a la cantidad de llegadas de la corrida, pero solo agregan sus propias entradas.
+ */
+public class IndiceFilas {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final Eventos[] EVENTOS = Eventos.values();
+
+    private AlmacenFilas almacen;
+    private int cantidadFilas = 0;
+    private double ultimoReloj;
+    private final BitSet[] filasPorEvento = new BitSet[EVENTOS.length];
+
+    private int cantidadEquipos = 0;
+    private int[] idEquipo = new int[CAPACIDAD_INICIAL];
+    private int[] primeraFilaEquipo = new int[CAPACIDAD_INICIAL];
+    private int[] ultimaFilaEquipo = new int[CAPACIDAD_INICIAL];
+
+    public IndiceFilas() {
+        for (int i = 0; i < this.filasPorEvento.length; i++) {
+            this.filasPorEvento[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Vacia el indice y lo asocia a "almacen", se llama al empezar cada corrida.
+     */
+    public void iniciar(AlmacenFilas almacen) {
+        clear();
+        this.almacen = almacen;
+    }
+
+    /**
+     * Indexa la ultima fila del almacen, se llama despues de agregarla al almacen.
+     */
+    public void agregar(Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+        if (this.almacen == null || this.almacen.size() != this.cantidadFilas + 1) {
+            throw new IllegalStateException("El indice tiene que agregar cada fila despues de guardarla en el almacen");
+        }
+        int fila = this.cantidadFilas;
+        double reloj = this.almacen.reloj(fila);
+        if (fila > 0 && reloj < this.ultimoReloj) {
+            throw new IllegalArgumentException("Las filas del indice tienen que agregarse en orden de reloj");
+        }
+        this.ultimoReloj = reloj;
+        this.cantidadFilas++;
+        this.filasPorEvento[tipoEvento.ordinal()].set(fila);
+        if (idEquipo != null) {
+            marcarEquipo(idEquipo, fila);
+        }
+        for (Equipo equipo : equipos) {
+            marcarEquipo(equipo.getId_equipo(), fila);
+        }
+    }
+
+    public int size() {
+        return this.cantidadFilas;
+    }
+
+    /**
+     * Filas que cumplen todos los filtros indicados, los filtros null no se aplican.
+     * - relojDesde, relojHasta: Rango de reloj, incluidos los extremos.
+     * - tipoEvento: Tipo de evento de la fila.
+     * - idEquipo: Equipo que esta en la fila.
+     */
+    public BitSet buscar(Double relojDesde, Double relojHasta, Eventos tipoEvento, Integer idEquipo) {
+        int desde = relojDesde != null ? primeraFilaDesde(relojDesde) : 0;
+        int hasta = relojHasta != null ? primeraFilaDespues(relojHasta) : this.cantidadFilas;
+        if (idEquipo != null) {
+            int indice = Arrays.binarySearch(this.idEquipo, 0, this.cantidadEquipos, idEquipo);
+            if (indice < 0) {
+                return new BitSet();
+            }
+            desde = Math.max(desde, this.primeraFilaEquipo[indice]);
+            hasta = Math.min(hasta, this.ultimaFilaEquipo[indice] + 1);
+        }
+        BitSet filas = new BitSet();
+        if (desde >= hasta) {
+            return filas;
+        }
+        filas.set(desde, hasta);
+        if (tipoEvento != null) {
+            filas.and(this.filasPorEvento[tipoEvento.ordinal()]);
+        }
+        return filas;
+    }
+
+    public void compactar() {
+        this.idEquipo = Arrays.copyOf(this.idEquipo, this.cantidadEquipos);
+        this.primeraFilaEquipo = Arrays.copyOf(this.primeraFilaEquipo, this.cantidadEquipos);
+        this.ultimaFilaEquipo = Arrays.copyOf(this.ultimaFilaEquipo, this.cantidadEquipos);
+    }
+
+    public void clear() {
+        this.cantidadFilas = 0;
+        for (BitSet filas : this.filasPorEvento) {
+            filas.clear();
+        }
+        this.cantidadEquipos = 0;
+    }
+
+    /**
+     * Bytes de los bits por evento y de las filas de cada equipo.
+     */
+    public long bytesEnMemoria() {
+        long bytes = 12L * this.idEquipo.length;
+        for (BitSet filas : this.filasPorEvento) {
+            bytes += filas.size() / 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * Primera fila con reloj mayor o igual a "reloj".
+     */
+    private int primeraFilaDesde(double reloj) {
+        int bajo = 0;
+        int alto = this.cantidadFilas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (this.almacen.reloj(medio) < reloj) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Primera fila con reloj mayor a "reloj".
+     */
+    private int primeraFilaDespues(double reloj) {
+        int bajo = 0;
+        int alto = this.cantidadFilas;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (this.almacen.reloj(medio) <= reloj) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private void marcarEquipo(int id, int fila) {
+        // Casi siempre es el ultimo equipo conocido o uno nuevo con id mayor, sin buscar
+        int indice = this.cantidadEquipos - 1;
+        if (indice < 0 || this.idEquipo[indice] < id) {
+            indice = agregarEquipo(this.cantidadEquipos, id, fila);
+        } else if (this.idEquipo[indice] != id) {
+            indice = Arrays.binarySearch(this.idEquipo, 0, this.cantidadEquipos, id);
+            if (indice < 0) {
+                indice = agregarEquipo(-indice - 1, id, fila);
+            }
+        }
+        this.ultimaFilaEquipo[indice] = fila;
+    }
+
+    private int agregarEquipo(int indice, int id, int fila) {
+        if (this.cantidadEquipos == this.idEquipo.length) {
+            int capacidad = Math.max(CAPACIDAD_INICIAL, this.cantidadEquipos * 2);
+            this.idEquipo = Arrays.copyOf(this.idEquipo, capacidad);
+            this.primeraFilaEquipo = Arrays.copyOf(this.primeraFilaEquipo, capacidad);
+            this.ultimaFilaEquipo = Arrays.copyOf(this.ultimaFilaEquipo, capacidad);
+        }
+        int corridos = this.cantidadEquipos - indice;
+        System.arraycopy(this.idEquipo, indice, this.idEquipo, indice + 1, corridos);
+        System.arraycopy(this.primeraFilaEquipo, indice, this.primeraFilaEquipo, indice + 1, corridos);
+        System.arraycopy(this.ultimaFilaEquipo, indice, this.ultimaFilaEquipo, indice + 1, corridos);
+        this.idEquipo[indice] = id;
+        this.primeraFilaEquipo[indice] = fila;
+        this.cantidadEquipos++;
+        return indice;
+    }
+}
@@ -0,0 +1,79 @@
+package com.demo.services;
+
+import com.demo.entities.EstadisticasCorrida;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.ResultadosSimulacion;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publica en Micrometer (Actuator, /actuator/prometheus) las estadisticas de cada corrida terminada. Los motores
+ * solo cuentan en arreglos propios mientras simulan (ver EstadisticasCorrida) y aca se pasan al registro una vez
+ * por corrida, asi que las metricas no agregan trabajo por evento. Con "simulacion.metricas.habilitadas=false" no se
+ * registra ningun medidor.
+ * - motor: Practica (con vector de estados) o Rapida (solo estadisticas, tambien las replicaciones).
+ */
+@Service
+public class MetricasSimulacion {
+
+    private final MeterRegistry registro;
+    private final boolean habilitadas;
+
+    public MetricasSimulacion(MeterRegistry registro,
+                              @Value("${simulacion.metricas.habilitadas:true}") boolean habilitadas) {
+        this.registro = registro;
+        this.habilitadas = habilitadas;
+    }
+
+    public void registrar(ResultadosSimulacion resultados, String motor) {
+        EstadisticasCorrida estadisticas = resultados.getEstadisticasCorrida();
+        if (!this.habilitadas || estadisticas == null) {
+            return;
+        }
+        this.registro.counter("simulacion.corridas", "motor", motor, "motivoFin", String.valueOf(resultados.getMotivoFin()))
+                .increment();
+        Timer.builder("simulacion.corrida.duracion")
+                .tag("motor", motor)
+                .register(this.registro)
+                .record(estadisticas.getDuracionMs(), TimeUnit.MILLISECONDS);
+        for (Map.Entry<Eventos, Long> porTipo : estadisticas.getEventosPorTipo().entrySet()) {
+            this.registro.counter("simulacion.eventos", "motor", motor, "tipo", porTipo.getKey().name())
+                    .increment(porTipo.getValue());
+        }
+        resumen("simulacion.corrida.eventos.por.segundo", motor).record(estadisticas.getEventosPorSegundo());
+        resumen("simulacion.corrida.eventos.pendientes.max", motor).record(estadisticas.getMaxEventosPendientes());
+        if (resultados.getCantidadFilas() != null && resultados.getCantidadFilas() > 0) {
+            resumen("simulacion.corrida.filas.retenidas", motor).record(resultados.getCantidadFilas());
+            DistributionSummary.builder("simulacion.corrida.vector.estados")
+                    .baseUnit("bytes")
+                    .tag("motor", motor)
+                    .register(this.registro)
+                    .record(estadisticas.getBytesVectorEstados());
+        }
+    }
+
+    /**
+     * Medidores de las sesiones guardadas, se calculan al leer las metricas.
+     */
+    public void registrarSesiones(Supplier<Number> sesionesActivas, Supplier<Number> bytesVectoresEstados) {
+        if (!this.habilitadas) {
+            return;
+        }
+        Gauge.builder("simulacion.sesiones.activas", sesionesActivas).register(this.registro);
+        Gauge.builder("simulacion.sesiones.vector.estados", bytesVectoresEstados)
+                .baseUnit("bytes")
+                .register(this.registro);
+    }
+
+    private DistributionSummary resumen(String nombre, String motor) {
+        return DistributionSummary.builder(nombre).tag("motor", motor).register(this.registro);
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.function.DoubleToIntFunction;
+
+/**
+ * Sorteo del tipo de trabajo de un equipo que llega. Las probabilidades se convierten una sola vez por corrida en
+ * los limites superiores acumulados de cada tipo (pA, pA+pB, ...) y cada sorteo busca en ese array, sin crear
+ * objetos. Es inmutable, por lo que lo pueden compartir varias simulaciones al mismo tiempo.
+ *
+ * El tipo sorteado es el primero cuyo limite superior es mayor al numero aleatorio, igual que en la tabla de
+ * intervalos del enunciado ([limite inferior, limite superior)). Como el modelo redondea el numero aleatorio a dos
+ * decimales puede salir 1.00, que no es menor a ningun limite: sale el ultimo tipo con probabilidad mayor a 0. Asi
+ * un tipo con probabilidad 0 tiene un intervalo vacio y nunca sale, aunque sea el ultimo.
+ *
+ * Como DoubleToIntFunction se pasa a Llegada, que no conoce las clases del servicio.
+ */
+public class MuestreadorTipoTrabajo implements DoubleToIntFunction {
+
+    private static final double TOLERANCIA = 1e-6;
+
+    private final double[] limitesSuperiores;
+    private final int ultimoTipoPosible;
+
+    public MuestreadorTipoTrabajo(List<Double> probabilidades) {
+        validar(probabilidades);
+        this.limitesSuperiores = new double[probabilidades.size()];
+        int ultimoPositivo = 0;
+        double acumulada = 0;
+        for (int i = 0; i < this.limitesSuperiores.length; i++) {
+            acumulada += probabilidades.get(i);
+            this.limitesSuperiores[i] = acumulada;
+            if (probabilidades.get(i) > 0) {
+                ultimoPositivo = i;
+            }
+        }
+        this.ultimoTipoPosible = ultimoPositivo;
+    }
+
+    /**
+     * Verifica que las probabilidades no sean negativas y sumen 1, si no responde 400.
+     */
+    public static void validar(List<Double> probabilidades) {
+        if (probabilidades == null || probabilidades.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Faltan las probabilidades de los tipos de trabajo");
+        }
+        double suma = 0;
+        for (Double probabilidad : probabilidades) {
+            if (probabilidad == null || probabilidad < 0 || probabilidad.isNaN()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Las probabilidades de los tipos de trabajo no pueden ser negativas");
+            }
+            suma += probabilidad;
+        }
+        if (Math.abs(suma - 1) > TOLERANCIA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Las probabilidades de los tipos de trabajo deben sumar 1 (suman " + suma + ")");
+        }
+    }
+
+    /**
+     * Devuelve el indice del tipo de trabajo que corresponde al numero aleatorio, con busqueda binaria.
+     */
+    public int sortear(double rnd) {
+        int desde = 0;
+        int hasta = this.limitesSuperiores.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (this.limitesSuperiores[medio] <= rnd) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde < this.limitesSuperiores.length ? desde : this.ultimoTipoPosible;
+    }
+
+    @Override
+    public int applyAsInt(double rnd) {
+        return sortear(rnd);
+    }
+
+    public int cantidadTipos() {
+        return this.limitesSuperiores.length;
+    }
+}
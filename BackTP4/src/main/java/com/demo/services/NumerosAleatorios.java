@@ -0,0 +1,17 @@
+package com.demo.services;
+
+/**
+ * Numeros aleatorios que usa el motor de la simulacion, uno por cada uso del modelo. GeneradorAleatorio los sortea
+ * a partir de una semilla; al volver a calcular filas de la bitacora se devuelven los que se sortearon en la corrida.
+ * - rndLlegada: Numero del tiempo entre llegadas.
+ * - rndTipoTrabajo: Numero del tipo de trabajo del equipo que llega.
+ * - rndTiempoAtencion: Numero del tiempo de atencion del trabajo.
+ */
+public interface NumerosAleatorios {
+
+    double rndLlegada();
+
+    double rndTipoTrabajo();
+
+    double rndTiempoAtencion();
+}
@@ -0,0 +1,84 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Evento;
+import com.demo.entities.FilaVector;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Estado de la corrida despues de un evento, alcanza para seguir simulando desde ahi sin el generador original
+ * (ver AlmacenFilasBitacora y SimulacionPractica.repetidora).
+ * - numeroEvento: Numero del evento de la fila.
+ * - reloj: Hora del evento.
+ * - fila: Fila del evento con sus equipos, es la fila anterior del evento siguiente.
+ * - contadorEquipos, cantidadEquiposFinalizados: Contadores de la corrida en ese evento.
+ * - estado: Copia de los equipos, las colas y el calendario, no se modifica.
+ */
+@AllArgsConstructor
+@Getter(AccessLevel.PACKAGE)
+final class PuntoControl {
+    private final long numeroEvento;
+    private final double reloj;
+    private final FilaVector fila;
+    private final int contadorEquipos;
+    private final int cantidadEquiposFinalizados;
+    private final EstadoSistema estado;
+
+    int cantidadEquipos() {
+        return this.estado.equipos.size();
+    }
+
+    int cantidadEventosPendientes() {
+        return this.estado.calendario.size();
+    }
+
+    /**
+     * Equipos en el sistema, colas y calendario. Las colas y el calendario apuntan a los equipos de la lista.
+     */
+    @AllArgsConstructor
+    static final class EstadoSistema {
+        final ArrayList<Equipo> equipos;
+        final ArrayDeque<Equipo> colaComun;
+        final ArrayDeque<Equipo> colaTrabajosC;
+        final CalendarioEventos calendario;
+        final Equipo equipoFinalizado;
+
+        /**
+         * Copia profunda: cada equipo se copia una vez y las colas, el calendario y las referencias de los equipos
+         * a sus eventos pendientes apuntan a las copias.
+         */
+        EstadoSistema copiar() {
+            IdentityHashMap<Equipo, Equipo> copias = new IdentityHashMap<>();
+            ArrayList<Equipo> equiposCopia = new ArrayList<>(this.equipos.size());
+            for (Equipo equipo : this.equipos) {
+                equiposCopia.add(copias.computeIfAbsent(equipo, Equipo::copiar));
+            }
+            ArrayDeque<Equipo> colaComunCopia = new ArrayDeque<>(this.colaComun.size());
+            for (Equipo equipo : this.colaComun) {
+                colaComunCopia.add(copias.computeIfAbsent(equipo, Equipo::copiar));
+            }
+            ArrayDeque<Equipo> colaTrabajosCCopia = new ArrayDeque<>(this.colaTrabajosC.size());
+            for (Equipo equipo : this.colaTrabajosC) {
+                colaTrabajosCCopia.add(copias.computeIfAbsent(equipo, Equipo::copiar));
+            }
+            CalendarioEventos calendarioCopia = this.calendario.copiar(evento -> {
+                Equipo equipo = evento.getEquipo() != null ? copias.computeIfAbsent(evento.getEquipo(), Equipo::copiar) : null;
+                Evento copia = new Evento(evento.getTipoEvento(), evento.getHoraEvento(), equipo);
+                if (equipo != null) {
+                    equipo.registrarEventoPendiente(copia);
+                }
+                return copia;
+            });
+            Equipo finalizadoCopia = this.equipoFinalizado != null
+                    ? copias.computeIfAbsent(this.equipoFinalizado, Equipo::copiar)
+                    : null;
+            return new EstadoSistema(equiposCopia, colaComunCopia, colaTrabajosCCopia, calendarioCopia, finalizadoCopia);
+        }
+    }
+}
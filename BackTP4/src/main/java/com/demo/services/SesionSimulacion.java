@@ -0,0 +1,64 @@
+package com.demo.services;
+
+import com.demo.entities.ResultadosSimulacion;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Corrida de la simulacion guardada en el servidor.
+ * - id: Identificador de la corrida, se devuelve en ResultadosSimulacion y se usa para pedir las paginas.
+ * - creada: Momento en que termino la corrida.
+ * - simulacion: Instancia de la simulacion que ejecuto la corrida, tiene el vector de estados.
+ * - resultados: Resultados devueltos al terminar la corrida.
+ * - referencias: Pedidos que estan leyendo el vector de estados, mas uno mientras la sesion esta guardada. Cuando
+ *      llega a 0 se cierra el almacen de filas (ver SimulacionPractica.cerrarFilas), asi una sesion descartada
+ *      mientras se exportaba o paginaba se cierra recien cuando termina el ultimo pedido que la leia.
+ * - descartada: La sesion ya se saco de las sesiones guardadas.
+ */
+@Getter
+@AllArgsConstructor
+public class SesionSimulacion {
+    private final String id;
+    private final Instant creada;
+    private final SimulacionPractica simulacion;
+    private final ResultadosSimulacion resultados;
+
+    private final AtomicInteger referencias = new AtomicInteger(1);
+    private final AtomicBoolean descartada = new AtomicBoolean(false);
+
+    /**
+     * Registra un pedido que va a leer la sesion, devuelve falso si la sesion ya se cerro.
+     */
+    public boolean adquirir() {
+        int actuales;
+        do {
+            actuales = this.referencias.get();
+            if (actuales == 0) {
+                return false;
+            }
+        } while (!this.referencias.compareAndSet(actuales, actuales + 1));
+        return true;
+    }
+
+    /**
+     * El pedido termino de leer la sesion.
+     */
+    public void liberar() {
+        if (this.referencias.decrementAndGet() == 0) {
+            this.simulacion.cerrarFilas();
+        }
+    }
+
+    /**
+     * La sesion deja de estar guardada, se cierra cuando no quedan pedidos leyendola.
+     */
+    public void descartar() {
+        if (this.descartada.compareAndSet(false, true)) {
+            liberar();
+        }
+    }
+}
@@ -7,57 +7,85 @@ import com.demo.entities.Estados.Eventos;
 import com.demo.entities.Estados.Trabajo;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
-import org.springframework.stereotype.Service;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.Writer;
 import java.util.*;
+import java.util.function.ObjIntConsumer;
 
-@Service
+/**
+ * Simulacion con vector de estados. Cada corrida usa su propia instancia (ver GestorSimulaciones), la instancia
+ * guarda el vector de estados de esa corrida para paginarlo despues.
+ */
 @NoArgsConstructor
 @AllArgsConstructor
 public class SimulacionPractica extends Simulacion {
 
+    private static final int LOTE_RECORRIDO = 1024;
+
     //Desplegar para ver informacion de los atributos de abajo
     /**
      * PARAMETROS DE LA SIMULACION
      * - tiempoSimulacion: Tiempo de simulacion en horas.
      * - probabilidadesTipoTrabajo: Probabilidades de los diferentes tipos de trabajo (A,B,C,D).
-     * - tiemposMediaTrabajo: Tiempos medios de ejecucion de los diferentes tipos de trabajo (A,B,C,D).
-     * - limite_inferiorUniforme: Limite inferior de la distribucion uniforme del tiempo de trabajo.
-     * - limite_superiorUniforme: Limite superior de la distribucion uniforme del tiempo de trabajo.
+     * - distribucionLlegadas: Distribucion del tiempo entre llegadas.
+     * - tiemposAtencion: Distribucion del tiempo de atencion de cada tipo de trabajo (A,B,C,D).
      * - tiempoDesdeInicioEquipoC: Tiempo desde que inicia el trabajo C hasta que puede ser dejado solo.
      * - tiempoAntesFinEquipoC: Tiempo antes de terminar el trabajo C en el que hay que retomarlo.
      * - tiempoInicioResultado: Tiempo desde el que empieza a guardar filas del vector para devolver.
      * - cantidadItercaciones: Cantidad de iteraciones que devuelve a partir del tiempoInicioResultado.
+     * - tamanoPagina: Filas por pagina al paginar el vector de estados, null si la corrida no tiene un tamano (ver
+     *      ParametrosSimulacion.tamanoPagina).
      */
     private double tiempoSimulacion;
     private ArrayList<Double> probabilidadesTipoTrabajo;
-    private ArrayList<Double> tiemposMediaTrabajo;
-    private double limite_inferiorUniforme;
-    private double limite_superiorUniforme;
+    private Distribucion distribucionLlegadas;
+    private Distribucion[] tiemposAtencion;
     private double tiempoDesdeInicioEquipoC;
     private double tiempoAntesFinEquipoC;
     private double tiempoInicioResultado;
     private int cantidadItercaciones;
+    private Integer tamanoPagina;
 
     //Desplegar para ver informacion de los atributos de abajo
     /**
      * - tipoTrabajos: Tipos de trabajos que se pueden realizar.
      * - vectorDeEstados: Vector de estados de la simulacion, almacena una fila por iteracion a partir
-     *      del "tiempoInicioResultado" y hasta alcanzar un tamaño de "cantiadaIteraciones".
-     * - equipos: Lista de equipos que ingresaron al sistema, son eliminados una vez que salen.
+     *      del "tiempoInicioResultado" y hasta alcanzar un tamaño de "cantiadaIteraciones". Las filas se guardan por
+     *      columnas (ver AlmacenFilasColumnar) y se arman como FilaVector solo al paginarlas.
+     * - equipos: Lista de equipos que estan en el sistema (en cola, en atencion o en segundo plano), son eliminados
+     *      una vez que salen, por lo que nunca supera la capacidad del sistema.
      * - colaComun: Cola de equipos que ingresaron al sistema y esperan ser atendidos por primera vez.
      * - colaTrabajosC: Cola de equipos a los que se le realiza un trabajo C, fueron atendidos, dejados en segundo plano,
      *      y al momento de retomar su atencion el servidor estaba ocupado, por lo tanto esperan en esta cola a que termine
      *      lo que este haciendo y pueda finalizar su atencion.
-     * - proximosEventos: Lista de los proximos eventos a ocurrir en la simulacion, en cada iteracion se extrae el que
-     *      ocurre y se añade el proximo si es que hay.
+     * - proximosEventos: Calendario de los proximos eventos a ocurrir en la simulacion, en cada iteracion se extrae el
+     *      que ocurre primero y se agenda el proximo si es que hay.
      * - filaActual: Es la fila que se crea al finalizar la ejecucion del evento correspondiente a la iteracion actual,
      *      se añade al vector de estados al finalizar el evento actual.
      * - filaAnterior: Al inicio de la iteracion, el elemento que está en "filaActual", corresponde a la fila generada
      *      en la iteracion anterior, por lo tanto pasa a esta variable y sirve para mantener en la proxima fila a generar
      *      los valores que deban mantenerse de la fila de la interacion anterior.
-     * - contadorIteraciones: Contador de las iteraciones que se han realizado en la simulacion, sirve para poner
-     *      finalizar la simulacion si se alcanzan las 100000 iteraciones.
+     * - eventoFilaActual, idEquipoFilaActual: Evento y equipo de la fila actual, se guardan con la fila.
+     * - numeroEventoFilaActual: Numero del evento de la fila actual (el inicio es el 0), el almacen lo usa para saber
+     *      si dos filas guardadas son de eventos consecutivos.
+     * - ultimaFilaGuardada: Ultima fila agregada al vector de estados, para no guardar dos veces la fila final.
+     * - indiceFilas: Indice de las filas guardadas por reloj, tipo de evento y equipo, para buscarlas.
+     * - trazaEquipos: Horas de los cambios de estado de los equipos de la corrida (no solo de las filas guardadas),
+     *      hasta ParametrosSimulacion.maxEquiposTrazados equipos; en las repetidoras no traza ningun equipo porque la
+     *      corrida ya los registro.
+     * - canalFilas: Si la corrida se transmite en vivo, canal donde se publican las filas guardadas y cada tantos
+     *      eventos los indicadores parciales (ver CanalFilas), null si no.
+     * - ultimaFila: Ultima fila del vector de estados con sus equipos, se arma al terminar la corrida y se devuelve
+     *      aparte en cada pagina.
+     * - contadorIteraciones: Contador de las iteraciones que se han realizado en la simulacion (la primera es el
+     *      inicio), sirve para finalizar la simulacion si se alcanza la cantidad maxima de eventos.
+     * - controlEjecucion: Limites de la corrida que no dependen del modelo (eventos y tiempo de ejecucion).
+     * - generador: Numeros aleatorios de la corrida, creado a partir de la semilla de los parametros (en las
+     *      repetidoras, los numeros guardados en la bitacora).
+     * - muestreadorTipoTrabajo: Limites acumulados de las probabilidades de tipo de trabajo, calculados una sola vez
+     *      por corrida.
      * - contadorIteracionesResultado: Contador de las iteraciones que sirve para determinar cuantas filas
      *      del vector de estados guardar en el objeto a devolver a partir del tiempoInicioResultado.
      * - reloj: Tiempo actual de la simulacion.
@@ -65,78 +93,292 @@ public class SimulacionPractica extends Simulacion {
      *      proximosEventos y los datos del evento (Hora, Equipo involucrado, Tipo de evento).
      * - contadorEquipos: Contador de los equipos que han ingresado al sistema, sirve para asignar un id a cada equipo y
      *      llevar un conteo para las estadisticas.
+     * - equipoFinalizado: Equipo que finalizo en el evento actual, se retira de las filas al comenzar el siguiente.
+     * - cantidadEquiposFinalizados: Cantidad de equipos que ya salieron del sistema.
+     * - eventosPorTipo, maxEventosPendientes: Eventos procesados de cada tipo (por ordinal) y tamano maximo del
+     *      calendario, para las estadisticas de la corrida.
+     * - acumuladoresColas: Largo de las colas y equipos en el sistema ponderados por el tiempo, y llegadas rechazadas
+     *      (ver IndicadoresColas).
+     * - histogramasTiempos: Permanencia y espera de los equipos por tipo de trabajo, para los percentiles de los
+     *      resultados. Se crea uno nuevo en cada corrida.
+     * - detectorCalentamiento: Serie de permanencias por lotes para descartar el periodo de calentamiento, se crea uno
+     *      nuevo en cada corrida.
+     * - repitiendo: La instancia es una repetidora (ver repetidora), que solo vuelve a armar filas: no actualiza las
+     *      estadisticas (eventosPorTipo, acumuladoresColas, histogramasTiempos, detectorCalentamiento) porque la
+     *      corrida ya las calculo.
      * */
 
     private ArrayList<Trabajo> tipoTrabajos = new ArrayList<>(Arrays.asList(Trabajo.values()));
-    private ArrayList<FilaVector> vectorDeEstados = new ArrayList<>();
+    private AlmacenFilas vectorDeEstados = new AlmacenFilasColumnar();
     private ArrayList<Equipo> equipos = new ArrayList<>();
-    private ArrayList<Equipo> colaComun = new ArrayList<>();
-    private ArrayList<Equipo> colaTrabajosC = new ArrayList<>();
-    private ArrayList<Evento> proximosEventos = new ArrayList<>();
+    private ArrayDeque<Equipo> colaComun = new ArrayDeque<>();
+    private ArrayDeque<Equipo> colaTrabajosC = new ArrayDeque<>();
+    private CalendarioEventos proximosEventos = new CalendarioEventos();
     private FilaVector filaActual = null;
     private FilaVector filaAnterior = null;
-    private int contadorIteraciones = 0;
+    private Eventos eventoFilaActual = null;
+    private Integer idEquipoFilaActual = null;
+    private long numeroEventoFilaActual = 0;
+    private FilaVector ultimaFilaGuardada = null;
+    private final IndiceFilas indiceFilas = new IndiceFilas();
+    private final TrazaEquipos trazaEquipos = new TrazaEquipos();
+    private CanalFilas canalFilas = null;
+    private FilaVector ultimaFila = null;
+    private long contadorIteraciones = 0;
+    private ControlEjecucion controlEjecucion = null;
+    private NumerosAleatorios generador = null;
+    private MuestreadorTipoTrabajo muestreadorTipoTrabajo = null;
     private int contadorIteracionesResultado = 1;
 
     private double reloj = 0;
     private Evento proximoEvento = null;
     private int contadorEquipos = 0;
+    private Equipo equipoFinalizado = null;
+    private int cantidadEquiposFinalizados = 0;
+    private long[] eventosPorTipo = new long[Eventos.values().length];
+    private int maxEventosPendientes = 0;
+    private final AcumuladoresColas acumuladoresColas = new AcumuladoresColas();
+    private HistogramasTiempos histogramasTiempos = new HistogramasTiempos();
+    private DetectorCalentamiento detectorCalentamiento = new DetectorCalentamiento();
+    private boolean repitiendo = false;
+
 
+    /**
+     * Simulacion que guarda el vector de estados en el almacen indicado en lugar del almacen por columnas.
+     */
+    public SimulacionPractica(AlmacenFilas vectorDeEstados) {
+        this.vectorDeEstados = vectorDeEstados;
+    }
 
     private void buscarProximoEvento() {
+        this.proximoEvento = this.proximosEventos.extraerProximo();
+        Equipo equipo = this.proximoEvento.getEquipo();
+        if (equipo != null) {
+            equipo.quitarEventoPendiente(this.proximoEvento);
+        }
+    }
 
-        Evento proximoEvento = null;
-        Optional<Evento> proxEvento = proximosEventos.stream()
-                .min(Comparator.comparing(evento ->
-                        evento.getHoraEvento() - this.reloj));
-        if(proxEvento.isPresent()){
-            proximoEvento = proxEvento.get();
+    /**
+     * Agenda un evento en el calendario y, si involucra a un equipo, guarda en el equipo la referencia al evento
+     * pendiente para poder anularlo despues sin recorrer el calendario.
+     */
+    private Evento agendarEvento(Eventos tipoEvento, double horaEvento, Equipo equipo) {
+        Evento evento = this.proximosEventos.agendar(new Evento(tipoEvento, horaEvento, equipo));
+        if (equipo != null) {
+            equipo.registrarEventoPendiente(evento);
         }
-        this.proximosEventos.remove(proximoEvento);
-        this.proximoEvento = proximoEvento;
+        return evento;
     }
 
+    /**
+     * Devuelve la pagina "page" con el tamano de pagina de la corrida, 400 si la corrida no tiene tamano de pagina.
+     */
     public FilasPaginadas getFilasPaginadas(Integer page) {
-        FilasPaginadas filasPaginadas = new FilasPaginadas();
-        FilaVector ultimaFila = this.vectorDeEstados.getLast();
-        if (this.vectorDeEstados.size() > 200) {
-            int fromIndex = page * 200;
-            int toIndex = Math.min((page + 1) * 200, this.vectorDeEstados.size());
-            filasPaginadas.setFilas(this.vectorDeEstados.subList(fromIndex, toIndex));
-        } else {
-            filasPaginadas.setFilas(this.vectorDeEstados);
-        }
-        if (!filasPaginadas.getFilas().contains(ultimaFila)) {
-            filasPaginadas.getFilas().add(ultimaFila);
-        }
-        if (filasPaginadas.getFilas().getFirst() == ultimaFila) {
-            filasPaginadas.getFilas().remove(ultimaFila);
-            filasPaginadas.getFilas().add(ultimaFila);
-        }
-        return filasPaginadas;
-    }
-
-    public ResultadosSimulacion cola(double tiempo_simulacion,
-                                     ArrayList<Double> probabilidadesTipoTrabajo,
-                                     ArrayList<Double> tiemposMediaTrabajo,
-                                     double limite_inferiorUniforme,
-                                     double limite_superiorUniforme,
-                                     double tiempoDesdeInicioEquipoC,
-                                     double tiempoAntesFinEquipoC,
-                                     double tiempoInicioResultado,
-                                     int cantidadItercaciones) {
-
-        this.tiempoSimulacion = tiempo_simulacion;
-        this.probabilidadesTipoTrabajo = probabilidadesTipoTrabajo;
-        this.tiemposMediaTrabajo = tiemposMediaTrabajo;
-        this.limite_inferiorUniforme = limite_inferiorUniforme / 60;
-        this.limite_superiorUniforme = limite_superiorUniforme / 60;
-        this.tiempoDesdeInicioEquipoC = tiempoDesdeInicioEquipoC / 60;
-        this.tiempoAntesFinEquipoC = tiempoAntesFinEquipoC / 60;
-        this.tiempoInicioResultado = tiempoInicioResultado;
-        this.cantidadItercaciones = cantidadItercaciones;
+        if (this.tamanoPagina == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La corrida no tiene tamano de pagina, indique tamanoPagina");
+        }
+        return getFilasPaginadas(page, this.tamanoPagina);
+    }
+
+    /**
+     * Devuelve la pagina "page" de "tamanoPagina" filas, con la ultima fila de la corrida aparte. Solo se arman las
+     * filas de la pagina, en una lista nueva, por lo que pedir paginas no modifica el vector de estados ni depende
+     * de cuantas paginas se pidieron antes. Una pagina despues de la ultima devuelve las filas vacias.
+     */
+    public FilasPaginadas getFilasPaginadas(int page, int tamanoPagina) {
+        if (page < 0 || tamanoPagina < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La pagina tiene que ser 0 o mayor y el tamano de pagina 1 o mayor");
+        }
+        int cantidadFilas = this.vectorDeEstados.size();
+        int fromIndex = (int) Math.min((long) page * tamanoPagina, cantidadFilas);
+        int toIndex = (int) Math.min((long) fromIndex + tamanoPagina, cantidadFilas);
+        return new FilasPaginadas(
+                page,
+                tamanoPagina,
+                cantidadFilas,
+                (cantidadFilas + tamanoPagina - 1) / tamanoPagina,
+                this.vectorDeEstados.filas(fromIndex, toIndex),
+                this.ultimaFila);
+    }
+
+    /**
+     * Busca las filas que cumplen los filtros (ver IndiceFilas.buscar) y devuelve la pagina "page" de las
+     * coincidencias. La primera coincidencia de la pagina se ubica contando los bits de a palabras (ver
+     * coincidencia) y solo se arman las filas de la pagina, pedidas al almacen en un solo llamado.
+     */
+    public FilasEncontradas buscarFilas(Double relojDesde, Double relojHasta, Eventos tipoEvento, Integer idEquipo,
+                                        int page, int tamanoPagina) {
+        if (page < 0 || tamanoPagina < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La pagina tiene que ser 0 o mayor y el tamano de pagina 1 o mayor");
+        }
+        BitSet coincidencias = this.indiceFilas.buscar(relojDesde, relojHasta, tipoEvento, idEquipo);
+        int cantidadCoincidencias = coincidencias.cardinality();
+
+        long saltear = (long) page * tamanoPagina;
+        int cantidad = (int) Math.max(0, Math.min(tamanoPagina, cantidadCoincidencias - saltear));
+        int[] indices = new int[cantidad];
+        int fila = cantidad > 0 ? coincidencia(coincidencias, (int) saltear) : -1;
+        for (int i = 0; i < cantidad; i++) {
+            indices[i] = fila;
+            fila = coincidencias.nextSetBit(fila + 1);
+        }
 
+        return new FilasEncontradas(page, tamanoPagina, cantidadCoincidencias,
+                (cantidadCoincidencias + tamanoPagina - 1) / tamanoPagina,
+                Arrays.stream(indices).boxed().toList(), this.vectorDeEstados.filas(indices));
+    }
+
+    /**
+     * Pasa a "accion" las filas que cumplen los filtros (ver IndiceFilas.buscar), en orden y con su numero de fila.
+     * Las filas se piden al almacen de a LOTE_RECORRIDO, por lo que nunca estan todas en memoria.
+     */
+    public void recorrerFilas(Double relojDesde, Double relojHasta, Eventos tipoEvento, Integer idEquipo,
+                              ObjIntConsumer<FilaVector> accion) {
+        recorrerFilas(this.indiceFilas.buscar(relojDesde, relojHasta, tipoEvento, idEquipo), accion);
+    }
+
+    /**
+     * Pasa a "accion" las filas desde la fila "desde" hasta la ultima, por lotes como recorrerFilas.
+     */
+    public void recorrerFilasDesde(int desde, ObjIntConsumer<FilaVector> accion) {
+        BitSet filas = new BitSet();
+        if (desde < this.vectorDeEstados.size()) {
+            filas.set(Math.max(0, desde), this.vectorDeEstados.size());
+        }
+        recorrerFilas(filas, accion);
+    }
+
+    /**
+     * Memoria estimada del vector de estados guardado (ver AlmacenFilas.bytesEnMemoria), con su indice y las trazas
+     * de los equipos.
+     */
+    public long bytesVectorEstados() {
+        return this.vectorDeEstados.bytesEnMemoria() + this.indiceFilas.bytesEnMemoria()
+                + this.trazaEquipos.bytesEnMemoria();
+    }
+
+    /**
+     * Transmite la corrida en vivo por "canalFilas", tiene que indicarse antes de llamar a cola.
+     */
+    public void setCanalFilas(CanalFilas canalFilas) {
+        this.canalFilas = canalFilas;
+    }
+
+    private void recorrerFilas(BitSet coincidencias, ObjIntConsumer<FilaVector> accion) {
+        int[] lote = new int[LOTE_RECORRIDO];
+        int fila = coincidencias.nextSetBit(0);
+        while (fila >= 0) {
+            int cantidad = 0;
+            while (fila >= 0 && cantidad < LOTE_RECORRIDO) {
+                lote[cantidad++] = fila;
+                fila = coincidencias.nextSetBit(fila + 1);
+            }
+            int[] indices = cantidad == LOTE_RECORRIDO ? lote : Arrays.copyOf(lote, cantidad);
+            int i = 0;
+            for (FilaVector filaLote : this.vectorDeEstados.filas(indices)) {
+                accion.accept(filaLote, indices[i++]);
+            }
+        }
+    }
+
+    /**
+     * Fila de la coincidencia numero "numero" (desde 0), o -1 si hay menos coincidencias. Si cae en el primer tramo
+     * de filas consecutivas (siempre, en las busquedas sin tipo de evento) se calcula directo; si no, se cuentan los
+     * bits de cada palabra del BitSet hasta la palabra que la contiene, sin recorrer las coincidencias una por una.
+     */
+    static int coincidencia(BitSet coincidencias, int numero) {
+        int primera = coincidencias.nextSetBit(0);
+        if (primera < 0) {
+            return -1;
+        }
+        int finTramo = coincidencias.nextClearBit(primera);
+        if (numero < finTramo - primera) {
+            return primera + numero;
+        }
+        long[] palabras = coincidencias.toLongArray();
+        int restantes = numero;
+        for (int p = 0; p < palabras.length; p++) {
+            int enPalabra = Long.bitCount(palabras[p]);
+            if (restantes < enPalabra) {
+                long palabra = palabras[p];
+                for (int j = 0; j < restantes; j++) {
+                    palabra &= palabra - 1;
+                }
+                return p * Long.SIZE + Long.numberOfTrailingZeros(palabra);
+            }
+            restantes -= enPalabra;
+        }
+        return -1;
+    }
+
+    /**
+     * Descarta el vector de estados de la corrida (y sus archivos si se guardaba en disco).
+     */
+    public void liberarFilas() {
         this.vectorDeEstados.clear();
+        this.indiceFilas.clear();
+        this.trazaEquipos.clear();
+    }
+
+    /**
+     * Cierra el almacen de filas cuando la sesion ya no se lee (ver AlmacenFilas.cerrar). A diferencia de
+     * liberarFilas no vacia las filas en el lugar, porque puede llamarse mientras otra copia de la sesion se lee.
+     */
+    public void cerrarFilas() {
+        this.vectorDeEstados.cerrar();
+    }
+
+    /**
+     * Traza del equipo con ese id, 404 si el equipo no entro al sistema en la corrida o no se trazo.
+     */
+    public TrazaEquipo trazaEquipo(int idEquipo) {
+        TrazaEquipo traza = this.trazaEquipos.traza(idEquipo);
+        if (traza == null && idEquipo > this.trazaEquipos.getMaxEquipos() && idEquipo <= this.contadorEquipos) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "La corrida solo trazo los primeros "
+                    + this.trazaEquipos.getMaxEquipos() + " equipos, el " + idEquipo + " no se trazo");
+        }
+        if (traza == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "El equipo " + idEquipo + " no entro al sistema en la corrida");
+        }
+        return traza;
+    }
+
+    /**
+     * Escribe las trazas de todos los equipos de la corrida como CSV (ver TrazaEquipos.escribirCsv).
+     */
+    public void escribirTrazasCsv(Writer salida) {
+        this.trazaEquipos.escribirCsv(salida);
+    }
+
+    public ResultadosSimulacion cola(ParametrosSimulacion parametros) {
+        return cola(parametros, new ControlEjecucion(parametros));
+    }
+
+    public ResultadosSimulacion cola(ParametrosSimulacion parametros, ControlEjecucion controlEjecucion) {
+
+        this.tiempoSimulacion = parametros.getTiempoSimulacion();
+        this.probabilidadesTipoTrabajo = parametros.getProbabilidadesTipoTrabajo();
+        this.distribucionLlegadas = Distribuciones.llegadas(parametros);
+        this.tiemposAtencion = Distribuciones.tiemposAtencion(parametros);
+        this.tiempoDesdeInicioEquipoC = parametros.getTiempoDesdeInicioEquipoC();
+        this.tiempoAntesFinEquipoC = parametros.getTiempoAntesFinEquipoC();
+        this.tiempoInicioResultado = parametros.getTiempoInicioResultado();
+        this.cantidadItercaciones = parametros.getCantidadItercaciones();
+        this.tamanoPagina = parametros.getTamanoPagina();
+        this.controlEjecucion = controlEjecucion;
+        this.generador = new GeneradorAleatorio(parametros.getSemilla());
+        this.muestreadorTipoTrabajo = new MuestreadorTipoTrabajo(this.probabilidadesTipoTrabajo);
+        this.controlEjecucion.iniciar();
+        long inicioNanos = System.nanoTime();
+
+        this.vectorDeEstados.clear();
+        this.vectorDeEstados.iniciar(this);
+        this.indiceFilas.iniciar(this.vectorDeEstados);
+        this.trazaEquipos.iniciar(parametros.getMaxEquiposTrazados());
         this.equipos.clear();
         this.colaComun.clear();
         this.colaTrabajosC.clear();
@@ -144,23 +386,26 @@ public class SimulacionPractica extends Simulacion {
 
         this.filaActual = null;
         this.filaAnterior = null;
+        this.ultimaFilaGuardada = null;
         this.contadorIteraciones = 0;
         this.contadorIteracionesResultado = 0;
 
         this.reloj = 0;
         this.proximoEvento = null;
         this.contadorEquipos = 0;
-        this.vectorDeEstados.clear();
+        this.equipoFinalizado = null;
+        this.cantidadEquiposFinalizados = 0;
+        Arrays.fill(this.eventosPorTipo, 0);
+        this.maxEventosPendientes = 0;
+        this.acumuladoresColas.reiniciar();
+        this.histogramasTiempos = new HistogramasTiempos();
+        this.detectorCalentamiento = new DetectorCalentamiento();
 
         double reloj = this.reloj;
         Llegada llegada_primera = new Llegada();
-        llegada_primera.generarProximaLlegada(reloj);
+        llegada_primera.generarProximaLlegada(reloj, this.generador.rndLlegada(), this.distribucionLlegadas);
 
-        this.proximosEventos.add(new Evento(
-                Eventos.Llegada,
-                llegada_primera.getHoraProximaLlegada(),
-                null
-        ));
+        this.agendarEvento(Eventos.Llegada, llegada_primera.getHoraProximaLlegada(), null);
 
         ColaVector colaVectorInicio = new ColaVector(
                 this.colaComun.size(),
@@ -177,6 +422,9 @@ public class SimulacionPractica extends Simulacion {
                 0);
 
 
+        this.eventoFilaActual = Eventos.Inicio;
+        this.idEquipoFilaActual = null;
+        this.numeroEventoFilaActual = 0;
         this.filaActual = new FilaVector(
                 Eventos.Inicio.toString(),
                 this.reloj,
@@ -187,65 +435,118 @@ public class SimulacionPractica extends Simulacion {
                 0,
                 finTrabajo,
                 servidorInicio,
-                clonarEquipos());
+                null);
 
         if (this.reloj >= this.tiempoInicioResultado && this.contadorIteracionesResultado <= this.cantidadItercaciones) {
-            this.vectorDeEstados.add(this.filaActual);
+            this.guardarFilaActual();
             this.contadorIteracionesResultado++;
         }
 
         this.contadorIteraciones++;
 
-        while (this.reloj < this.tiempoSimulacion && this.contadorIteraciones <= 100000) {
-            this.buscarProximoEvento();
-            this.filaAnterior = this.filaActual;
-            this.reloj = this.proximoEvento.getHoraEvento();
-
-            if (this.proximoEvento.getTipoEvento().equals(Eventos.Llegada)) {
-                this.eventoLlegada();
-            }
-
-            if (this.proximoEvento.getTipoEvento().equals(Eventos.Cambio)) {
-                this.eventoCambioTrabajo();
-            }
-
-            if (this.proximoEvento.getTipoEvento().equals(Eventos.Reanudacion)) {
-                this.eventoReanudacionTrabajo();
-            }
-
-            if (this.proximoEvento.getTipoEvento().equals(Eventos.FinTrabajo)) {
-                this.eventoFinTrabajo();
-            }
+        while (this.reloj < this.tiempoSimulacion && !this.controlEjecucion.debeTerminar(this.contadorIteraciones - 1, this.reloj)) {
+            this.procesarProximoEvento();
 
             if (this.reloj >= this.tiempoInicioResultado && this.contadorIteracionesResultado <= this.cantidadItercaciones) {
                 this.contadorIteracionesResultado++;
-                this.vectorDeEstados.add(this.filaActual);
+                this.guardarFilaActual();
             }
             this.contadorIteraciones++;
+            if (this.canalFilas != null && this.contadorIteraciones % this.canalFilas.getEventosEntreIndicadores() == 0) {
+                this.publicarIndicadores();
+            }
         }
 
-        if (this.vectorDeEstados.getLast() != this.filaActual) {
-            this.vectorDeEstados.add(this.filaActual);
+        if (this.ultimaFilaGuardada != this.filaActual) {
+            this.guardarFilaActual();
         }
+        this.vectorDeEstados.compactar();
+        this.indiceFilas.compactar();
+        this.trazaEquipos.compactar();
+        this.ultimaFila = this.vectorDeEstados.fila(this.vectorDeEstados.size() - 1);
+        if (this.canalFilas != null) {
+            this.publicarIndicadores();
+        }
+
+        this.controlEjecucion.finalizar(this.contadorIteraciones - 1, this.reloj);
 
         ResultadosSimulacion resultados = new ResultadosSimulacion();
         resultados.calcularPorcentajeOcupacion(this.reloj, this.filaActual.servidor.getTiempoOcupacionAcum());
         resultados.calcularPromedioPermanencia(this.contadorEquipos, this.filaActual.servidor.getTiempoPermanenciaEquipoAcum());
         resultados.setCantidadFilas(this.vectorDeEstados.size());
-
-        if (this.vectorDeEstados.size() > 200) {
-            resultados.setFilasPaginadas(this.vectorDeEstados.subList(0, 200));
-            resultados.getFilasPaginadas().add(this.vectorDeEstados.getLast());
-        } else {
-            resultados.setFilasPaginadas(this.vectorDeEstados);
+        resultados.setCantidadEquiposFinalizados(this.cantidadEquiposFinalizados + (this.equipoFinalizado != null ? 1 : 0));
+        resultados.setCantidadEventos(this.contadorIteraciones - 1);
+        resultados.setMotivoFin(this.controlEjecucion.getMotivoFin());
+        resultados.setSemilla(parametros.getSemilla());
+        resultados.setEstadisticasCorrida(EstadisticasCorrida.desde(System.nanoTime() - inicioNanos,
+                this.contadorIteraciones - 1, this.eventosPorTipo, this.maxEventosPendientes,
+                bytesVectorEstados()));
+        resultados.setIndicadoresColas(this.acumuladoresColas.indicadores(this.reloj,
+                this.eventosPorTipo[Eventos.Llegada.ordinal()], resultados.getCantidadEquiposFinalizados()));
+        resultados.setPercentilesPermanencia(this.histogramasTiempos.percentilesPermanencia());
+        resultados.setPercentilesEspera(this.histogramasTiempos.percentilesEspera());
+        resultados.setCalentamiento(this.detectorCalentamiento.resultado(this.reloj,
+                this.filaActual.servidor.getTiempoOcupacionAcum(), this.contadorEquipos));
+        if (parametros.isEstadoEstacionario()) {
+            resultados.usarEstadoEstacionario();
         }
-        FilaVector ultimaFila = this.vectorDeEstados.getLast();
-        if (!resultados.getFilasPaginadas().contains(ultimaFila)) {
-            resultados.getFilasPaginadas().add(ultimaFila);
+
+        resultados.setUltimaFila(this.ultimaFila);
+        if (this.tamanoPagina != null) {
+            FilasPaginadas primeraPagina = this.getFilasPaginadas(0);
+            resultados.setTamanoPagina(primeraPagina.getTamanoPagina());
+            resultados.setCantidadPaginas(primeraPagina.getCantidadPaginas());
+            resultados.setFilasPaginadas(primeraPagina.getFilas());
         }
         return resultados;
     }
 
+    /**
+     * Extrae el proximo evento del calendario y lo ejecuta, la fila resultante queda en "filaActual".
+     */
+    private void procesarProximoEvento() {
+        this.retirarEquipoFinalizado();
+        this.buscarProximoEvento();
+        this.filaAnterior = this.filaActual;
+        this.reloj = this.proximoEvento.getHoraEvento();
+        this.numeroEventoFilaActual = this.contadorIteraciones;
+
+        if (this.proximoEvento.getTipoEvento().equals(Eventos.Llegada)) {
+            this.eventoLlegada();
+        }
+
+        if (this.proximoEvento.getTipoEvento().equals(Eventos.Cambio)) {
+            this.eventoCambioTrabajo();
+        }
+
+        if (this.proximoEvento.getTipoEvento().equals(Eventos.Reanudacion)) {
+            this.eventoReanudacionTrabajo();
+        }
+
+        if (this.proximoEvento.getTipoEvento().equals(Eventos.FinTrabajo)) {
+            this.eventoFinTrabajo();
+        }
+
+        if (!this.repitiendo) {
+            this.registrarEstadisticasEvento();
+        }
+    }
+
+    /**
+     * Actualiza las estadisticas de la corrida con el evento que se acaba de procesar.
+     */
+    private void registrarEstadisticasEvento() {
+        // El equipo finalizado en este evento sigue en la lista hasta el proximo, pero ya salio del sistema
+        ColaVector colas = this.filaActual.getColaVector();
+        this.acumuladoresColas.actualizar(this.reloj, colas.getColaComun(), colas.getColaTrabajoC(),
+                colas.getTrabajoCSegundoPlano(),
+                this.equipos.size() - (this.equipoFinalizado != null ? 1 : 0));
+        this.eventosPorTipo[this.proximoEvento.getTipoEvento().ordinal()]++;
+        if (this.proximosEventos.size() > this.maxEventosPendientes) {
+            this.maxEventosPendientes = this.proximosEventos.size();
+        }
+    }
+
     private void eventoFinTrabajo() {
 
         ColaVector colasEstadoActual = new ColaVector(
@@ -268,52 +569,29 @@ public class SimulacionPractica extends Simulacion {
         FinTrabajo finTrabajo = new FinTrabajo();
 
         if (colasEstadoActual.getColaTrabajoC() > 0) {
-            Equipo equipoEnColaCAAtender = this.colaTrabajosC.getFirst();
-            this.colaTrabajosC.remove(equipoEnColaCAAtender);
+            Equipo equipoEnColaCAAtender = this.colaTrabajosC.pollFirst();
             equipoEnColaCAAtender.setEquipo_estado(EstadoEquipo.Atendido);
             colasEstadoActual.restarColaC();
+            this.trazaEquipos.retomaAtencion(equipoEnColaCAAtender, this.reloj);
 
             finTrabajo.setTiempoAtencion(this.tiempoAntesFinEquipoC);
             finTrabajo.setHoraFinTrabajo(this.reloj + this.tiempoAntesFinEquipoC);
-            this.proximosEventos.add(
-                    new Evento(
-                            Eventos.FinTrabajo,
-                            this.reloj + this.tiempoAntesFinEquipoC,
-                            equipoEnColaCAAtender
-                    )
-            );
+            this.agendarEvento(Eventos.FinTrabajo, this.reloj + this.tiempoAntesFinEquipoC, equipoEnColaCAAtender);
         } else if (colasEstadoActual.getColaComun() > 0) {
             colasEstadoActual.restarColaComun();
-            Equipo equipoEnColaComun = this.colaComun.getFirst();
-            this.colaComun.remove(equipoEnColaComun);
+            Equipo equipoEnColaComun = this.colaComun.pollFirst();
             equipoEnColaComun.setEquipo_estado(EstadoEquipo.Atendido);
+            this.trazaEquipos.inicioAtencion(equipoEnColaComun, this.reloj);
+            this.registrarEspera(equipoEnColaComun);
 
-            finTrabajo.calcularHoraFinTrabajo(
-                    equipoEnColaComun.getTipo_trabajo(),
-                    this.tiemposMediaTrabajo,
-                    this.reloj,
-                    this.limite_inferiorUniforme,
-                    this.limite_superiorUniforme
-            );
+            this.calcularHoraFinTrabajo(finTrabajo, equipoEnColaComun.getTipo_trabajo());
             equipoEnColaComun.setHoraFinAtencionEstimada(finTrabajo.getHoraFinTrabajo());
 
-            this.proximosEventos.add(
-                    new Evento(
-                            Eventos.FinTrabajo,
-                            finTrabajo.getHoraFinTrabajo(),
-                            equipoEnColaComun
-                    )
-            );
+            this.agendarEvento(Eventos.FinTrabajo, finTrabajo.getHoraFinTrabajo(), equipoEnColaComun);
 
             if (equipoEnColaComun.getTipo_trabajo().equals(Trabajo.C)) {
                 Double horaCambioTrabajoC = this.reloj + tiempoDesdeInicioEquipoC;
-                this.proximosEventos.add(
-                        new Evento(
-                                Eventos.Cambio,
-                                this.reloj + this.tiempoDesdeInicioEquipoC,
-                                equipoEnColaComun
-                        )
-                );
+                this.agendarEvento(Eventos.Cambio, this.reloj + this.tiempoDesdeInicioEquipoC, equipoEnColaComun);
                 equipoEnColaComun.setHoraCambioTrabajoC(horaCambioTrabajoC);
             }
 
@@ -323,9 +601,16 @@ public class SimulacionPractica extends Simulacion {
 
         equipoFinalizacion.setHora_salida(this.reloj);
         equipoFinalizacion.setEquipo_estado(EstadoEquipo.Finalizado);
+        this.trazaEquipos.salida(equipoFinalizacion, this.reloj);
+        this.equipoFinalizado = equipoFinalizacion;
 
         double tiempoPermanencia = equipoFinalizacion.getHora_salida() - equipoFinalizacion.getHora_llegada();
         servidorActual.acumTiempoPermanenciaEquipoAcum(tiempoPermanencia);
+        if (!this.repitiendo) {
+            this.histogramasTiempos.registrarPermanencia(equipoFinalizacion.getTipo_trabajo().ordinal(), tiempoPermanencia);
+            this.detectorCalentamiento.registrar(tiempoPermanencia, this.reloj, servidorActual.getTiempoOcupacionAcum(),
+                    this.contadorEquipos);
+        }
 
         Llegada llegada = new Llegada();
         llegada.setHoraProximaLlegada(this.filaAnterior.llegada.getHoraProximaLlegada());
@@ -333,6 +618,8 @@ public class SimulacionPractica extends Simulacion {
         double promedioPermanencia = servidorActual.getTiempoPermanenciaEquipoAcum() / this.contadorEquipos;
         double porcentajeOcupacion = servidorActual.getTiempoOcupacionAcum() / this.reloj * 100;
 
+        this.eventoFilaActual = Eventos.FinTrabajo;
+        this.idEquipoFilaActual = equipoFinalizacion.getId_equipo();
         this.filaActual = new FilaVector(
                 Eventos.FinTrabajo + " E" + equipoFinalizacion.getId_equipo(),
                 this.reloj,
@@ -343,7 +630,7 @@ public class SimulacionPractica extends Simulacion {
                 porcentajeOcupacion,
                 finTrabajo,
                 servidorActual,
-                clonarEquipos()
+                null
         );
     }
 
@@ -368,6 +655,7 @@ public class SimulacionPractica extends Simulacion {
 
         Equipo equipoReanudacion = this.proximoEvento.getEquipo();
         equipoReanudacion.setHoraReanudacionTrabajoC(null);
+        this.trazaEquipos.reanudacion(equipoReanudacion, this.reloj);
 
         if (servidorActual.getEstado().equals(EstadoServidor.Ocupado)) {
 
@@ -375,11 +663,12 @@ public class SimulacionPractica extends Simulacion {
             equipoReanudacion.setHoraFinAtencionEstimada(null);
             colasEstadoActual.sumarColaTrabajoC();
             this.colaTrabajosC.add(equipoReanudacion);
-            this.anularFinTrabajoC(equipoReanudacion.getId_equipo());
+            this.anularFinTrabajoC(equipoReanudacion);
             finTrabajo.setHoraFinTrabajo(this.filaAnterior.finTrabajo.getHoraFinTrabajo());
         } else {
 
             equipoReanudacion.setEquipo_estado(EstadoEquipo.Atendido);
+            this.trazaEquipos.retomaAtencion(equipoReanudacion, this.reloj);
             servidorActual.setEstado(EstadoServidor.Ocupado);
             finTrabajo.setHoraFinTrabajo(equipoReanudacion.getHoraFinAtencionEstimada());
             colasEstadoActual.restarTrabajoCSegundoPlano();
@@ -390,6 +679,8 @@ public class SimulacionPractica extends Simulacion {
 
         double porcentajeOcupacion = servidorActual.getTiempoOcupacionAcum() / this.reloj * 100;
 
+        this.eventoFilaActual = Eventos.Reanudacion;
+        this.idEquipoFilaActual = equipoReanudacion.getId_equipo();
         this.filaActual = new FilaVector(
                 Eventos.Reanudacion + " E" + equipoReanudacion.getId_equipo(),
                 this.reloj,
@@ -400,17 +691,16 @@ public class SimulacionPractica extends Simulacion {
                 porcentajeOcupacion,
                 finTrabajo,
                 servidorActual,
-                clonarEquipos()
+                null
         );
 
     }
 
-    private void anularFinTrabajoC(Integer idEquipo) {
-        for (Evento evento : this.proximosEventos) {
-            if (evento.getTipoEvento().equals(Eventos.FinTrabajo) && evento.getEquipo().getId_equipo() == idEquipo) {
-                this.proximosEventos.remove(evento);
-                break;
-            }
+    private void anularFinTrabajoC(Equipo equipo) {
+        Evento finTrabajo = equipo.getEventoFinTrabajo();
+        if (finTrabajo != null) {
+            this.proximosEventos.cancelar(finTrabajo);
+            equipo.setEventoFinTrabajo(null);
         }
     }
 
@@ -435,6 +725,7 @@ public class SimulacionPractica extends Simulacion {
 
         Equipo equipoCambioTrabajo = this.proximoEvento.getEquipo();
         equipoCambioTrabajo.setEquipo_estado(EstadoEquipo.At2doplano);
+        this.trazaEquipos.cambio(equipoCambioTrabajo, this.reloj);
         colasEstadoActual.sumarTrabajoCSegundoPlano();
 
         Double horaReanudacionTrabajoC =
@@ -442,68 +733,40 @@ public class SimulacionPractica extends Simulacion {
         equipoCambioTrabajo.setHoraCambioTrabajoC(null);
         equipoCambioTrabajo.setHoraReanudacionTrabajoC(horaReanudacionTrabajoC);
 
-        this.proximosEventos.add(
-                new Evento(
-                        Eventos.Reanudacion,
-                        horaReanudacionTrabajoC,
-                        equipoCambioTrabajo
-                )
-        );
+        this.agendarEvento(Eventos.Reanudacion, horaReanudacionTrabajoC, equipoCambioTrabajo);
 
         FinTrabajo finTrabajo = new FinTrabajo();
 
         // Se verifica el estado de las colas
         if (colasEstadoActual.getColaTrabajoC() > 0) {
 
-            Equipo equipoEnColaCAAtender = this.colaTrabajosC.getFirst();
+            Equipo equipoEnColaCAAtender = this.colaTrabajosC.pollFirst();
             equipoEnColaCAAtender.setEquipo_estado(EstadoEquipo.Atendido);
             colasEstadoActual.restarColaC();
+            this.trazaEquipos.retomaAtencion(equipoEnColaCAAtender, this.reloj);
 
             finTrabajo.setTiempoAtencion(this.tiempoAntesFinEquipoC);
             finTrabajo.setHoraFinTrabajo(this.reloj + this.tiempoAntesFinEquipoC);
 
-            this.proximosEventos.add(
-                    new Evento(
-                            Eventos.FinTrabajo,
-                            this.reloj + this.tiempoAntesFinEquipoC,
-                            equipoEnColaCAAtender
-                    )
-            );
+            this.agendarEvento(Eventos.FinTrabajo, this.reloj + this.tiempoAntesFinEquipoC, equipoEnColaCAAtender);
 
         } else if (colasEstadoActual.getColaComun() > 0) {
 
-            Equipo equipoEnColaComunAAtender = this.colaComun.getFirst();
+            Equipo equipoEnColaComunAAtender = this.colaComun.pollFirst();
             equipoEnColaComunAAtender.setEquipo_estado(EstadoEquipo.Atendido);
-            this.colaComun.remove(equipoEnColaComunAAtender);
             colasEstadoActual.restarColaComun();
+            this.trazaEquipos.inicioAtencion(equipoEnColaComunAAtender, this.reloj);
+            this.registrarEspera(equipoEnColaComunAAtender);
 
-            finTrabajo.calcularHoraFinTrabajo(
-                    equipoEnColaComunAAtender.getTipo_trabajo(),
-                    this.tiemposMediaTrabajo,
-                    this.reloj,
-                    this.limite_inferiorUniforme,
-                    this.limite_superiorUniforme
-            );
-            this.proximosEventos.add(
-                    new Evento(
-                            Eventos.FinTrabajo,
-                            finTrabajo.getHoraFinTrabajo(),
-                            equipoEnColaComunAAtender
-                    )
-            );
+            this.calcularHoraFinTrabajo(finTrabajo, equipoEnColaComunAAtender.getTipo_trabajo());
+            this.agendarEvento(Eventos.FinTrabajo, finTrabajo.getHoraFinTrabajo(), equipoEnColaComunAAtender);
 
             // Se asigna la hora de fin de atencion estimada al equipo que se esta atendiendo.
             equipoEnColaComunAAtender.setHoraFinAtencionEstimada(finTrabajo.getHoraFinTrabajo());
 
             if (equipoEnColaComunAAtender.getTipo_trabajo().equals(Trabajo.C)) {
                 double horaCambioTrabajoC = this.reloj + this.tiempoDesdeInicioEquipoC;
-                this.proximosEventos.add(
-                        new Evento(
-                                Eventos.Cambio,
-                                horaCambioTrabajoC,
-                                equipoEnColaComunAAtender
-                        )
-                );
+                this.agendarEvento(Eventos.Cambio, horaCambioTrabajoC, equipoEnColaComunAAtender);
                 equipoEnColaComunAAtender.setHoraCambioTrabajoC(horaCambioTrabajoC);
             }
         } else {
@@ -516,6 +779,8 @@ public class SimulacionPractica extends Simulacion {
 
         double porcentajeOcupacion = servidorActual.getTiempoOcupacionAcum() / this.reloj * 100;
 
+        this.eventoFilaActual = Eventos.Cambio;
+        this.idEquipoFilaActual = equipoCambioTrabajo.getId_equipo();
         this.filaActual = new FilaVector(
                 Eventos.Cambio + " E" + equipoCambioTrabajo.getId_equipo(),
                 this.reloj,
@@ -526,7 +791,7 @@ public class SimulacionPractica extends Simulacion {
                 porcentajeOcupacion,
                 finTrabajo,
                 servidorActual,
-                clonarEquipos()
+                null
         );
     }
 
@@ -548,14 +813,9 @@ public class SimulacionPractica extends Simulacion {
         }
 
         Llegada proximaLLegada = new Llegada();
-        proximaLLegada.generarProximaLlegada(this.reloj);
+        proximaLLegada.generarProximaLlegada(this.reloj, this.generador.rndLlegada(), this.distribucionLlegadas);
 
-        this.proximosEventos.add(
-                new Evento(
-                        Eventos.Llegada,
-                        proximaLLegada.getHoraProximaLlegada(),
-                        null)
-        );
+        this.agendarEvento(Eventos.Llegada, proximaLLegada.getHoraProximaLlegada(), null);
 
         FinTrabajo finTrabajo = new FinTrabajo();
         Equipo equipo = new Equipo();
@@ -566,31 +826,29 @@ public class SimulacionPractica extends Simulacion {
 
             if (colasEstadoActual.getLugaresLibres() > 0) {
 
-                proximaLLegada.calcularTipoTrabajo(tipoTrabajos, probabilidadesTipoTrabajo);
+                proximaLLegada.calcularTipoTrabajo(tipoTrabajos, this.generador.rndTipoTrabajo(), this.muestreadorTipoTrabajo);
                 this.contadorEquipos++;
 
                 equipo.setId_equipo(this.contadorEquipos);
                 equipo.setHora_llegada(reloj);
                 equipo.setTipo_trabajo(proximaLLegada.getTrabajo());
-                equipos.add(equipo);
+                this.equipos.add(equipo);
 
                 colasEstadoActual.sumarColaComun();
                 this.colaComun.add(equipo);
                 equipo.setEquipo_estado(EstadoEquipo.EnCola);
+                this.trazaEquipos.llegada(equipo, this.reloj);
+            } else if (!this.repitiendo) {
+                this.acumuladoresColas.rechazarLlegada();
             }
 
         } else {
             this.contadorEquipos++;
             servidorActual.setEstado(EstadoServidor.Ocupado);
 
-            proximaLLegada.calcularTipoTrabajo(tipoTrabajos, probabilidadesTipoTrabajo);
+            proximaLLegada.calcularTipoTrabajo(tipoTrabajos, this.generador.rndTipoTrabajo(), this.muestreadorTipoTrabajo);
 
-            finTrabajo.calcularHoraFinTrabajo(
-                    proximaLLegada.getTrabajo(),
-                    this.tiemposMediaTrabajo,
-                    this.reloj,
-                    this.limite_inferiorUniforme,
-                    this.limite_superiorUniforme);
+            this.calcularHoraFinTrabajo(finTrabajo, proximaLLegada.getTrabajo());
 
             equipo.setId_equipo(this.contadorEquipos);
             equipo.setEquipo_estado(EstadoEquipo.Atendido);
@@ -598,28 +856,23 @@ public class SimulacionPractica extends Simulacion {
             equipo.setHora_llegada(reloj);
             equipo.setHoraFinAtencionEstimada(finTrabajo.getHoraFinTrabajo());
 
-            proximosEventos.add(
-                    new Evento(
-                            Eventos.FinTrabajo,
-                            finTrabajo.getHoraFinTrabajo(),
-                            equipo)
-            );
+            this.agendarEvento(Eventos.FinTrabajo, finTrabajo.getHoraFinTrabajo(), equipo);
 
             if (proximaLLegada.getTrabajo().equals(Trabajo.C)) {
                 double horaCambioTrabajoC = this.reloj + tiempoDesdeInicioEquipoC;
-                proximosEventos.add(
-                        new Evento(
-                                Eventos.Cambio,
-                                horaCambioTrabajoC,
-                                equipo)
-                );
+                this.agendarEvento(Eventos.Cambio, horaCambioTrabajoC, equipo);
                 equipo.setHoraCambioTrabajoC(horaCambioTrabajoC);
             }
-            equipos.add(equipo);
+            this.equipos.add(equipo);
+            this.trazaEquipos.llegada(equipo, this.reloj);
+            this.trazaEquipos.inicioAtencion(equipo, this.reloj);
+            this.registrarEspera(equipo);
         }
 
         double porcentajeOcupacion = servidorActual.getTiempoOcupacionAcum() / this.reloj * 100;
 
+        this.eventoFilaActual = Eventos.Llegada;
+        this.idEquipoFilaActual = equipo.getId_equipo();
         this.filaActual = new FilaVector(
                 Eventos.Llegada + " E" + equipo.getId_equipo(),
                 this.reloj,
@@ -630,30 +883,147 @@ public class SimulacionPractica extends Simulacion {
                 porcentajeOcupacion,
                 finTrabajo,
                 servidorActual,
-                clonarEquipos());
+                null);
     }
 
 
-    private ArrayList<Equipo> clonarEquipos() {
-        ArrayList<Equipo> equipos = new ArrayList<>();
+    /**
+     * El equipo empieza a ser atendido por primera vez, la espera va al histograma de su tipo de trabajo.
+     */
+    private void registrarEspera(Equipo equipo) {
+        if (this.repitiendo) {
+            return;
+        }
+        this.histogramasTiempos.registrarEspera(equipo.getTipo_trabajo().ordinal(), this.reloj - equipo.getHora_llegada());
+    }
+
+    /**
+     * Sortea el tiempo de atencion de un trabajo del tipo "tipoTrabajo" que empieza a atenderse ahora.
+     */
+    private void calcularHoraFinTrabajo(FinTrabajo finTrabajo, Trabajo tipoTrabajo) {
+        Distribucion distribucion = this.tiemposAtencion[tipoTrabajo.ordinal()];
+        finTrabajo.calcularHoraFinTrabajo(distribucion, distribucion.media(), this.reloj,
+                this.generador.rndTiempoAtencion());
+    }
+
+    /**
+     * Agrega la fila actual al vector de estados. La foto de los equipos se toma recien aca, solo para las filas que
+     * se guardan, y los equipos que no cambiaron desde la ultima fila guardada comparten la misma version.
+     */
+    private void guardarFilaActual() {
+        this.vectorDeEstados.agregar(this.filaActual, this.eventoFilaActual, this.idEquipoFilaActual, this.equipos);
+        this.indiceFilas.agregar(this.eventoFilaActual, this.idEquipoFilaActual, this.equipos);
+        this.ultimaFilaGuardada = this.filaActual;
+        if (this.canalFilas != null && this.canalFilas.aceptaFilas()) {
+            this.canalFilas.publicarFila(this.vectorDeEstados.size() - 1, filaActualConEquipos());
+        }
+    }
+
+    private void publicarIndicadores() {
+        ColaVector colas = this.filaActual.getColaVector();
+        this.canalFilas.publicarIndicadores(new IndicadoresParciales(
+                this.reloj,
+                this.contadorIteraciones - 1,
+                this.filaActual.getPromedioOcupacion(),
+                this.filaActual.getPromedioPermanencia(),
+                colas.getColaComun(),
+                colas.getColaTrabajoC(),
+                colas.getTrabajoCSegundoPlano(),
+                this.equipos.size()));
+    }
+
+    /**
+     * El equipo que finalizo en el evento anterior ya se mostro en esa fila como Finalizado, a partir de la
+     * siguiente sale de la lista de equipos en el sistema y solo queda contado en los acumuladores.
+     */
+    private void retirarEquipoFinalizado() {
+        if (this.equipoFinalizado != null) {
+            this.equipos.remove(this.equipoFinalizado);
+            this.cantidadEquiposFinalizados++;
+            this.equipoFinalizado = null;
+        }
+    }
+
+    long getNumeroEventoFilaActual() {
+        return this.numeroEventoFilaActual;
+    }
+
+    /**
+     * Punto de control con el estado actual de la corrida, se toma al guardar la fila actual.
+     */
+    PuntoControl puntoControl() {
+        return new PuntoControl(
+                this.numeroEventoFilaActual,
+                this.reloj,
+                filaActualConEquipos(),
+                this.contadorEquipos,
+                this.cantidadEquiposFinalizados,
+                new PuntoControl.EstadoSistema(this.equipos, this.colaComun, this.colaTrabajosC, this.proximosEventos,
+                        this.equipoFinalizado).copiar());
+    }
+
+    /**
+     * Simulacion con los mismos parametros que esta, ubicada en el punto de control, que sortea con "generador".
+     * Sirve para volver a calcular las filas siguientes al punto de control con repetirProximoEvento.
+     */
+    SimulacionPractica repetidora(PuntoControl puntoControl, NumerosAleatorios generador) {
+        // La repetidora no guarda filas ni calcula estadisticas, las filas las devuelve repetirProximoEvento
+        SimulacionPractica repetidora = new SimulacionPractica((AlmacenFilas) null);
+        repetidora.repitiendo = true;
+        // Los equipos ya se trazaron en la corrida, la repetidora tiene una traza sin lugar para ninguno
+        repetidora.trazaEquipos.iniciar(0);
+        repetidora.tiempoSimulacion = this.tiempoSimulacion;
+        repetidora.probabilidadesTipoTrabajo = this.probabilidadesTipoTrabajo;
+        repetidora.distribucionLlegadas = this.distribucionLlegadas;
+        repetidora.tiemposAtencion = this.tiemposAtencion;
+        repetidora.tiempoDesdeInicioEquipoC = this.tiempoDesdeInicioEquipoC;
+        repetidora.tiempoAntesFinEquipoC = this.tiempoAntesFinEquipoC;
+        repetidora.tiempoInicioResultado = this.tiempoInicioResultado;
+        repetidora.cantidadItercaciones = this.cantidadItercaciones;
+        repetidora.muestreadorTipoTrabajo = this.muestreadorTipoTrabajo;
+        repetidora.generador = generador;
+
+        PuntoControl.EstadoSistema estado = puntoControl.getEstado().copiar();
+        repetidora.equipos = estado.equipos;
+        repetidora.colaComun = estado.colaComun;
+        repetidora.colaTrabajosC = estado.colaTrabajosC;
+        repetidora.proximosEventos = estado.calendario;
+        repetidora.equipoFinalizado = estado.equipoFinalizado;
+        repetidora.filaActual = puntoControl.getFila();
+        repetidora.reloj = puntoControl.getReloj();
+        repetidora.contadorEquipos = puntoControl.getContadorEquipos();
+        repetidora.cantidadEquiposFinalizados = puntoControl.getCantidadEquiposFinalizados();
+        repetidora.numeroEventoFilaActual = puntoControl.getNumeroEvento();
+        repetidora.contadorIteraciones = puntoControl.getNumeroEvento() + 1;
+        return repetidora;
+    }
+
+    /**
+     * Ejecuta el proximo evento como en cola, con las estadisticas y la traza, pero sin guardar la fila. Sirve para
+     * seguir una corrida que ya termino de a un evento (ver EventoBenchmark).
+     */
+    void simularProximoEvento() {
+        this.procesarProximoEvento();
+        this.contadorIteraciones++;
+    }
+
+    /**
+     * Ejecuta el proximo evento y devuelve su fila con los equipos, como la hubiera guardado la corrida.
+     */
+    FilaVector repetirProximoEvento() {
+        this.procesarProximoEvento();
+        this.contadorIteraciones++;
+        return filaActualConEquipos();
+    }
+
+    private FilaVector filaActualConEquipos() {
+        ArrayList<Equipo> fotos = new ArrayList<>(this.equipos.size());
         for (Equipo equipo : this.equipos) {
-            if (!equipo.isYaTermino()) {
-                Equipo equipoClon = new Equipo();
-                equipoClon.setId_equipo(equipo.getId_equipo());
-                equipoClon.setEquipo_estado(equipo.getEquipo_estado());
-                equipoClon.setTipo_trabajo(equipo.getTipo_trabajo());
-                equipoClon.setHora_llegada(equipo.getHora_llegada());
-                equipoClon.setHoraCambioTrabajoC(equipo.getHoraCambioTrabajoC());
-                equipoClon.setHoraReanudacionTrabajoC(equipo.getHoraReanudacionTrabajoC());
-                equipoClon.setHoraFinAtencionEstimada(equipo.getHoraFinAtencionEstimada());
-                equipoClon.setHora_salida(equipo.getHora_salida());
-                equipos.add(equipoClon);
-            }
-            if (equipo.getEquipo_estado() == EstadoEquipo.Finalizado) {
-                equipo.setYaTermino(true);
-            }
+            fotos.add(equipo.instantanea());
         }
-        return equipos;
+        FilaVector fila = this.filaActual;
+        return new FilaVector(fila.getEvento(), fila.getReloj(), fila.getLlegada(), fila.getColaVector(),
+                fila.getContadorEquipo(), fila.getPromedioPermanencia(), fila.getPromedioOcupacion(),
+                fila.getFinTrabajo(), fila.getServidor(), fotos);
     }
 }
-
@@ -0,0 +1,366 @@
+package com.demo.services;
+
+import com.demo.entities.EstadisticasCorrida;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+
+import java.util.Arrays;
+
+/**
+ * Simulacion del mismo modelo que SimulacionPractica pero sin vector de estados: no crea filas, llegadas, colas ni
+ * equipos como objetos, todo el estado vive en variables y arrays primitivos que se reutilizan. Solo devuelve los
+ * indicadores (promedio de permanencia, porcentaje de ocupacion e IndicadoresColas), pensada para horizontes de simulacion largos.
+ *
+ * Los equipos se guardan en "lugares" (indices de los arrays de equipos) que se liberan cuando el equipo salio
+ * del sistema y ya no tiene eventos pendientes.
+ *
+ * Los numeros aleatorios se sortean en el mismo orden y de los mismos flujos que en SimulacionPractica, por lo que
+ * con la misma semilla las dos simulaciones dan los mismos indicadores.
+ */
+public class SimulacionRapida {
+
+    private static final int LLEGADA = Eventos.Llegada.ordinal();
+    private static final int FIN_TRABAJO = Eventos.FinTrabajo.ordinal();
+    private static final int CAMBIO = Eventos.Cambio.ordinal();
+    private static final int REANUDACION = Eventos.Reanudacion.ordinal();
+    private static final int TRABAJO_C = Trabajo.C.ordinal();
+    private static final int SIN_EVENTO = -1;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * PARAMETROS DE LA SIMULACION (ver ParametrosSimulacion)
+     * - muestreadorTipoTrabajo: Limites acumulados de las probabilidades de tipo de trabajo, calculados una sola vez.
+     * - distribucionLlegadas, tiemposAtencion: Distribuciones de los tiempos, armadas una sola vez (ver Distribuciones).
+     */
+    private final double tiempoSimulacion;
+    private final MuestreadorTipoTrabajo muestreadorTipoTrabajo;
+    private final Distribucion distribucionLlegadas;
+    private final Distribucion[] tiemposAtencion;
+    private final double tiempoDesdeInicioEquipoC;
+    private final double tiempoAntesFinEquipoC;
+    private final boolean estadoEstacionario;
+
+    private final NumerosAleatorios generador;
+    private final long semilla;
+    private final ControlEjecucion controlEjecucion;
+    private final CalendarioEventosPrimitivo proximosEventos = new CalendarioEventosPrimitivo();
+
+    /**
+     * EQUIPOS EN EL SISTEMA, un lugar por equipo
+     */
+    private double[] horaLlegada = new double[CAPACIDAD_INICIAL];
+    private double[] horaFinAtencionEstimada = new double[CAPACIDAD_INICIAL];
+    private int[] tipoTrabajo = new int[CAPACIDAD_INICIAL];
+    private int[] eventoFinTrabajo = new int[CAPACIDAD_INICIAL];
+    private int[] eventosPendientes = new int[CAPACIDAD_INICIAL];
+    private boolean[] finalizado = new boolean[CAPACIDAD_INICIAL];
+    private int[] lugaresDisponibles = new int[CAPACIDAD_INICIAL];
+    private int cantidadLugaresDisponibles = 0;
+    private int lugaresUsados = 0;
+
+    /**
+     * COLAS, guardan el lugar del equipo
+     */
+    private final ColaEnteros colaComun = new ColaEnteros();
+    private final ColaEnteros colaTrabajosC = new ColaEnteros();
+    private int trabajoCSegundoPlano = 0;
+    private int lugaresLibres = 9;
+
+    /**
+     * ESTADO Y ACUMULADORES
+     * - acumuladoresColas: Largo de las colas y equipos en el sistema ponderados por el tiempo, y llegadas rechazadas.
+     * - histogramasTiempos: Permanencia y espera de los equipos por tipo de trabajo.
+     * - detectorCalentamiento: Serie de permanencias por lotes para descartar el periodo de calentamiento.
+     */
+    private double reloj = 0;
+    private boolean servidorOcupado = false;
+    private double tiempoOcupacionAcum = 0;
+    private double tiempoPermanenciaEquipoAcum = 0;
+    private int contadorEquipos = 0;
+    private int cantidadEquiposFinalizados = 0;
+    private long contadorIteraciones = 0;
+    private final long[] eventosPorTipo = new long[Eventos.values().length];
+    private int maxEventosPendientes = 0;
+    private final AcumuladoresColas acumuladoresColas = new AcumuladoresColas();
+    private final HistogramasTiempos histogramasTiempos = new HistogramasTiempos();
+    private final DetectorCalentamiento detectorCalentamiento = new DetectorCalentamiento();
+
+    public SimulacionRapida(ParametrosSimulacion parametros) {
+        this(parametros, new GeneradorAleatorio(parametros.getSemilla()));
+    }
+
+    public SimulacionRapida(ParametrosSimulacion parametros, NumerosAleatorios generador) {
+        this(parametros, generador, new ControlEjecucion(parametros));
+    }
+
+    public SimulacionRapida(ParametrosSimulacion parametros, NumerosAleatorios generador, ControlEjecucion controlEjecucion) {
+        this.tiempoSimulacion = parametros.getTiempoSimulacion();
+        this.muestreadorTipoTrabajo = new MuestreadorTipoTrabajo(parametros.getProbabilidadesTipoTrabajo());
+        this.distribucionLlegadas = Distribuciones.llegadas(parametros);
+        this.tiemposAtencion = Distribuciones.tiemposAtencion(parametros);
+        this.tiempoDesdeInicioEquipoC = parametros.getTiempoDesdeInicioEquipoC();
+        this.tiempoAntesFinEquipoC = parametros.getTiempoAntesFinEquipoC();
+        this.estadoEstacionario = parametros.isEstadoEstacionario();
+        this.generador = generador;
+        this.semilla = parametros.getSemilla();
+        this.controlEjecucion = controlEjecucion;
+    }
+
+    public ResultadosSimulacion ejecutar() {
+        this.controlEjecucion.iniciar();
+        long inicioNanos = System.nanoTime();
+        this.proximosEventos.agendar(LLEGADA, proximaLlegada(), SIN_EVENTO);
+        this.contadorIteraciones++;
+
+        while (this.reloj < this.tiempoSimulacion && !this.controlEjecucion.debeTerminar(this.contadorIteraciones - 1, this.reloj)) {
+            int evento = this.proximosEventos.extraerProximo();
+            int tipoEvento = this.proximosEventos.tipo(evento);
+            int lugar = this.proximosEventos.equipo(evento);
+            double horaEvento = this.proximosEventos.hora(evento);
+
+            if (this.servidorOcupado) {
+                this.tiempoOcupacionAcum += horaEvento - this.reloj;
+            }
+            this.reloj = horaEvento;
+
+            if (tipoEvento == LLEGADA) {
+                eventoLlegada();
+            } else {
+                this.eventosPendientes[lugar]--;
+                if (tipoEvento == FIN_TRABAJO) {
+                    this.eventoFinTrabajo[lugar] = SIN_EVENTO;
+                    eventoFinTrabajo(lugar);
+                } else if (tipoEvento == CAMBIO) {
+                    eventoCambioTrabajo(lugar);
+                } else if (tipoEvento == REANUDACION) {
+                    eventoReanudacionTrabajo(lugar);
+                }
+                liberarSiTermino(lugar);
+            }
+            this.acumuladoresColas.actualizar(this.reloj, this.colaComun.cantidad(), this.colaTrabajosC.cantidad(),
+                    this.trabajoCSegundoPlano, this.contadorEquipos - this.cantidadEquiposFinalizados);
+            this.eventosPorTipo[tipoEvento]++;
+            if (this.proximosEventos.size() > this.maxEventosPendientes) {
+                this.maxEventosPendientes = this.proximosEventos.size();
+            }
+            this.contadorIteraciones++;
+        }
+
+        this.controlEjecucion.finalizar(this.contadorIteraciones - 1, this.reloj);
+
+        ResultadosSimulacion resultados = new ResultadosSimulacion();
+        resultados.calcularPorcentajeOcupacion(this.reloj, this.tiempoOcupacionAcum);
+        resultados.calcularPromedioPermanencia(this.contadorEquipos, this.tiempoPermanenciaEquipoAcum);
+        resultados.setCantidadFilas(0);
+        resultados.setCantidadEquiposFinalizados(this.cantidadEquiposFinalizados);
+        resultados.setCantidadEventos(this.contadorIteraciones - 1);
+        resultados.setMotivoFin(this.controlEjecucion.getMotivoFin());
+        resultados.setSemilla(this.semilla);
+        resultados.setEstadisticasCorrida(EstadisticasCorrida.desde(System.nanoTime() - inicioNanos,
+                this.contadorIteraciones - 1, this.eventosPorTipo, this.maxEventosPendientes, 0));
+        resultados.setIndicadoresColas(this.acumuladoresColas.indicadores(this.reloj, this.eventosPorTipo[LLEGADA],
+                this.cantidadEquiposFinalizados));
+        resultados.setPercentilesPermanencia(this.histogramasTiempos.percentilesPermanencia());
+        resultados.setPercentilesEspera(this.histogramasTiempos.percentilesEspera());
+        resultados.setCalentamiento(this.detectorCalentamiento.resultado(this.reloj, this.tiempoOcupacionAcum,
+                this.contadorEquipos));
+        if (this.estadoEstacionario) {
+            resultados.usarEstadoEstacionario();
+        }
+        return resultados;
+    }
+
+    /**
+     * Histogramas de la corrida, para combinarlos con los de otras replicaciones despues de ejecutar.
+     */
+    public HistogramasTiempos getHistogramasTiempos() {
+        return this.histogramasTiempos;
+    }
+
+    private void eventoLlegada() {
+        this.proximosEventos.agendar(LLEGADA, this.reloj + proximaLlegada(), SIN_EVENTO);
+
+        if (this.servidorOcupado) {
+            if (this.lugaresLibres > 0) {
+                int lugar = ingresarEquipo();
+                this.colaComun.agregar(lugar);
+                this.lugaresLibres--;
+            } else {
+                this.acumuladoresColas.rechazarLlegada();
+            }
+        } else {
+            int lugar = ingresarEquipo();
+            this.servidorOcupado = true;
+            iniciarAtencion(lugar);
+        }
+    }
+
+    private void eventoFinTrabajo(int lugarFinalizacion) {
+        if (this.colaTrabajosC.cantidad() > 0) {
+            int lugar = this.colaTrabajosC.quitar();
+            this.lugaresLibres++;
+            agendarFinTrabajo(lugar, this.reloj + this.tiempoAntesFinEquipoC);
+        } else if (this.colaComun.cantidad() > 0) {
+            int lugar = this.colaComun.quitar();
+            this.lugaresLibres++;
+            iniciarAtencion(lugar);
+        } else {
+            this.servidorOcupado = false;
+        }
+
+        this.finalizado[lugarFinalizacion] = true;
+        double tiempoPermanencia = this.reloj - this.horaLlegada[lugarFinalizacion];
+        this.tiempoPermanenciaEquipoAcum += tiempoPermanencia;
+        this.histogramasTiempos.registrarPermanencia(this.tipoTrabajo[lugarFinalizacion], tiempoPermanencia);
+        this.detectorCalentamiento.registrar(tiempoPermanencia, this.reloj, this.tiempoOcupacionAcum,
+                this.contadorEquipos);
+        this.cantidadEquiposFinalizados++;
+    }
+
+    private void eventoCambioTrabajo(int lugarCambio) {
+        this.trabajoCSegundoPlano++;
+        this.lugaresLibres--;
+        agendar(REANUDACION, this.horaFinAtencionEstimada[lugarCambio] - this.tiempoAntesFinEquipoC, lugarCambio);
+
+        if (this.colaTrabajosC.cantidad() > 0) {
+            int lugar = this.colaTrabajosC.quitar();
+            this.lugaresLibres++;
+            agendarFinTrabajo(lugar, this.reloj + this.tiempoAntesFinEquipoC);
+        } else if (this.colaComun.cantidad() > 0) {
+            int lugar = this.colaComun.quitar();
+            this.lugaresLibres++;
+            iniciarAtencion(lugar);
+        } else {
+            this.servidorOcupado = false;
+        }
+    }
+
+    private void eventoReanudacionTrabajo(int lugarReanudacion) {
+        if (this.servidorOcupado) {
+            this.horaFinAtencionEstimada[lugarReanudacion] = Double.NaN;
+            this.colaTrabajosC.agregar(lugarReanudacion);
+            this.trabajoCSegundoPlano--;
+            int finTrabajo = this.eventoFinTrabajo[lugarReanudacion];
+            if (finTrabajo != SIN_EVENTO && this.proximosEventos.cancelar(finTrabajo)) {
+                this.eventosPendientes[lugarReanudacion]--;
+                this.eventoFinTrabajo[lugarReanudacion] = SIN_EVENTO;
+            }
+        } else {
+            this.servidorOcupado = true;
+            this.trabajoCSegundoPlano--;
+            this.lugaresLibres++;
+        }
+    }
+
+    /**
+     * El equipo empieza a ser atendido por primera vez: se sortea el tiempo de atencion y, si es un trabajo C, se
+     * agenda el momento en que puede quedar en segundo plano.
+     */
+    private void iniciarAtencion(int lugar) {
+        this.histogramasTiempos.registrarEspera(this.tipoTrabajo[lugar], this.reloj - this.horaLlegada[lugar]);
+        double rnd = redondear(this.generador.rndTiempoAtencion());
+        double tiempoAtencion = this.tiemposAtencion[this.tipoTrabajo[lugar]].muestra(rnd);
+        double horaFinTrabajo = this.reloj + tiempoAtencion;
+        this.horaFinAtencionEstimada[lugar] = horaFinTrabajo;
+        agendarFinTrabajo(lugar, horaFinTrabajo);
+
+        if (this.tipoTrabajo[lugar] == TRABAJO_C) {
+            agendar(CAMBIO, this.reloj + this.tiempoDesdeInicioEquipoC, lugar);
+        }
+    }
+
+    private int ingresarEquipo() {
+        int lugar = reservarLugar();
+        this.contadorEquipos++;
+        this.horaLlegada[lugar] = this.reloj;
+        this.tipoTrabajo[lugar] = sortearTipoTrabajo();
+        return lugar;
+    }
+
+    private void agendarFinTrabajo(int lugar, double hora) {
+        this.eventoFinTrabajo[lugar] = agendar(FIN_TRABAJO, hora, lugar);
+    }
+
+    private int agendar(int tipoEvento, double hora, int lugar) {
+        this.eventosPendientes[lugar]++;
+        return this.proximosEventos.agendar(tipoEvento, hora, lugar);
+    }
+
+    private double proximaLlegada() {
+        double ran = redondear(redondear(this.generador.rndLlegada()));
+        return redondear(this.distribucionLlegadas.muestra(ran));
+    }
+
+    private int sortearTipoTrabajo() {
+        return this.muestreadorTipoTrabajo.sortear(redondear(this.generador.rndTipoTrabajo()));
+    }
+
+    private int reservarLugar() {
+        int lugar;
+        if (this.cantidadLugaresDisponibles > 0) {
+            lugar = this.lugaresDisponibles[--this.cantidadLugaresDisponibles];
+        } else {
+            if (this.lugaresUsados == this.horaLlegada.length) {
+                int nuevaCapacidad = this.lugaresUsados * 2;
+                this.horaLlegada = Arrays.copyOf(this.horaLlegada, nuevaCapacidad);
+                this.horaFinAtencionEstimada = Arrays.copyOf(this.horaFinAtencionEstimada, nuevaCapacidad);
+                this.tipoTrabajo = Arrays.copyOf(this.tipoTrabajo, nuevaCapacidad);
+                this.eventoFinTrabajo = Arrays.copyOf(this.eventoFinTrabajo, nuevaCapacidad);
+                this.eventosPendientes = Arrays.copyOf(this.eventosPendientes, nuevaCapacidad);
+                this.finalizado = Arrays.copyOf(this.finalizado, nuevaCapacidad);
+                this.lugaresDisponibles = Arrays.copyOf(this.lugaresDisponibles, nuevaCapacidad);
+            }
+            lugar = this.lugaresUsados++;
+        }
+        this.horaFinAtencionEstimada[lugar] = Double.NaN;
+        this.eventoFinTrabajo[lugar] = SIN_EVENTO;
+        this.eventosPendientes[lugar] = 0;
+        this.finalizado[lugar] = false;
+        return lugar;
+    }
+
+    private void liberarSiTermino(int lugar) {
+        if (this.finalizado[lugar] && this.eventosPendientes[lugar] == 0) {
+            this.lugaresDisponibles[this.cantidadLugaresDisponibles++] = lugar;
+        }
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100.0) / 100.0;
+    }
+
+    /**
+     * Cola FIFO de enteros sobre un array circular que crece al doble cuando se llena.
+     */
+    private static final class ColaEnteros {
+        private int[] elementos = new int[CAPACIDAD_INICIAL];
+        private int inicio = 0;
+        private int cantidad = 0;
+
+        void agregar(int valor) {
+            if (this.cantidad == this.elementos.length) {
+                int[] nuevos = new int[this.elementos.length * 2];
+                for (int i = 0; i < this.cantidad; i++) {
+                    nuevos[i] = this.elementos[(this.inicio + i) % this.elementos.length];
+                }
+                this.elementos = nuevos;
+                this.inicio = 0;
+            }
+            this.elementos[(this.inicio + this.cantidad) % this.elementos.length] = valor;
+            this.cantidad++;
+        }
+
+        int quitar() {
+            int valor = this.elementos[this.inicio];
+            this.inicio = (this.inicio + 1) % this.elementos.length;
+            this.cantidad--;
+            return valor;
+        }
+
+        int cantidad() {
+            return this.cantidad;
+        }
+    }
+}
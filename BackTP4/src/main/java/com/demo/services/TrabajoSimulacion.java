@@ -0,0 +1,51 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_EstadoTrabajo;
+import com.demo.entities.Estados.EstadoTrabajo;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * Trabajo de simulacion asincronico. Lo actualiza el hilo que ejecuta la corrida y lo leen los pedidos de estado,
+ * por eso los campos que cambian durante la corrida son volatiles.
+ * - id: Identificador del trabajo.
+ * - creado: Momento en que se recibio el trabajo.
+ * - parametros: Parametros de la corrida, ya acotados por los limites del servidor.
+ * - controlEjecucion: Permite consultar el progreso y cancelar la corrida.
+ * - canalFilas: Canal por el que la corrida publica filas e indicadores para transmitirla en vivo, la cola de filas
+ *      se crea recien cuando alguien transmite el trabajo.
+ * - futuro: Tarea enviada al ejecutor, sirve para sacarla de la cola si se cancela antes de empezar.
+ * - estado, resultados, error: Estado actual del trabajo y lo que devolvio la corrida.
+ */
+@Data
+public class TrabajoSimulacion {
+    private final String id;
+    private final Instant creado;
+    private final ParametrosSimulacion parametros;
+    private final ControlEjecucion controlEjecucion;
+    private final CanalFilas canalFilas;
+    private volatile Future<?> futuro;
+
+    private volatile EstadoTrabajo estado = EstadoTrabajo.EnCola;
+    private volatile ResultadosSimulacion resultados;
+    private volatile String error;
+
+    public boolean isTerminado() {
+        return this.estado == EstadoTrabajo.Terminado
+                || this.estado == EstadoTrabajo.Cancelado
+                || this.estado == EstadoTrabajo.Fallido;
+    }
+
+    /**
+     * Estado del trabajo para responder los pedidos de estado, con el progreso que informa el control de ejecucion.
+     */
+    public Dto_EstadoTrabajo estadoActual() {
+        return Dto_EstadoTrabajo.desde(this.id, this.estado, this.controlEjecucion.getProgreso(),
+                this.controlEjecucion.getRelojActual(), this.parametros.getTiempoSimulacion(),
+                this.controlEjecucion.getEventosProcesados(), this.resultados, this.error);
+    }
+}
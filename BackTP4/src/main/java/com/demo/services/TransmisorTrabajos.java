@@ -0,0 +1,164 @@
+package com.demo.services;
+
+import com.demo.entities.FilaVector;
+import com.demo.entities.IndicadoresParciales;
+import com.demo.entities.LoteFilas;
+import com.demo.entities.ResultadosSimulacion;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Transmite un trabajo en vivo con Server-Sent Events, a medida que la corrida publica en su CanalFilas:
+ * - "filas": Lotes de filas en orden y sin saltos (LoteFilas). El canal solo tiene las primeras filas de la corrida;
+ *      las que no entraron (la cola se lleno o el consumidor se suscribio con la corrida empezada) se leen del
+ *      vector de estados cuando la corrida termina, a partir de la siguiente a la ultima enviada.
+ * - "indicadores": Los ultimos indicadores parciales, los intermedios que no se alcanzaron a enviar se descartan.
+ * - "fin": Estado final del trabajo, despues se cierra la transmision.
+ * Cada trabajo admite una transmision a la vez, porque las filas del canal se consumen al enviarlas. Al cerrarse una
+ * transmision se libera el canal y el trabajo se puede volver a transmitir.
+ */
+@Service
+public class TransmisorTrabajos {
+
+    private static final long ESPERA_FILAS_MS = 100;
+    private static final int LOTE_ENVIO = 256;
+
+    private final GestorTrabajos gestorTrabajos;
+    private final GestorSimulaciones gestorSimulaciones;
+    private final ThreadPoolExecutor ejecutorTransmisiones;
+
+    public TransmisorTrabajos(GestorTrabajos gestorTrabajos,
+                              GestorSimulaciones gestorSimulaciones,
+                              @Qualifier("ejecutorTransmisiones") ThreadPoolExecutor ejecutorTransmisiones) {
+        this.gestorTrabajos = gestorTrabajos;
+        this.gestorSimulaciones = gestorSimulaciones;
+        this.ejecutorTransmisiones = ejecutorTransmisiones;
+    }
+
+    public SseEmitter transmitir(String idTrabajo) {
+        return transmitir(idTrabajo, new SseEmitter());
+    }
+
+    SseEmitter transmitir(String idTrabajo, SseEmitter emisor) {
+        TrabajoSimulacion trabajo = this.gestorTrabajos.buscarTrabajo(idTrabajo);
+        if (!trabajo.getCanalFilas().suscribir()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "El trabajo " + idTrabajo + " ya se esta transmitiendo");
+        }
+        try {
+            this.ejecutorTransmisiones.execute(() -> enviar(trabajo, emisor));
+        } catch (RejectedExecutionException e) {
+            trabajo.getCanalFilas().desuscribir();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "El servidor esta transmitiendo demasiados trabajos, reintente mas tarde");
+        }
+        return emisor;
+    }
+
+    private void enviar(TrabajoSimulacion trabajo, SseEmitter emisor) {
+        CanalFilas canal = trabajo.getCanalFilas();
+        List<CanalFilas.FilaPublicada> publicadas = new ArrayList<>();
+        int siguiente = 0;
+        try {
+            while (!canal.isAgotado()) {
+                enviarIndicadores(canal, emisor);
+                publicadas.clear();
+                if (canal.tomarFilas(publicadas, ESPERA_FILAS_MS) > 0) {
+                    siguiente = enviarPublicadas(emisor, siguiente, publicadas);
+                }
+            }
+            enviarIndicadores(canal, emisor);
+
+            ResultadosSimulacion resultados = trabajo.getResultados();
+            if (resultados != null && resultados.getIdSimulacion() != null) {
+                completarFilas(resultados.getIdSimulacion(), siguiente, emisor);
+            }
+            emisor.send(SseEmitter.event().name("fin").data(trabajo.estadoActual(), MediaType.APPLICATION_JSON));
+            emisor.complete();
+        } catch (IOException | UncheckedIOException e) {
+            // El cliente cerro la conexion, no hay a quien avisarle
+            emisor.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emisor.complete();
+        } catch (RuntimeException e) {
+            emisor.completeWithError(e);
+        } finally {
+            canal.desuscribir();
+        }
+    }
+
+    /**
+     * Envia las filas tomadas del canal, que siguen a "siguiente" sin saltos. Devuelve la proxima fila esperada.
+     */
+    private static int enviarPublicadas(SseEmitter emisor, int siguiente, List<CanalFilas.FilaPublicada> publicadas)
+            throws IOException {
+        List<FilaVector> lote = new ArrayList<>(publicadas.size());
+        for (CanalFilas.FilaPublicada publicada : publicadas) {
+            if (publicada.indice() != siguiente + lote.size()) {
+                throw new IllegalStateException("El canal publico la fila " + publicada.indice() + " y se esperaba la "
+                        + (siguiente + lote.size()));
+            }
+            lote.add(publicada.fila());
+        }
+        enviarFilas(emisor, siguiente, lote);
+        return siguiente + lote.size();
+    }
+
+    /**
+     * Envia desde el vector de estados las filas que no pasaron por el canal.
+     */
+    private void completarFilas(String idSimulacion, int desde, SseEmitter emisor) throws IOException {
+        SesionSimulacion sesion = this.gestorSimulaciones.abrirSesion(idSimulacion);
+        try {
+            completarFilas(sesion.getSimulacion(), desde, emisor);
+        } finally {
+            sesion.liberar();
+        }
+    }
+
+    private void completarFilas(SimulacionPractica simulacion, int desde, SseEmitter emisor) throws IOException {
+        List<FilaVector> lote = new ArrayList<>(LOTE_ENVIO);
+        int[] inicioLote = {desde};
+        simulacion.recorrerFilasDesde(desde, (fila, indice) -> {
+            lote.add(fila);
+            if (lote.size() == LOTE_ENVIO) {
+                try {
+                    enviarFilas(emisor, inicioLote[0], lote);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                inicioLote[0] = indice + 1;
+                lote.clear();
+            }
+        });
+        if (!lote.isEmpty()) {
+            enviarFilas(emisor, inicioLote[0], lote);
+        }
+    }
+
+    private static void enviarIndicadores(CanalFilas canal, SseEmitter emisor) throws IOException {
+        IndicadoresParciales indicadores = canal.tomarIndicadores();
+        if (indicadores != null) {
+            emisor.send(SseEmitter.event().name("indicadores").data(indicadores, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private static void enviarFilas(SseEmitter emisor, int desde, List<FilaVector> filas) throws IOException {
+        emisor.send(SseEmitter.event()
+                .name("filas")
+                .id(String.valueOf(desde))
+                .data(new LoteFilas(desde, new ArrayList<>(filas)), MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,213 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.TrazaEquipo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Tabla por columnas con las horas en las que cada equipo de la corrida cambio de estado, la simulacion la completa
+ * al ejecutar cada evento. Los equipos tienen ids consecutivos desde 1, asi que la fila de un equipo es su id - 1.
+ * Cada equipo ocupa 6 doubles y un byte, sin importar cuantas filas del vector de estados se guarden. Las horas de
+ * los pasos que el equipo todavia no hizo quedan en NaN.
+ * Solo se trazan los primeros "maxEquipos" equipos (ver ParametrosSimulacion.maxEquiposTrazados), los demas se
+ * ignoran, asi la memoria queda acotada aunque la corrida sea larga.
+ */
+public class TrazaEquipos {
+
+    public static final String ENCABEZADO_CSV = "id_equipo,tipo_trabajo,hora_llegada,horaInicioAtencion,"
+            + "horaCambioTrabajoC,horaReanudacionTrabajoC,horaRetomaAtencion,hora_salida,estado";
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final int BYTES_POR_EQUIPO = 6 * Double.BYTES + 1;
+    private static final Trabajo[] TRABAJOS = Trabajo.values();
+
+    private int maxEquipos = Integer.MAX_VALUE;
+    private int cantidadEquipos = 0;
+    private byte[] tipoTrabajo = new byte[CAPACIDAD_INICIAL];
+    private double[] horaLlegada = new double[CAPACIDAD_INICIAL];
+    private double[] horaInicioAtencion = new double[CAPACIDAD_INICIAL];
+    private double[] horaCambio = new double[CAPACIDAD_INICIAL];
+    private double[] horaReanudacion = new double[CAPACIDAD_INICIAL];
+    private double[] horaRetomaAtencion = new double[CAPACIDAD_INICIAL];
+    private double[] horaSalida = new double[CAPACIDAD_INICIAL];
+
+    /**
+     * Vacia la tabla para una corrida nueva que traza hasta "maxEquipos" equipos.
+     */
+    public void iniciar(int maxEquipos) {
+        this.maxEquipos = Math.max(0, maxEquipos);
+        this.cantidadEquipos = 0;
+    }
+
+    public int getMaxEquipos() {
+        return this.maxEquipos;
+    }
+
+    /**
+     * Agrega el equipo que acaba de entrar al sistema, tiene que ser el siguiente id.
+     */
+    public void llegada(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() > this.maxEquipos) {
+            return;
+        }
+        if (equipo.getId_equipo() != this.cantidadEquipos + 1) {
+            throw new IllegalArgumentException("Se esperaba la llegada del equipo " + (this.cantidadEquipos + 1)
+                    + " y llego el " + equipo.getId_equipo());
+        }
+        if (this.cantidadEquipos == this.horaLlegada.length) {
+            crecer((int) Math.min((long) this.cantidadEquipos * 2, this.maxEquipos));
+        }
+        int i = this.cantidadEquipos++;
+        this.tipoTrabajo[i] = (byte) equipo.getTipo_trabajo().ordinal();
+        this.horaLlegada[i] = reloj;
+        this.horaInicioAtencion[i] = Double.NaN;
+        this.horaCambio[i] = Double.NaN;
+        this.horaReanudacion[i] = Double.NaN;
+        this.horaRetomaAtencion[i] = Double.NaN;
+        this.horaSalida[i] = Double.NaN;
+    }
+
+    public void inicioAtencion(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() <= this.maxEquipos) {
+            this.horaInicioAtencion[fila(equipo)] = reloj;
+        }
+    }
+
+    public void cambio(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() <= this.maxEquipos) {
+            this.horaCambio[fila(equipo)] = reloj;
+        }
+    }
+
+    public void reanudacion(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() <= this.maxEquipos) {
+            this.horaReanudacion[fila(equipo)] = reloj;
+        }
+    }
+
+    public void retomaAtencion(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() <= this.maxEquipos) {
+            this.horaRetomaAtencion[fila(equipo)] = reloj;
+        }
+    }
+
+    public void salida(Equipo equipo, double reloj) {
+        if (equipo.getId_equipo() <= this.maxEquipos) {
+            this.horaSalida[fila(equipo)] = reloj;
+        }
+    }
+
+    public int size() {
+        return this.cantidadEquipos;
+    }
+
+    /**
+     * Memoria estimada de la tabla, con la capacidad reservada.
+     */
+    public long bytesEnMemoria() {
+        return (long) this.horaLlegada.length * BYTES_POR_EQUIPO;
+    }
+
+    /**
+     * Traza del equipo con ese id, null si el equipo no llego a entrar al sistema o no se trazo.
+     */
+    public TrazaEquipo traza(int idEquipo) {
+        int i = idEquipo - 1;
+        if (i < 0 || i >= this.cantidadEquipos) {
+            return null;
+        }
+        return new TrazaEquipo(idEquipo, TRABAJOS[this.tipoTrabajo[i]], hora(this.horaLlegada[i]),
+                hora(this.horaInicioAtencion[i]), hora(this.horaCambio[i]), hora(this.horaReanudacion[i]),
+                hora(this.horaRetomaAtencion[i]), hora(this.horaSalida[i]), estado(i));
+    }
+
+    /**
+     * Escribe todas las trazas como CSV (con ENCABEZADO_CSV), las horas que faltan quedan vacias.
+     */
+    public void escribirCsv(Writer salida) {
+        StringBuilder linea = new StringBuilder(128);
+        try {
+            salida.write(ENCABEZADO_CSV);
+            salida.write('\n');
+            for (int i = 0; i < this.cantidadEquipos; i++) {
+                linea.setLength(0);
+                linea.append(i + 1).append(',').append(TRABAJOS[this.tipoTrabajo[i]]);
+                agregarHora(linea, this.horaLlegada[i]);
+                agregarHora(linea, this.horaInicioAtencion[i]);
+                agregarHora(linea, this.horaCambio[i]);
+                agregarHora(linea, this.horaReanudacion[i]);
+                agregarHora(linea, this.horaRetomaAtencion[i]);
+                agregarHora(linea, this.horaSalida[i]);
+                linea.append(',').append(estado(i)).append('\n');
+                salida.append(linea);
+            }
+            salida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron escribir las trazas de los equipos", e);
+        }
+    }
+
+    public void compactar() {
+        crecer(this.cantidadEquipos);
+    }
+
+    public void clear() {
+        this.cantidadEquipos = 0;
+        crecer(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Estado al que llevo el ultimo paso registrado del equipo.
+     */
+    private EstadoEquipo estado(int i) {
+        if (!Double.isNaN(this.horaSalida[i])) {
+            return EstadoEquipo.Finalizado;
+        }
+        if (!Double.isNaN(this.horaRetomaAtencion[i])) {
+            return EstadoEquipo.Atendido;
+        }
+        if (!Double.isNaN(this.horaReanudacion[i])) {
+            return EstadoEquipo.EncolaC;
+        }
+        if (!Double.isNaN(this.horaCambio[i])) {
+            return EstadoEquipo.At2doplano;
+        }
+        return Double.isNaN(this.horaInicioAtencion[i]) ? EstadoEquipo.EnCola : EstadoEquipo.Atendido;
+    }
+
+    private int fila(Equipo equipo) {
+        int i = equipo.getId_equipo() - 1;
+        if (i < 0 || i >= this.cantidadEquipos) {
+            throw new IllegalArgumentException("El equipo " + equipo.getId_equipo() + " no llego al sistema");
+        }
+        return i;
+    }
+
+    private void crecer(int capacidad) {
+        capacidad = Math.max(CAPACIDAD_INICIAL, capacidad);
+        this.tipoTrabajo = Arrays.copyOf(this.tipoTrabajo, capacidad);
+        this.horaLlegada = Arrays.copyOf(this.horaLlegada, capacidad);
+        this.horaInicioAtencion = Arrays.copyOf(this.horaInicioAtencion, capacidad);
+        this.horaCambio = Arrays.copyOf(this.horaCambio, capacidad);
+        this.horaReanudacion = Arrays.copyOf(this.horaReanudacion, capacidad);
+        this.horaRetomaAtencion = Arrays.copyOf(this.horaRetomaAtencion, capacidad);
+        this.horaSalida = Arrays.copyOf(this.horaSalida, capacidad);
+    }
+
+    private static Double hora(double valor) {
+        return Double.isNaN(valor) ? null : valor;
+    }
+
+    private static void agregarHora(StringBuilder linea, double valor) {
+        linea.append(',');
+        if (!Double.isNaN(valor)) {
+            linea.append(valor);
+        }
+    }
+}
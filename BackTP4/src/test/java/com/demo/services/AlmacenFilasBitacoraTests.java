@@ -0,0 +1,50 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.ParametrosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenFilasBitacoraTests {
+
+	private static ParametrosSimulacion parametros(double probTC, int inicioResultado, int iteraciones, long semilla) {
+		Dto_request request = ParametrosPrueba.request(3000, inicioResultado, iteraciones, semilla);
+		ParametrosPrueba.probabilidades(request, 0.3, 0.25, probTC, 0.45 - probTC);
+		return ParametrosSimulacion.desde(request);
+	}
+
+	private static void compararConColumnas(ParametrosSimulacion parametros, int intervalo) {
+		AlmacenFilasColumnar columnas = new AlmacenFilasColumnar();
+		new SimulacionPractica(columnas).cola(parametros);
+		AlmacenFilasBitacora bitacora = new AlmacenFilasBitacora(intervalo);
+		new SimulacionPractica(bitacora).cola(parametros);
+
+		int cantidad = columnas.size();
+		assertEquals(cantidad, bitacora.size());
+		assertEquals(columnas.filas(0, cantidad), bitacora.filas(0, cantidad));
+		for (int desde = 0; desde < cantidad; desde += 137) {
+			int hasta = Math.min(cantidad, desde + 200);
+			assertEquals(columnas.filas(desde, hasta), bitacora.filas(desde, hasta));
+		}
+		assertEquals(columnas.fila(cantidad - 1), bitacora.fila(cantidad - 1));
+	}
+
+	@Test
+	void calculaDeNuevoLasMismasFilasQueGuardaLaSimulacion() {
+		compararConColumnas(parametros(0.25, 0, 5000, 11L), 200);
+		compararConColumnas(parametros(0.45, 0, 5000, 3L), 7);
+		compararConColumnas(parametros(0.25, 1000, 5000, 5L), 1);
+	}
+
+	@Test
+	void laFilaFinalSeparadaTienePuntoDeControlPropio() {
+		// Con pocas iteraciones la corrida sigue despues de las filas guardadas y la ultima fila no es consecutiva
+		ParametrosSimulacion parametros = parametros(0.25, 500, 50, 9L);
+		compararConColumnas(parametros, 200);
+
+		AlmacenFilasBitacora bitacora = new AlmacenFilasBitacora(200);
+		new SimulacionPractica(bitacora).cola(parametros);
+		assertEquals(2, bitacora.cantidadPuntosControl());
+	}
+}
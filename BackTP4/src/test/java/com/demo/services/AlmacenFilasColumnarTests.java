@@ -0,0 +1,47 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilaVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenFilasColumnarTests {
+
+	/**
+	 * Guarda una copia de cada fila tal como la entrega la simulacion, ademas de pasarla al almacen por columnas.
+	 */
+	private static class AlmacenRegistro extends AlmacenFilasColumnar {
+		private final List<FilaVector> esperadas = new ArrayList<>();
+
+		@Override
+		public void agregar(FilaVector fila, Eventos tipoEvento, Integer idEquipo, List<Equipo> equipos) {
+			super.agregar(fila, tipoEvento, idEquipo, equipos);
+			ArrayList<Equipo> fotos = new ArrayList<>();
+			for (Equipo equipo : equipos) {
+				fotos.add(equipo.instantanea());
+			}
+			esperadas.add(new FilaVector(fila.getEvento(), fila.getReloj(), fila.getLlegada(), fila.getColaVector(),
+					fila.getContadorEquipo(), fila.getPromedioPermanencia(), fila.getPromedioOcupacion(),
+					fila.getFinTrabajo(), fila.getServidor(), fotos));
+		}
+	}
+
+	@Test
+	void devuelveLasMismasFilasQueGuardoLaSimulacion() {
+		for (int inicioResultado : new int[]{0, 1000}) {
+			AlmacenRegistro almacen = new AlmacenRegistro();
+			new SimulacionPractica(almacen).cola(ParametrosPrueba.parametros(3000, inicioResultado, 5000, 11L));
+
+			assertEquals(almacen.esperadas.size(), almacen.size());
+			assertEquals(almacen.esperadas, almacen.filas(0, almacen.size()));
+			for (int i = 0; i < almacen.size(); i += 97) {
+				assertEquals(almacen.esperadas.get(i), almacen.fila(i));
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.demo.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlmacenFilasDesbordableTests {
+
+	@TempDir
+	Path directorio;
+
+	private long cantidadArchivos() throws IOException {
+		try (Stream<Path> archivos = Files.list(directorio)) {
+			return archivos.count();
+		}
+	}
+
+	@Test
+	void pasadoElPresupuestoLasFilasSeLeenDelArchivo() throws IOException {
+		AlmacenFilasColumnar memoria = new AlmacenFilasColumnar();
+		new SimulacionPractica(memoria).cola(ParametrosPrueba.parametros(3000, 0, 5000, 11L));
+
+		AlmacenFilasDesbordable desbordable = new AlmacenFilasDesbordable(0, directorio);
+		new SimulacionPractica(desbordable).cola(ParametrosPrueba.parametros(3000, 0, 5000, 11L));
+
+		assertTrue(desbordable.isEnDisco());
+		assertEquals(memoria.size(), desbordable.size());
+		assertEquals(memoria.filas(0, memoria.size()), desbordable.filas(0, desbordable.size()));
+		assertEquals(memoria.fila(memoria.size() - 1), desbordable.fila(desbordable.size() - 1));
+
+		desbordable.clear();
+		assertFalse(desbordable.isEnDisco());
+		assertEquals(0, cantidadArchivos());
+	}
+
+	@Test
+	void sinPasarElPresupuestoNoCreaArchivos() throws IOException {
+		AlmacenFilasDesbordable desbordable = new AlmacenFilasDesbordable(Long.MAX_VALUE, directorio);
+		new SimulacionPractica(desbordable).cola(ParametrosPrueba.parametros(3000, 0, 5000, 11L));
+
+		assertFalse(desbordable.isEnDisco());
+		assertEquals(0, cantidadArchivos());
+	}
+
+	@Test
+	void elArchivoSeVuelveAUsarDespuesDeClearYNoDespuesDeCerrar() throws IOException {
+		AlmacenFilasColumnar memoria = new AlmacenFilasColumnar();
+		new SimulacionPractica(memoria).cola(ParametrosPrueba.parametros(3000, 0, 5000, 11L));
+
+		AlmacenFilasArchivo archivo = new AlmacenFilasArchivo(directorio);
+		SimulacionPractica simulacion = new SimulacionPractica(archivo);
+		simulacion.cola(ParametrosPrueba.parametros(500, 0, 100, 3L));
+		archivo.clear();
+		assertEquals(0, archivo.size());
+		assertEquals(2, cantidadArchivos());
+
+		simulacion.cola(ParametrosPrueba.parametros(3000, 0, 5000, 11L));
+		assertEquals(memoria.filas(0, memoria.size()), archivo.filas(0, archivo.size()));
+
+		archivo.cerrar();
+		assertEquals(0, cantidadArchivos());
+	}
+}
@@ -0,0 +1,140 @@
+package com.demo.services;
+
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.FilaVector;
+import com.demo.entities.FilasEncontradas;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusquedaFilasTests {
+
+	private static boolean cumple(FilaVector fila, Double relojDesde, Double relojHasta, Eventos evento, Integer equipo) {
+		if (relojDesde != null && fila.getReloj() < relojDesde) return false;
+		if (relojHasta != null && fila.getReloj() > relojHasta) return false;
+		if (evento != null && !fila.getEvento().startsWith(evento + " ")) return false;
+		if (equipo != null) {
+			boolean esta = fila.getEvento().equals(fila.getEvento().split(" ")[0] + " E" + equipo);
+			for (Equipo e : fila.getEquipos()) {
+				esta |= e.getId_equipo() == equipo;
+			}
+			return esta;
+		}
+		return true;
+	}
+
+	private static void compararConRecorrido(SimulacionPractica simulacion, List<FilaVector> todas,
+											 Double relojDesde, Double relojHasta, Eventos evento, Integer equipo) {
+		List<Integer> esperados = new ArrayList<>();
+		for (int i = 0; i < todas.size(); i++) {
+			if (cumple(todas.get(i), relojDesde, relojHasta, evento, equipo)) {
+				esperados.add(i);
+			}
+		}
+		List<Integer> indices = new ArrayList<>();
+		List<FilaVector> filas = new ArrayList<>();
+		int cantidadPaginas = -1;
+		for (int pagina = 0; pagina == 0 || pagina < cantidadPaginas; pagina++) {
+			FilasEncontradas encontradas = simulacion.buscarFilas(relojDesde, relojHasta, evento, equipo, pagina, 37);
+			assertEquals(esperados.size(), encontradas.getCantidadCoincidencias());
+			cantidadPaginas = encontradas.getCantidadPaginas();
+			indices.addAll(encontradas.getIndices());
+			filas.addAll(encontradas.getFilas());
+		}
+		assertEquals(esperados, indices);
+		for (int i = 0; i < indices.size(); i++) {
+			assertEquals(todas.get(indices.get(i)), filas.get(i));
+		}
+	}
+
+	@Test
+	void encuentraLasMismasFilasQueRecorrerElVector() {
+		for (ParametrosSimulacion parametros : List.of(ParametrosPrueba.parametros(2000, 0, 3000, 17L), ParametrosPrueba.parametros(2000, 400, 60, 17L))) {
+			SimulacionPractica simulacion = new SimulacionPractica();
+			int cantidadFilas = simulacion.cola(parametros).getCantidadFilas();
+			List<FilaVector> todas = simulacion.getFilasPaginadas(0, cantidadFilas).getFilas();
+			double relojMedio = todas.get(cantidadFilas / 2).getReloj();
+
+			compararConRecorrido(simulacion, todas, null, null, null, null);
+			compararConRecorrido(simulacion, todas, relojMedio, null, null, null);
+			compararConRecorrido(simulacion, todas, 100.0, relojMedio, Eventos.FinTrabajo, null);
+			compararConRecorrido(simulacion, todas, null, null, Eventos.Cambio, null);
+			for (int equipo = 1; equipo < 40; equipo += 3) {
+				compararConRecorrido(simulacion, todas, null, null, null, equipo);
+				compararConRecorrido(simulacion, todas, null, relojMedio, Eventos.Llegada, equipo);
+			}
+		}
+	}
+
+	@Test
+	void ubicaCadaCoincidenciaContandoPorPalabras() {
+		Random random = new Random(5L);
+		BitSet coincidencias = new BitSet();
+		coincidencias.set(3, 150);
+		for (int i = 150; i < 5000; i++) {
+			if (random.nextInt(7) == 0) {
+				coincidencias.set(i);
+			}
+		}
+		int numero = 0;
+		for (int fila = coincidencias.nextSetBit(0); fila >= 0; fila = coincidencias.nextSetBit(fila + 1)) {
+			assertEquals(fila, SimulacionPractica.coincidencia(coincidencias, numero++));
+		}
+		assertEquals(-1, SimulacionPractica.coincidencia(coincidencias, numero));
+		assertEquals(-1, SimulacionPractica.coincidencia(new BitSet(), 0));
+	}
+
+	@Test
+	void laBitacoraDevuelveLasMismasCoincidenciasQueLasColumnas() {
+		SimulacionPractica columnas = new SimulacionPractica();
+		SimulacionPractica bitacora = new SimulacionPractica(new AlmacenFilasBitacora(64));
+		columnas.cola(ParametrosPrueba.parametros(2000, 0, 3000, 17L));
+		bitacora.cola(ParametrosPrueba.parametros(2000, 0, 3000, 17L));
+
+		for (int pagina = 0; pagina < 4; pagina++) {
+			FilasEncontradas esperadas = columnas.buscarFilas(null, null, Eventos.FinTrabajo, null, pagina, 50);
+			FilasEncontradas encontradas = bitacora.buscarFilas(null, null, Eventos.FinTrabajo, null, pagina, 50);
+			assertEquals(esperadas.getIndices(), encontradas.getIndices());
+			assertEquals(esperadas.getFilas(), encontradas.getFilas());
+		}
+		List<Integer> recorridas = new ArrayList<>();
+		bitacora.recorrerFilas(null, null, Eventos.Cambio, null, (fila, indice) -> {
+			assertTrue(fila.getEvento().startsWith(Eventos.Cambio + " "));
+			recorridas.add(indice);
+		});
+		assertEquals(columnas.buscarFilas(null, null, Eventos.Cambio, null, 0, 3000).getIndices(), recorridas);
+	}
+
+	@Test
+	void elIndiceDeUnaCorridaLargaOcupaSegunLasFilasGuardadas() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(200000, 0, 200, 17L);
+		parametros.setMaxEquiposTrazados(0);
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros);
+
+		// La fila final tiene equipos con ids cercanos a la cantidad de llegadas, no estiran el indice
+		assertTrue(simulacion.bytesVectorEstados() < 200_000, "bytes: " + simulacion.bytesVectorEstados());
+		FilaVector filaFinal = resultados.getUltimaFila();
+		int idFinal = filaFinal.getEquipos().get(filaFinal.getEquipos().size() - 1).getId_equipo();
+		assertTrue(idFinal > 100_000);
+		assertEquals(List.of(resultados.getCantidadFilas() - 1), simulacion.buscarFilas(null, null, null, idFinal, 0, 10).getIndices());
+	}
+
+	@Test
+	void rechazaPaginasInvalidas() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		simulacion.cola(ParametrosPrueba.parametros(2000, 0, 100, 17L));
+		assertThrows(ResponseStatusException.class, () -> simulacion.buscarFilas(null, null, null, null, -1, 10));
+		assertThrows(ResponseStatusException.class, () -> simulacion.buscarFilas(null, null, null, null, 0, 0));
+		assertTrue(simulacion.buscarFilas(5.0, 1.0, null, null, 0, 10).getFilas().isEmpty());
+	}
+}
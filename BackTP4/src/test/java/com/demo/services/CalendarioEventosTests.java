@@ -0,0 +1,67 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Evento;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarioEventosTests {
+
+	@Test
+	void extraeEnOrdenDeHora() {
+		CalendarioEventos calendario = new CalendarioEventos();
+		Random random = new Random(17);
+		for (int i = 0; i < 1000; i++) {
+			calendario.agendar(new Evento(Eventos.Llegada, random.nextDouble() * 100, null));
+		}
+		double anterior = Double.NEGATIVE_INFINITY;
+		while (!calendario.isEmpty()) {
+			double hora = calendario.extraerProximo().getHoraEvento();
+			assertTrue(hora >= anterior);
+			anterior = hora;
+		}
+		assertNull(calendario.extraerProximo());
+	}
+
+	@Test
+	void desempataPorTipoYLuegoPorOrdenDeAgenda() {
+		CalendarioEventos calendario = new CalendarioEventos();
+		Evento cambio = new Evento(Eventos.Cambio, 5, null);
+		Evento finTrabajo1 = new Evento(Eventos.FinTrabajo, 5, null);
+		Evento finTrabajo2 = new Evento(Eventos.FinTrabajo, 5, null);
+		Evento llegada = new Evento(Eventos.Llegada, 5, null);
+		calendario.agendar(cambio);
+		calendario.agendar(finTrabajo1);
+		calendario.agendar(finTrabajo2);
+		calendario.agendar(llegada);
+
+		assertSame(llegada, calendario.extraerProximo());
+		assertSame(finTrabajo1, calendario.extraerProximo());
+		assertSame(finTrabajo2, calendario.extraerProximo());
+		assertSame(cambio, calendario.extraerProximo());
+	}
+
+	@Test
+	void cancelaUnEventoPendienteSinAlterarElOrden() {
+		CalendarioEventos calendario = new CalendarioEventos();
+		Evento[] eventos = new Evento[50];
+		for (int i = 0; i < eventos.length; i++) {
+			eventos[i] = calendario.agendar(new Evento(Eventos.FinTrabajo, (i * 7) % 50, null));
+		}
+		assertTrue(calendario.cancelar(eventos[10]));
+		assertFalse(calendario.cancelar(eventos[10]));
+		assertEquals(49, calendario.size());
+
+		double anterior = Double.NEGATIVE_INFINITY;
+		while (!calendario.isEmpty()) {
+			Evento evento = calendario.extraerProximo();
+			assertNotSame(eventos[10], evento);
+			assertTrue(evento.getHoraEvento() >= anterior);
+			anterior = evento.getHoraEvento();
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.demo.services;
+
+import com.demo.entities.FilaVector;
+import com.demo.entities.IndicadoresParciales;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanalFilasTests {
+
+	@Test
+	void sinConsumidorNoSeArmanFilasPeroSePublicanIndicadores() throws InterruptedException {
+		CanalFilas canal = new CanalFilas(300, 500);
+		SimulacionPractica simulacion = new SimulacionPractica();
+		simulacion.setCanalFilas(canal);
+		ResultadosSimulacion resultados = simulacion.cola(ParametrosPrueba.parametros(3000, 200, 2000, 41L));
+		canal.terminar();
+
+		assertFalse(canal.aceptaFilas());
+		List<CanalFilas.FilaPublicada> recibidas = new ArrayList<>();
+		assertEquals(0, canal.tomarFilas(recibidas, 0));
+		assertTrue(canal.isAgotado());
+
+		// Los indicadores se reemplazan, solo queda el del final de la corrida
+		IndicadoresParciales indicadores = canal.tomarIndicadores();
+		assertEquals(resultados.getUltimaFila().getReloj(), indicadores.getReloj());
+		assertEquals(resultados.getCantidadEventos(), indicadores.getEventosProcesados());
+		assertNull(canal.tomarIndicadores());
+
+		// Suscribirse con la corrida terminada no crea la cola, todo se lee del vector de estados
+		assertTrue(canal.suscribir());
+		assertFalse(canal.aceptaFilas());
+	}
+
+	@Test
+	void conLaColaLlenaDejaDePublicarYSoloQuedanLasPrimerasFilas() throws InterruptedException {
+		CanalFilas canal = new CanalFilas(3, 500);
+		assertTrue(canal.suscribir());
+		List<FilaVector> filas = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			filas.add(new FilaVector());
+		}
+		for (int i = 0; i < 5; i++) {
+			canal.publicarFila(i, filas.get(i));
+		}
+		assertTrue(canal.isAtrasado());
+
+		List<CanalFilas.FilaPublicada> recibidas = new ArrayList<>();
+		assertEquals(3, canal.tomarFilas(recibidas, 0));
+		// Vaciar la cola no vuelve a publicar, las filas siguientes se leen del vector de estados
+		assertTrue(canal.isAtrasado());
+		assertFalse(canal.aceptaFilas());
+		canal.publicarFila(5, filas.get(5));
+		assertEquals(0, canal.tomarFilas(recibidas, 0));
+		assertEquals(List.of(0, 1, 2), recibidas.stream().map(CanalFilas.FilaPublicada::indice).toList());
+	}
+
+	@Test
+	void unaSuscripcionConFilasYaGuardadasNoRecibeFilasDelCanal() throws InterruptedException {
+		CanalFilas canal = new CanalFilas(10, 500);
+		assertTrue(canal.suscribir());
+		canal.publicarFila(4, new FilaVector());
+
+		assertTrue(canal.isAtrasado());
+		assertEquals(0, canal.tomarFilas(new ArrayList<>(), 0));
+	}
+
+	@Test
+	void conLugarPublicaTodasLasFilasConSuNumero() throws InterruptedException {
+		CanalFilas canal = new CanalFilas(100_000, 500);
+		assertTrue(canal.suscribir());
+		assertFalse(canal.suscribir());
+		SimulacionPractica simulacion = new SimulacionPractica();
+		simulacion.setCanalFilas(canal);
+		ResultadosSimulacion resultados = simulacion.cola(ParametrosPrueba.parametros(3000, 200, 2000, 41L));
+
+		assertFalse(canal.isAtrasado());
+		List<CanalFilas.FilaPublicada> recibidas = new ArrayList<>();
+		canal.tomarFilas(recibidas, 0);
+		assertEquals(resultados.getCantidadFilas(), recibidas.size());
+		for (int i = 0; i < recibidas.size(); i++) {
+			assertEquals(i, recibidas.get(i).indice());
+		}
+		List<FilaVector> vector = simulacion.getFilasPaginadas(0, resultados.getCantidadFilas()).getFilas();
+		assertEquals(vector.get(vector.size() - 1), recibidas.get(recibidas.size() - 1).fila());
+
+		// Al desuscribirse se descarta la cola y otro consumidor puede tomar el canal
+		canal.desuscribir();
+		assertFalse(canal.aceptaFilas());
+		assertTrue(canal.suscribir());
+	}
+}
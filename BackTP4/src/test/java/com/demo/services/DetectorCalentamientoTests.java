@@ -0,0 +1,83 @@
+package com.demo.services;
+
+import com.demo.entities.Calentamiento;
+import com.demo.entities.Dto_request;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetectorCalentamientoTests {
+
+	private static ParametrosSimulacion parametros(boolean estadoEstacionario) {
+		return parametros(3000, estadoEstacionario);
+	}
+
+	private static ParametrosSimulacion parametros(int tiempoSimulacion, boolean estadoEstacionario) {
+		Dto_request request = ParametrosPrueba.request(tiempoSimulacion, 0, 100, 17L);
+		request.estadoEstacionario = estadoEstacionario;
+		return ParametrosSimulacion.desde(request);
+	}
+
+	@Test
+	void descartaElTransitorioDeUnaSerieQueArrancaVacia() {
+		Random random = new Random(4);
+		DetectorCalentamiento detector = new DetectorCalentamiento();
+		for (int i = 0; i < 5000; i++) {
+			double transitorio = i < 500 ? 10.0 * (500 - i) / 500 : 0;
+			detector.registrar(20 - transitorio + random.nextGaussian(), i, i / 2.0, i + 1);
+		}
+		Calentamiento calentamiento = detector.resultado(5000, 2500, 5000);
+
+		assertTrue(calentamiento.isConfiable());
+		assertTrue(calentamiento.getEquiposDescartados() >= 300 && calentamiento.getEquiposDescartados() <= 700,
+				"descartados " + calentamiento.getEquiposDescartados());
+		assertEquals(20, calentamiento.getPromedioPermanencia(), 0.1);
+		assertEquals(50, calentamiento.getPorcentajeOcupacionServidor(), 1e-9);
+	}
+
+	@Test
+	void losLotesSeJuntanSinPerderLaSerie() {
+		DetectorCalentamiento detector = new DetectorCalentamiento();
+		int equipos = DetectorCalentamiento.TAMANO_LOTE * DetectorCalentamiento.MAX_LOTES * 3;
+		for (int i = 0; i < equipos; i++) {
+			detector.registrar(1, i, i, i + 1);
+		}
+		Calentamiento calentamiento = detector.resultado(equipos, equipos, equipos);
+
+		assertTrue(calentamiento.getCantidadLotes() < DetectorCalentamiento.MAX_LOTES);
+		assertEquals(equipos, (long) calentamiento.getCantidadLotes() * calentamiento.getTamanoLote());
+		assertEquals(0, calentamiento.getLotesDescartados());
+		assertEquals(1, calentamiento.getPromedioPermanencia(), 1e-12);
+	}
+
+	@Test
+	void conEstadoEstacionarioLosIndicadoresSonLosTruncados() {
+		ResultadosSimulacion completa = new SimulacionPractica().cola(parametros(true));
+		ResultadosSimulacion rapida = new SimulacionRapida(parametros(true)).ejecutar();
+		ResultadosSimulacion sinTruncar = new SimulacionRapida(parametros(false)).ejecutar();
+
+		assertEquals(completa.getCalentamiento(), rapida.getCalentamiento());
+		assertEquals(rapida.getCalentamiento(), sinTruncar.getCalentamiento());
+		assertEquals(rapida.getCalentamiento().getPromedioPermanencia(), rapida.getPromedioPermanencia());
+		assertEquals(rapida.getCalentamiento().getPorcentajeOcupacionServidor(), rapida.getPorcentajeOcupacionServidor());
+		assertEquals(completa.getPromedioPermanencia(), rapida.getPromedioPermanencia(), 1e-9);
+		assertNotEquals(sinTruncar.getPromedioPermanencia(), rapida.getPromedioPermanencia());
+	}
+
+	@Test
+	void sinLotesDescartadosElEstadoEstacionarioNoCambiaLosIndicadores() {
+		// Una corrida de 3 horas no llega a MIN_LOTES lotes, no se descarta nada
+		ResultadosSimulacion truncada = new SimulacionRapida(parametros(3, true)).ejecutar();
+		ResultadosSimulacion sinTruncar = new SimulacionRapida(parametros(3, false)).ejecutar();
+
+		assertEquals(0, truncada.getCalentamiento().getLotesDescartados());
+		assertEquals(sinTruncar.getPromedioPermanencia(), truncada.getPromedioPermanencia(), 1e-12);
+		assertEquals(sinTruncar.getPorcentajeOcupacionServidor(), truncada.getPorcentajeOcupacionServidor(), 1e-9);
+		// Las colas no se truncan
+		assertEquals(sinTruncar.getIndicadoresColas(), truncada.getIndicadoresColas());
+	}
+}
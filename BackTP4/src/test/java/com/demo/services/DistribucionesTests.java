@@ -0,0 +1,74 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_Distribucion;
+import com.demo.entities.Estados.TipoDistribucion;
+import com.demo.entities.ParametrosSimulacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistribucionesTests {
+
+	@Test
+	void sinDistribucionesPedidasUsaLasUniformesDelEnunciado() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		Distribucion llegadas = Distribuciones.llegadas(parametros);
+		Distribucion trabajoC = Distribuciones.tiemposAtencion(parametros)[2];
+
+		for (int k = 0; k <= 100; k++) {
+			double rnd = k / 100.0;
+			assertEquals(0.5 + rnd * (1.5 - 0.5), llegadas.muestra(rnd));
+			double li = 5 / 60.0;
+			assertEquals((3.0 - li) + rnd * ((3.0 + li) - (3.0 - li)), trabajoC.muestra(rnd));
+		}
+		assertEquals(3.0, trabajoC.media());
+	}
+
+	@Test
+	void exponencialYEmpiricaPorTransformadaInversa() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		parametros.setDistribucionLlegadas(new Dto_Distribucion(TipoDistribucion.Exponencial, null, null, 2.0, null, null, null));
+		parametros.setDistribucionesTrabajo(new ArrayList<>(Arrays.asList(
+				new Dto_Distribucion(TipoDistribucion.Empirica, null, null, null, null, List.of(1.0, 2.0, 4.0), List.of(0.5, 0.25, 0.25)),
+				null, null, null)));
+
+		Distribucion llegadas = Distribuciones.llegadas(parametros);
+		assertEquals(-2.0 * Math.log(1 - 0.37), llegadas.muestra(0.37), 1e-12);
+		assertTrue(Double.isFinite(llegadas.muestra(1.0)));
+
+		Distribucion trabajoA = Distribuciones.tiemposAtencion(parametros)[0];
+		assertEquals(1.0, trabajoA.muestra(0.49));
+		assertEquals(2.0, trabajoA.muestra(0.5));
+		assertEquals(4.0, trabajoA.muestra(0.75));
+		assertEquals(2.0, trabajoA.media(), 1e-12);
+	}
+
+	@Test
+	void rechazaDistribucionesInvalidas() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		parametros.setDistribucionLlegadas(new Dto_Distribucion(TipoDistribucion.Normal, null, null, 1.0, -1.0, null, null));
+		assertThrows(ResponseStatusException.class, () -> Distribuciones.validar(parametros));
+	}
+
+	@Test
+	void rechazaDistribucionesConTiemposNegativos() {
+		ParametrosSimulacion uniforme = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		uniforme.setDistribucionLlegadas(new Dto_Distribucion(TipoDistribucion.Uniforme, -1.0, 2.0, null, null, null, null));
+		assertThrows(ResponseStatusException.class, () -> Distribuciones.validar(uniforme));
+
+		ParametrosSimulacion empirica = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		empirica.setDistribucionesTrabajo(new ArrayList<>(Arrays.asList(
+				new Dto_Distribucion(TipoDistribucion.Empirica, null, null, null, null, List.of(-1.0, 2.0), List.of(0.5, 0.5)),
+				null, null, null)));
+		assertThrows(ResponseStatusException.class, () -> Distribuciones.validar(empirica));
+
+		ParametrosSimulacion limites = ParametrosPrueba.parametros(3000, 0, 1000, 1L);
+		limites.setLimite_inferiorUniforme(2.0);
+		assertThrows(ResponseStatusException.class, () -> Distribuciones.validar(limites));
+	}
+}
@@ -0,0 +1,63 @@
+package com.demo.services;
+
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.Estados.FormatoExportacion;
+import com.demo.entities.FilaVector;
+import com.demo.entities.ResultadosSimulacion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportadorFilasTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ExportadorFilas exportador = new ExportadorFilas(objectMapper);
+
+	@Test
+	void exportaTodasLasFilasComoNdjsonComprimido() throws IOException {
+		SimulacionPractica simulacion = new SimulacionPractica(new AlmacenFilasBitacora(200));
+		ResultadosSimulacion resultados = simulacion.cola(ParametrosPrueba.parametros(5000, 0, 3000, 31L));
+		List<FilaVector> filas = simulacion.getFilasPaginadas(0, resultados.getCantidadFilas()).getFilas();
+
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		exportador.exportar(simulacion, FormatoExportacion.Ndjson, true, null, null, null, null, salida);
+		String texto = new String(new GZIPInputStream(new ByteArrayInputStream(salida.toByteArray())).readAllBytes(),
+				StandardCharsets.UTF_8);
+
+		String[] lineas = texto.split("\n");
+		assertEquals(filas.size(), lineas.length);
+		for (int i = 0; i < filas.size(); i++) {
+			assertEquals(objectMapper.writeValueAsString(filas.get(i)), lineas[i]);
+		}
+	}
+
+	@Test
+	void exportaComoCsvSoloLasFilasFiltradas() throws IOException {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		simulacion.cola(ParametrosPrueba.parametros(5000, 0, 3000, 31L));
+		int coincidencias = simulacion.buscarFilas(100.0, 2000.0, Eventos.Llegada, null, 0, 1).getCantidadCoincidencias();
+
+		ByteArrayOutputStream salida = new ByteArrayOutputStream();
+		exportador.exportar(simulacion, FormatoExportacion.Csv, false, 100.0, 2000.0, Eventos.Llegada, null, salida);
+		String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertEquals(ExportadorFilas.CSV_COLUMNAS, lineas[0]);
+		assertEquals(coincidencias + 1, lineas.length);
+		int columnas = ExportadorFilas.CSV_COLUMNAS.split(",").length;
+		for (int i = 1; i < lineas.length; i++) {
+			String[] valores = lineas[i].split(",", -1);
+			assertEquals(columnas, valores.length);
+			assertTrue(valores[1].startsWith("Llegada "));
+			double reloj = Double.parseDouble(valores[2]);
+			assertTrue(reloj >= 100.0 && reloj <= 2000.0);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.demo.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuncionesEstadisticasTests {
+
+	@Test
+	void losCuantilesDeLaTConPocosGradosDeLibertadCoincidenConLaTabla() {
+		assertEquals(5.840909, FuncionesEstadisticas.cuantilTStudent(0.995, 3), 1e-6);
+		assertEquals(8.610302, FuncionesEstadisticas.cuantilTStudent(0.9995, 4), 1e-6);
+		assertEquals(2.570582, FuncionesEstadisticas.cuantilTStudent(0.975, 5), 1e-6);
+		assertEquals(2.228139, FuncionesEstadisticas.cuantilTStudent(0.975, 10), 1e-6);
+		assertEquals(2.045230, FuncionesEstadisticas.cuantilTStudent(0.975, 29), 1e-6);
+		assertEquals(-2.045230, FuncionesEstadisticas.cuantilTStudent(0.025, 29), 1e-6);
+	}
+
+	/**
+	 * Cuantil por biseccion sobre la distribucion exacta.
+	 */
+	private static double cuantilBiseccion(double p, int gradosLibertad) {
+		double desde = -50;
+		double hasta = 50;
+		for (int i = 0; i < 200; i++) {
+			double medio = (desde + hasta) / 2;
+			if (FuncionesEstadisticas.distribucionTStudent(medio, gradosLibertad) < p) {
+				desde = medio;
+			} else {
+				hasta = medio;
+			}
+		}
+		return (desde + hasta) / 2;
+	}
+
+	@Test
+	void desdeTreintaGradosDeLibertadLaAproximacionTieneErrorMenorAlDocumentado() {
+		for (int gradosLibertad = 30; gradosLibertad <= 200; gradosLibertad++) {
+			for (double p : new double[]{0.0005, 0.005, 0.025, 0.5, 0.975, 0.995, 0.9995}) {
+				assertEquals(cuantilBiseccion(p, gradosLibertad), FuncionesEstadisticas.cuantilTStudent(p, gradosLibertad),
+						1e-4, "gl " + gradosLibertad + " p " + p);
+			}
+		}
+	}
+}
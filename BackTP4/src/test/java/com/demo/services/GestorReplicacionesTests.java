@@ -0,0 +1,52 @@
+package com.demo.services;
+
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosReplicaciones;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GestorReplicacionesTests {
+
+	private final ForkJoinPool ejecutor = new ForkJoinPool(2);
+	private final GestorReplicaciones gestorReplicaciones = new GestorReplicaciones(ejecutor,
+			new MetricasSimulacion(new SimpleMeterRegistry(), false));
+
+	@AfterEach
+	void cerrarEjecutor() {
+		ejecutor.shutdownNow();
+	}
+
+	@Test
+	void elTiempoMaximoDeEjecucionEsDelLoteEntero() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(2_000_000, 0, 0, 7L);
+		parametros.setReplicaciones(40);
+		parametros.setNivelConfianza(0.95);
+		parametros.setMaxTiempoEjecucionMs(300);
+
+		long inicio = System.nanoTime();
+		ResultadosReplicaciones resultados = gestorReplicaciones.replicar(parametros);
+		long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+		// Con 2 hilos y un limite por replicacion el lote tardaria unos 20 limites
+		assertTrue(duracionMs < 3000, "duracion " + duracionMs + " ms");
+		assertTrue(resultados.getCantidadReplicaciones() < 40);
+		assertEquals(resultados.getCantidadReplicaciones(), resultados.getReplicacionesIncompletas());
+	}
+
+	@Test
+	void sinLimiteSeEjecutanTodasLasReplicaciones() {
+		ParametrosSimulacion parametros = ParametrosPrueba.parametros(500, 0, 0, 7L);
+		parametros.setReplicaciones(10);
+		parametros.setNivelConfianza(0.95);
+
+		ResultadosReplicaciones resultados = gestorReplicaciones.replicar(parametros);
+
+		assertEquals(10, resultados.getCantidadReplicaciones());
+		assertEquals(0, resultados.getReplicacionesIncompletas());
+	}
+}
@@ -0,0 +1,101 @@
+package com.demo.services;
+
+import com.demo.config.AlmacenSimulacion;
+import com.demo.entities.Estados.ModoAlmacen;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GestorSimulacionesTests {
+
+	@TempDir
+	Path directorio;
+
+	private GestorSimulaciones gestor(ModoAlmacen modo) {
+		AlmacenSimulacion almacenSimulacion = new AlmacenSimulacion();
+		almacenSimulacion.setModo(modo);
+		almacenSimulacion.setPresupuestoHeapMb(0);
+		almacenSimulacion.setDirectorio(directorio.toString());
+		return new GestorSimulaciones(1, 30, almacenSimulacion, new MetricasSimulacion(new SimpleMeterRegistry(), false));
+	}
+
+	private long cantidadArchivos() throws IOException {
+		try (Stream<Path> archivos = Files.list(directorio)) {
+			return archivos.count();
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(ModoAlmacen.class)
+	void unaSesionDescartadaMientrasSeLeeSeCierraAlTerminarLaLectura(ModoAlmacen modo) throws IOException {
+		GestorSimulaciones gestor = gestor(modo);
+		String id = gestor.simular(ParametrosPrueba.parametros(5000, 0, 100000, 3L)).getIdSimulacion();
+		int cantidad = gestor.getFilasPaginadas(id, 0, 1).getCantidadFilas();
+		assertTrue(cantidad > 2048);
+
+		// Con una sola sesion retenida, la corrida nueva descarta la que se esta recorriendo
+		int[] leidas = {0};
+		gestor.leer(id, simulacion -> {
+			simulacion.recorrerFilas(null, null, null, null, (fila, indice) -> {
+				if (indice == 10) {
+					gestor.simular(ParametrosPrueba.parametros(5000, 0, 100000, 4L));
+				}
+				assertEquals(leidas[0]++, indice);
+			});
+			return null;
+		});
+
+		assertEquals(cantidad, leidas[0]);
+		assertThrows(ResponseStatusException.class, () -> gestor.abrirSesion(id));
+		if (modo == ModoAlmacen.Columnas) {
+			// Solo quedan los archivos de la corrida nueva
+			assertEquals(2, cantidadArchivos());
+		}
+	}
+
+	@Test
+	void corridasQueTerminanALaVezDejanGuardadasExactamenteElMaximoDeSesiones() throws Exception {
+		GestorSimulaciones gestor = new GestorSimulaciones(3, 30, new AlmacenSimulacion(),
+				new MetricasSimulacion(new SimpleMeterRegistry(), false));
+		ExecutorService ejecutor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> ids = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				long semilla = i;
+				ids.add(ejecutor.submit(() -> gestor.simular(ParametrosPrueba.parametros(200, 0, 50, semilla))
+						.getIdSimulacion()));
+			}
+			List<String> terminadas = new ArrayList<>();
+			for (Future<String> id : ids) {
+				terminadas.add(id.get());
+			}
+			int guardadas = 0;
+			for (String id : terminadas) {
+				try {
+					gestor.abrirSesion(id).liberar();
+					guardadas++;
+				} catch (ResponseStatusException e) {
+					// Descartada por las corridas posteriores
+				}
+			}
+			assertEquals(3, guardadas);
+		} finally {
+			ejecutor.shutdownNow();
+		}
+	}
+}
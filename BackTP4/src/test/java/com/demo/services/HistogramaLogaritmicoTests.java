@@ -0,0 +1,82 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.PercentilesTiempo;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramaLogaritmicoTests {
+
+	private static ParametrosSimulacion parametros() {
+		Dto_request request = ParametrosPrueba.request(2000, 0, 100, 3L);
+		request.timeMin = 2;
+		request.timeMax = 6;
+		return ParametrosSimulacion.desde(request);
+	}
+
+	@Test
+	void losPercentilesTienenErrorRelativoAcotado() {
+		Random random = new Random(8);
+		double[] valores = new double[20000];
+		HistogramaLogaritmico histograma = new HistogramaLogaritmico();
+		for (int i = 0; i < valores.length; i++) {
+			valores[i] = Math.exp(random.nextGaussian() * 2 + 3);
+			histograma.registrar(valores[i]);
+		}
+		Arrays.sort(valores);
+
+		for (double porcentaje : new double[]{50, 90, 99}) {
+			double exacto = valores[(int) Math.ceil(porcentaje / 100 * valores.length) - 1];
+			assertEquals(exacto, histograma.percentil(porcentaje), exacto / 32 + HistogramaLogaritmico.UNIDAD);
+		}
+		assertEquals(valores[valores.length - 1], histograma.getMaximo());
+		assertEquals(valores[valores.length - 1], histograma.percentil(100));
+	}
+
+	@Test
+	void combinarEsIgualARegistrarTodoEnUno() {
+		HistogramaLogaritmico primero = new HistogramaLogaritmico();
+		HistogramaLogaritmico segundo = new HistogramaLogaritmico();
+		HistogramaLogaritmico todos = new HistogramaLogaritmico();
+		for (int i = 0; i < 1000; i++) {
+			double valor = i * 0.37;
+			(i % 3 == 0 ? primero : segundo).registrar(valor);
+			todos.registrar(valor);
+		}
+		segundo.registrar(1e6);
+		todos.registrar(1e6);
+		primero.combinar(segundo);
+
+		assertEquals(todos.getCantidad(), primero.getCantidad());
+		for (double porcentaje : new double[]{50, 90, 99, 100}) {
+			assertEquals(todos.percentil(porcentaje), primero.percentil(porcentaje));
+		}
+		assertEquals(1e6, primero.getMaximo());
+		assertEquals(todos.promedio(), primero.promedio(), 1e-9);
+	}
+
+	@Test
+	void losMotoresDanLosMismosPercentilesPorTipoDeTrabajo() {
+		ResultadosSimulacion completa = new SimulacionPractica().cola(parametros());
+		ResultadosSimulacion rapida = new SimulacionRapida(parametros()).ejecutar();
+		Map<Trabajo, PercentilesTiempo> permanencia = completa.getPercentilesPermanencia();
+
+		assertEquals(permanencia, rapida.getPercentilesPermanencia());
+		assertEquals(completa.getPercentilesEspera(), rapida.getPercentilesEspera());
+		long finalizados = permanencia.values().stream().mapToLong(PercentilesTiempo::getCantidad).sum();
+		assertEquals((long) rapida.getCantidadEquiposFinalizados(), finalizados);
+		for (PercentilesTiempo percentiles : permanencia.values()) {
+			assertTrue(percentiles.getP50() <= percentiles.getP90());
+			assertTrue(percentiles.getP90() <= percentiles.getP99());
+			assertTrue(percentiles.getP99() <= percentiles.getMaximo());
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.FilaVector;
+import com.demo.entities.IndicadoresColas;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicadoresColasTests {
+
+	private static ParametrosSimulacion parametros(int limitesAtencion) {
+		Dto_request request = ParametrosPrueba.request(500, 0, 100000, 5L);
+		request.timeMin = limitesAtencion;
+		request.timeMax = limitesAtencion;
+		return ParametrosSimulacion.desde(request);
+	}
+
+	@Test
+	void elAcumuladorPonderaCadaValorPorElTiempoQueEstuvoVigente() {
+		AcumuladorTiempoPonderado acumulador = new AcumuladorTiempoPonderado();
+		acumulador.actualizar(2, 3);
+		acumulador.actualizar(6, 1);
+		assertEquals((0 * 2 + 3 * 4 + 1 * 4) / 10.0, acumulador.promedio(10), 1e-12);
+		assertEquals(3, acumulador.getMaximo());
+		assertEquals(0, new AcumuladorTiempoPonderado().promedio(0));
+	}
+
+	@Test
+	void elPromedioDeLaColaCoincideConElDeLasFilasGuardadas() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros(5));
+		List<FilaVector> filas = simulacion.getFilasPaginadas(0, resultados.getCantidadFilas()).getFilas();
+
+		double area = 0;
+		for (int i = 1; i < filas.size(); i++) {
+			area += filas.get(i - 1).getColaVector().getColaComun() * (filas.get(i).getReloj() - filas.get(i - 1).getReloj());
+		}
+		double hasta = filas.get(filas.size() - 1).getReloj();
+		assertEquals(area / hasta, resultados.getIndicadoresColas().getPromedioColaComun(), 1e-9);
+	}
+
+	@Test
+	void losDosMotoresDanLosMismosIndicadoresYCuentanLasLlegadasRechazadas() {
+		ResultadosSimulacion completa = new SimulacionPractica().cola(parametros(1));
+		ResultadosSimulacion rapida = new SimulacionRapida(parametros(1)).ejecutar();
+		IndicadoresColas indicadores = completa.getIndicadoresColas();
+
+		assertEquals(indicadores, rapida.getIndicadoresColas());
+		assertTrue(indicadores.getCantidadLlegadasRechazadas() > 0);
+		assertTrue(indicadores.getMaxEquiposEnSistema() <= 10);
+		assertEquals((double) indicadores.getCantidadLlegadasRechazadas() / indicadores.getCantidadLlegadas(),
+				indicadores.getProbabilidadBloqueo(), 1e-12);
+		assertEquals(completa.getCantidadEquiposFinalizados() / completa.getUltimaFila().getReloj(),
+				indicadores.getTasaSalida(), 1e-12);
+	}
+}
@@ -0,0 +1,49 @@
+package com.demo.services;
+
+import com.demo.entities.EstadisticasCorrida;
+import com.demo.entities.Estados.Eventos;
+import com.demo.entities.ResultadosSimulacion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasSimulacionTests {
+
+	private static long sumaPorTipo(ResultadosSimulacion resultados) {
+		return resultados.getEstadisticasCorrida().getEventosPorTipo().values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	@Test
+	void losEventosPorTipoSumanLosEventosDeLaCorrida() {
+		ResultadosSimulacion completa = new SimulacionPractica().cola(ParametrosPrueba.parametros(500, 0, 300, 11L));
+		ResultadosSimulacion rapida = new SimulacionRapida(ParametrosPrueba.parametros(500, 0, 300, 11L)).ejecutar();
+
+		assertEquals(completa.getCantidadEventos(), sumaPorTipo(completa));
+		assertEquals(rapida.getCantidadEventos(), sumaPorTipo(rapida));
+		assertEquals(completa.getEstadisticasCorrida().getEventosPorTipo(), rapida.getEstadisticasCorrida().getEventosPorTipo());
+		assertTrue(completa.getEstadisticasCorrida().getMaxEventosPendientes() > 0);
+		assertTrue(completa.getEstadisticasCorrida().getBytesVectorEstados() > 0);
+		assertEquals(0, rapida.getEstadisticasCorrida().getBytesVectorEstados());
+	}
+
+	@Test
+	void registraLosContadoresSoloSiEstanHabilitadas() {
+		ResultadosSimulacion resultados = new SimulacionRapida(ParametrosPrueba.parametros(500, 0, 300, 11L)).ejecutar();
+		EstadisticasCorrida estadisticas = resultados.getEstadisticasCorrida();
+
+		SimpleMeterRegistry registro = new SimpleMeterRegistry();
+		MetricasSimulacion metricas = new MetricasSimulacion(registro, true);
+		metricas.registrar(resultados, "Rapida");
+		metricas.registrar(resultados, "Rapida");
+		assertEquals(2.0 * estadisticas.getEventosPorTipo().get(Eventos.Llegada),
+				registro.get("simulacion.eventos").tag("tipo", "Llegada").counter().count());
+		assertEquals(2, registro.get("simulacion.corrida.duracion").timer().count());
+
+		SimpleMeterRegistry vacio = new SimpleMeterRegistry();
+		MetricasSimulacion deshabilitadas = new MetricasSimulacion(vacio, false);
+		deshabilitadas.registrar(resultados, "Rapida");
+		deshabilitadas.registrarSesiones(() -> 0, () -> 0);
+		assertTrue(vacio.getMeters().isEmpty());
+	}
+}
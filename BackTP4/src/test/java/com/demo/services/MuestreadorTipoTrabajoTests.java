@@ -0,0 +1,44 @@
+package com.demo.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MuestreadorTipoTrabajoTests {
+
+	@Test
+	void sorteaSegunLosLimitesAcumulados() {
+		MuestreadorTipoTrabajo muestreador = new MuestreadorTipoTrabajo(List.of(0.3, 0.25, 0.25, 0.2));
+		assertEquals(0, muestreador.sortear(0.0));
+		assertEquals(0, muestreador.sortear(0.29));
+		assertEquals(1, muestreador.sortear(0.3));
+		assertEquals(2, muestreador.sortear(0.55));
+		assertEquals(2, muestreador.sortear(0.79));
+		assertEquals(3, muestreador.sortear(0.8));
+		assertEquals(3, muestreador.sortear(1.0));
+	}
+
+	@Test
+	void unTipoConProbabilidadCeroNuncaSale() {
+		MuestreadorTipoTrabajo muestreador = new MuestreadorTipoTrabajo(List.of(0.5, 0.0, 0.5));
+		assertEquals(0, muestreador.sortear(0.49));
+		assertEquals(2, muestreador.sortear(0.5));
+	}
+
+	@Test
+	void unUltimoTipoConProbabilidadCeroNoSaleConRndUno() {
+		MuestreadorTipoTrabajo muestreador = new MuestreadorTipoTrabajo(List.of(0.3, 0.25, 0.45, 0.0));
+		assertEquals(2, muestreador.sortear(0.99));
+		assertEquals(2, muestreador.sortear(1.0));
+		assertEquals(0, new MuestreadorTipoTrabajo(List.of(1.0, 0.0, 0.0)).sortear(1.0));
+	}
+
+	@Test
+	void rechazaProbabilidadesQueNoSumanUno() {
+		assertThrows(ResponseStatusException.class, () -> new MuestreadorTipoTrabajo(List.of(0.3, 0.3, 0.3)));
+		assertThrows(ResponseStatusException.class, () -> new MuestreadorTipoTrabajo(List.of(1.2, -0.2)));
+	}
+}
@@ -0,0 +1,82 @@
+package com.demo.services;
+
+import com.demo.config.LimitesSimulacion;
+import com.demo.entities.Dto_request;
+import com.demo.entities.FilaVector;
+import com.demo.entities.FilasPaginadas;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginacionTests {
+
+	private static ParametrosSimulacion parametros(Integer tamanoPagina) {
+		Dto_request request = ParametrosPrueba.request(500, 0, 1000, 21L);
+		request.tamanoPagina = tamanoPagina;
+		return ParametrosSimulacion.desde(request);
+	}
+
+	@Test
+	void lasPaginasCubrenElVectorSinRepetirFilas() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros(150));
+		int cantidadFilas = resultados.getCantidadFilas();
+
+		assertEquals(150, resultados.getTamanoPagina());
+		assertEquals((cantidadFilas + 149) / 150, resultados.getCantidadPaginas());
+		assertEquals(150, resultados.getFilasPaginadas().size());
+
+		List<FilaVector> todas = new ArrayList<>();
+		for (int pagina = 0; pagina < resultados.getCantidadPaginas(); pagina++) {
+			FilasPaginadas filasPaginadas = simulacion.getFilasPaginadas(pagina);
+			assertEquals(pagina, filasPaginadas.getPagina());
+			assertEquals(cantidadFilas, filasPaginadas.getCantidadFilas());
+			todas.addAll(filasPaginadas.getFilas());
+		}
+		assertEquals(cantidadFilas, todas.size());
+		assertEquals(todas.get(cantidadFilas - 1), resultados.getUltimaFila());
+		assertEquals(todas.subList(0, 150), resultados.getFilasPaginadas());
+	}
+
+	@Test
+	void pedirPaginasNoModificaElVector() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		LimitesSimulacion limites = new LimitesSimulacion();
+		ParametrosSimulacion parametros = parametros(null);
+		limites.aplicar(parametros);
+		ResultadosSimulacion resultados = simulacion.cola(parametros);
+		assertEquals(limites.getTamanoPagina(), resultados.getTamanoPagina());
+
+		FilasPaginadas primera = simulacion.getFilasPaginadas(2);
+		for (int i = 0; i < 20; i++) {
+			simulacion.getFilasPaginadas(2);
+			simulacion.getFilasPaginadas(0, 7);
+		}
+		FilasPaginadas despues = simulacion.getFilasPaginadas(2);
+		assertEquals(primera, despues);
+		assertEquals(resultados.getCantidadFilas(), despues.getCantidadFilas());
+		assertTrue(simulacion.getFilasPaginadas(despues.getCantidadPaginas()).getFilas().isEmpty());
+	}
+
+	@Test
+	void unTamanoDePaginaMenorAUnoSeRechaza() {
+		LimitesSimulacion limites = new LimitesSimulacion();
+		assertThrows(ResponseStatusException.class, () -> limites.aplicar(parametros(0)));
+		assertThrows(ResponseStatusException.class, () -> limites.tamanoPagina(-5));
+		assertEquals(limites.getMaxTamanoPagina(), limites.tamanoPagina(Integer.MAX_VALUE));
+
+		// Sin tamano (la corrida no paso por los limites) no se arma la primera pagina
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros(null));
+		assertNull(resultados.getFilasPaginadas());
+		assertNotNull(resultados.getUltimaFila());
+		assertThrows(ResponseStatusException.class, () -> simulacion.getFilasPaginadas(0));
+		assertEquals(7, simulacion.getFilasPaginadas(0, 7).getFilas().size());
+	}
+}
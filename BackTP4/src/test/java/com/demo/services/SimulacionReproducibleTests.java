@@ -0,0 +1,41 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulacionReproducibleTests {
+
+	private static ParametrosSimulacion parametros(long semilla) {
+		Dto_request request = ParametrosPrueba.request(500, 0, 300, semilla);
+		request.tamanoPagina = 100;
+		return ParametrosSimulacion.desde(request);
+	}
+
+	@Test
+	void mismaSemillaRepiteElVectorDeEstados() {
+		SimulacionPractica primera = new SimulacionPractica();
+		SimulacionPractica segunda = new SimulacionPractica();
+		ResultadosSimulacion resultadosPrimera = primera.cola(parametros(42));
+		ResultadosSimulacion resultadosSegunda = segunda.cola(parametros(42));
+
+		assertEquals(resultadosPrimera.getFilasPaginadas(), resultadosSegunda.getFilasPaginadas());
+		assertEquals(primera.getFilasPaginadas(1).getFilas(), segunda.getFilasPaginadas(1).getFilas());
+		assertEquals(resultadosPrimera.getPromedioPermanencia(), resultadosSegunda.getPromedioPermanencia());
+		assertEquals(42L, resultadosPrimera.getSemilla());
+	}
+
+	@Test
+	void simulacionRapidaDaLosMismosIndicadoresConLaMismaSemilla() {
+		ResultadosSimulacion completa = new SimulacionPractica().cola(parametros(7));
+		ResultadosSimulacion rapida = new SimulacionRapida(parametros(7)).ejecutar();
+
+		assertEquals(completa.getPromedioPermanencia(), rapida.getPromedioPermanencia(), 1e-9);
+		assertEquals(completa.getPorcentajeOcupacionServidor(), rapida.getPorcentajeOcupacionServidor(), 1e-9);
+		assertEquals(completa.getCantidadEquiposFinalizados(), rapida.getCantidadEquiposFinalizados());
+		assertEquals(completa.getCantidadEventos(), rapida.getCantidadEventos());
+	}
+}
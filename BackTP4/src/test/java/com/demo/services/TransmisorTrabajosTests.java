@@ -0,0 +1,135 @@
+package com.demo.services;
+
+import com.demo.config.AlmacenSimulacion;
+import com.demo.entities.FilaVector;
+import com.demo.entities.LoteFilas;
+import com.demo.entities.ResultadosSimulacion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransmisorTrabajosTests {
+
+	/**
+	 * Guarda los eventos enviados en lugar de escribirlos en una respuesta HTTP.
+	 */
+	private static class EmisorPrueba extends SseEmitter {
+		private final List<String> eventos = new ArrayList<>();
+		private final List<LoteFilas> lotes = new ArrayList<>();
+		private final CountDownLatch cerrado = new CountDownLatch(1);
+		private Throwable error;
+
+		@Override
+		public void send(SseEventBuilder evento) {
+			for (ResponseBodyEmitter.DataWithMediaType dato : evento.build()) {
+				if (dato.getData() instanceof String texto && texto.contains("event:")) {
+					int inicio = texto.indexOf("event:") + "event:".length();
+					eventos.add(texto.substring(inicio, texto.indexOf('\n', inicio)));
+				} else if (dato.getData() instanceof LoteFilas lote) {
+					lotes.add(lote);
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			cerrado.countDown();
+		}
+
+		@Override
+		public void completeWithError(Throwable e) {
+			error = e;
+			cerrado.countDown();
+		}
+	}
+
+	private final ThreadPoolExecutor ejecutorSimulaciones = ejecutor();
+	private final ThreadPoolExecutor ejecutorTransmisiones = ejecutor();
+	private final GestorSimulaciones gestorSimulaciones = new GestorSimulaciones(4, 30, new AlmacenSimulacion(),
+			new MetricasSimulacion(new SimpleMeterRegistry(), false));
+
+	private static ThreadPoolExecutor ejecutor() {
+		return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+	}
+
+	@AfterEach
+	void cerrarEjecutores() {
+		ejecutorSimulaciones.shutdownNow();
+		ejecutorTransmisiones.shutdownNow();
+	}
+
+	private static CountDownLatch bloquear(ThreadPoolExecutor ejecutor) {
+		CountDownLatch liberar = new CountDownLatch(1);
+		ejecutor.execute(() -> {
+			try {
+				liberar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		return liberar;
+	}
+
+	private void verificarFilasCompletas(TrabajoSimulacion trabajo, EmisorPrueba emisor) throws InterruptedException {
+		assertTrue(emisor.cerrado.await(30, TimeUnit.SECONDS));
+		assertNull(emisor.error);
+		assertEquals("fin", emisor.eventos.get(emisor.eventos.size() - 1));
+
+		ResultadosSimulacion resultados = trabajo.getResultados();
+		List<FilaVector> enviadas = new ArrayList<>();
+		for (LoteFilas lote : emisor.lotes) {
+			assertEquals(enviadas.size(), lote.getDesde());
+			enviadas.addAll(lote.getFilas());
+		}
+		assertEquals(gestorSimulaciones.getFilasPaginadas(resultados.getIdSimulacion(), 0,
+				resultados.getCantidadFilas()).getFilas(), enviadas);
+	}
+
+	@Test
+	void conLaColaDesbordadaEnviaTodasLasFilasEnOrden() throws InterruptedException {
+		GestorTrabajos gestorTrabajos = new GestorTrabajos(gestorSimulaciones, ejecutorSimulaciones, 10, 5, 500);
+		TransmisorTrabajos transmisor = new TransmisorTrabajos(gestorTrabajos, gestorSimulaciones, ejecutorTransmisiones);
+
+		// La corrida espera a la suscripcion y la transmision espera a que la corrida termine, asi la cola se llena
+		CountDownLatch liberarSimulacion = bloquear(ejecutorSimulaciones);
+		CountDownLatch liberarTransmision = bloquear(ejecutorTransmisiones);
+		TrabajoSimulacion trabajo = gestorTrabajos.enviar(ParametrosPrueba.parametros(2000, 0, 300, 9L));
+		EmisorPrueba emisor = new EmisorPrueba();
+		transmisor.transmitir(trabajo.getId(), emisor);
+		liberarSimulacion.countDown();
+		while (!trabajo.isTerminado()) {
+			Thread.sleep(10);
+		}
+		assertTrue(trabajo.getCanalFilas().isAtrasado());
+		assertTrue(trabajo.getResultados().getCantidadFilas() > 5);
+		liberarTransmision.countDown();
+
+		verificarFilasCompletas(trabajo, emisor);
+	}
+
+	@Test
+	void unTrabajoTerminadoSeTransmiteDesdeElVectorDeEstados() throws InterruptedException {
+		GestorTrabajos gestorTrabajos = new GestorTrabajos(gestorSimulaciones, ejecutorSimulaciones, 10, 1024, 500);
+		TransmisorTrabajos transmisor = new TransmisorTrabajos(gestorTrabajos, gestorSimulaciones, ejecutorTransmisiones);
+		TrabajoSimulacion trabajo = gestorTrabajos.enviar(ParametrosPrueba.parametros(2000, 0, 300, 9L));
+		while (!trabajo.isTerminado()) {
+			Thread.sleep(10);
+		}
+
+		EmisorPrueba emisor = new EmisorPrueba();
+		transmisor.transmitir(trabajo.getId(), emisor);
+
+		verificarFilasCompletas(trabajo, emisor);
+	}
+}
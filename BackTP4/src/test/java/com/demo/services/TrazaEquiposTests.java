@@ -0,0 +1,112 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.Equipo;
+import com.demo.entities.Estados.EstadoEquipo;
+import com.demo.entities.Estados.Trabajo;
+import com.demo.entities.FilaVector;
+import com.demo.entities.ParametrosSimulacion;
+import com.demo.entities.ResultadosSimulacion;
+import com.demo.entities.TrazaEquipo;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrazaEquiposTests {
+
+	private static ParametrosSimulacion parametros() {
+		Dto_request request = ParametrosPrueba.request(2000, 0, 100000, 23L);
+		ParametrosPrueba.probabilidades(request, 0.2, 0.2, 0.4, 0.2);
+		return ParametrosSimulacion.desde(request);
+	}
+
+	private static boolean enOrden(Double... horas) {
+		double anterior = Double.NEGATIVE_INFINITY;
+		for (Double hora : horas) {
+			if (hora != null) {
+				if (hora < anterior) return false;
+				anterior = hora;
+			}
+		}
+		return true;
+	}
+
+	@Test
+	void coincideConLosEquiposDelVectorDeEstados() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros());
+		List<FilaVector> filas = simulacion.getFilasPaginadas(0, resultados.getCantidadFilas()).getFilas();
+
+		for (FilaVector fila : filas) {
+			for (Equipo equipo : fila.getEquipos()) {
+				TrazaEquipo traza = simulacion.trazaEquipo(equipo.getId_equipo());
+				assertEquals(equipo.getTipo_trabajo(), traza.getTipo_trabajo());
+				assertEquals(equipo.getHora_llegada(), traza.getHora_llegada());
+				if (equipo.getEquipo_estado() == EstadoEquipo.Finalizado) {
+					assertEquals(equipo.getHora_salida(), traza.getHora_salida());
+				}
+				if (equipo.getEquipo_estado() == EstadoEquipo.At2doplano) {
+					assertNotNull(traza.getHoraCambioTrabajoC());
+				}
+			}
+		}
+		for (Equipo equipo : resultados.getUltimaFila().getEquipos()) {
+			assertEquals(equipo.getEquipo_estado(), simulacion.trazaEquipo(equipo.getId_equipo()).getEstado());
+		}
+
+		int cantidadC = 0;
+		for (int id = 1; id <= resultados.getUltimaFila().getContadorEquipo(); id++) {
+			TrazaEquipo traza = simulacion.trazaEquipo(id);
+			assertTrue(enOrden(traza.getHora_llegada(), traza.getHoraInicioAtencion(), traza.getHoraCambioTrabajoC(),
+					traza.getHoraReanudacionTrabajoC(), traza.getHoraRetomaAtencion(), traza.getHora_salida()));
+			if (traza.getTipo_trabajo() == Trabajo.C && traza.getEstado() == EstadoEquipo.Finalizado) {
+				assertNotNull(traza.getHoraRetomaAtencion());
+				cantidadC++;
+			}
+		}
+		assertTrue(cantidadC > 0);
+	}
+
+	@Test
+	void exportaUnaLineaPorEquipo() {
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(parametros());
+		int cantidadEquipos = resultados.getUltimaFila().getContadorEquipo();
+
+		StringWriter csv = new StringWriter();
+		simulacion.escribirTrazasCsv(csv);
+		String[] lineas = csv.toString().split("\n");
+		assertEquals(TrazaEquipos.ENCABEZADO_CSV, lineas[0]);
+		assertEquals(cantidadEquipos + 1, lineas.length);
+		assertTrue(lineas[1].startsWith("1,"));
+
+		assertThrows(ResponseStatusException.class, () -> simulacion.trazaEquipo(cantidadEquipos + 1));
+		assertThrows(ResponseStatusException.class, () -> simulacion.trazaEquipo(0));
+	}
+
+	@Test
+	void soloTrazaLosPrimerosEquiposPedidos() {
+		Dto_request request = ParametrosPrueba.request(2000, 0, 100000, 23L);
+		ParametrosPrueba.probabilidades(request, 0.2, 0.2, 0.4, 0.2);
+		request.maxEquiposTrazados = 50;
+		SimulacionPractica simulacion = new SimulacionPractica();
+		ResultadosSimulacion resultados = simulacion.cola(ParametrosSimulacion.desde(request));
+		SimulacionPractica completa = new SimulacionPractica();
+		completa.cola(parametros());
+		assertTrue(resultados.getUltimaFila().getContadorEquipo() > 50);
+
+		assertEquals(completa.trazaEquipo(50).getHora_llegada(), simulacion.trazaEquipo(50).getHora_llegada());
+		ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> simulacion.trazaEquipo(51));
+		assertTrue(error.getReason().contains("50"));
+		StringWriter csv = new StringWriter();
+		simulacion.escribirTrazasCsv(csv);
+		assertEquals(51, csv.toString().split("\n").length);
+
+		// La memoria de las trazas cuenta en la del vector de estados
+		assertTrue(completa.bytesVectorEstados() > simulacion.bytesVectorEstados());
+	}
+}
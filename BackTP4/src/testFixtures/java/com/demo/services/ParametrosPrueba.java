@@ -0,0 +1,47 @@
+package com.demo.services;
+
+import com.demo.entities.Dto_request;
+import com.demo.entities.ParametrosSimulacion;
+
+/**
+ * Parametros compartidos por los tests y los benchmarks del motor, para no repetir el armado del Dto_request en cada
+ * clase. Parte de la mezcla del enunciado y cada uso cambia solo los campos que le importan:
+ * - Mezcla: A 30%, B 25%, C 25%, D 20%.
+ * - Tiempos de atencion: Uniforme alrededor de la media, A 2, B 1, C 3, D 1 horas (timeTA a timeTD), 5 minutos
+ *      menos y 5 minutos mas (timeMin y timeMax, en minutos); C con 15 minutos de inicio y 15 de fin.
+ * - Llegadas: La uniforme por defecto, de 0.5 a 1.5 horas.
+ */
+final class ParametrosPrueba {
+
+	private ParametrosPrueba() {
+	}
+
+	static Dto_request request(int tiempoSimulacion, int inicioResultado, int iteraciones, long semilla) {
+		Dto_request request = new Dto_request();
+		probabilidades(request, 0.3, 0.25, 0.25, 0.2);
+		request.timeTA = 2;
+		request.timeTB = 1;
+		request.timeTC = 3;
+		request.timeTD = 1;
+		request.timeMin = 5;
+		request.timeMax = 5;
+		request.timeInitTC = 15;
+		request.timeEndTC = 15;
+		request.cantTimeSim = tiempoSimulacion;
+		request.initTimeView = inicioResultado;
+		request.cantSimIterations = iteraciones;
+		request.semilla = semilla;
+		return request;
+	}
+
+	static ParametrosSimulacion parametros(int tiempoSimulacion, int inicioResultado, int iteraciones, long semilla) {
+		return ParametrosSimulacion.desde(request(tiempoSimulacion, inicioResultado, iteraciones, semilla));
+	}
+
+	static void probabilidades(Dto_request request, double a, double b, double c, double d) {
+		request.probTA = a;
+		request.probTB = b;
+		request.probTC = c;
+		request.probTD = d;
+	}
+}
@@ -2,17 +2,29 @@ import React, {useContext, useEffect, useMemo, useState} from 'react';
 import {ContextoSimulacion} from "../contexts/ContextoSimulacion.jsx";
 import {getDatosPaginados} from "../scripts/HttpRequests.js";
 
+// La ultima fila de la simulacion viene aparte, se muestra al final de las paginas que no la incluyen
+const conUltimaFila = (filas, pagina, cantidadPaginas, ultimaFila) => {
+    if (ultimaFila && pagina < cantidadPaginas - 1) {
+        return [...filas, ultimaFila];
+    }
+    return filas;
+}
+
 const TableStateVector = ({calculosSimulacion}) => {
     const [filasPagina, setFilasPagina] = useState([]);
 
-    const pages = Math.ceil(calculosSimulacion.cantidadFilas / 200);
+    const pages = calculosSimulacion.cantidadPaginas;
     let pagesArray = ["Seleccione fila"];
     for (let i = 1; i <= pages; i++) {
         pagesArray.push(i);
     }
 
     useEffect(() => {
-        setFilasPagina(calculosSimulacion.filasPaginadas)
+        setFilasPagina(conUltimaFila(
+            calculosSimulacion.filasPaginadas,
+            0,
+            calculosSimulacion.cantidadPaginas,
+            calculosSimulacion.ultimaFila))
     }, [calculosSimulacion]);
 
 
@@ -20,8 +32,8 @@ const TableStateVector = ({calculosSimulacion}) => {
         try {
             console.log(page);
             if (page !== "Seleccione fila") {
-                const response = await getDatosPaginados(page - 1);
-                setFilasPagina(response.filas);
+                const response = await getDatosPaginados(calculosSimulacion.idSimulacion, page - 1);
+                setFilasPagina(conUltimaFila(response.filas, response.pagina, response.cantidadPaginas, response.ultimaFila));
                 console.log(response.filas);
             }
         } catch (e) {
@@ -10,9 +10,10 @@ export const getSimulacion = async (data) => {
     }
 };
 
-export const getDatosPaginados = async (page) => {
+export const getDatosPaginados = async (idSimulacion, page) => {
     try {
         const response = await axios.get("http://localhost:8080/api/datos", {params: {
+            id: idSimulacion,
             page: page
             }});
         return response.data;